@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.sleuth.otel.bridge.ArrayListSpanProcessor;
+
+/**
+ * Four threads ending spans into the test span processor while another one drains it.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Microbenchmark
+public class ArrayListSpanProcessorBenchmarkTests {
+
+	@Benchmark
+	@Group("collect")
+	@GroupThreads(4)
+	public void should_end_span(BenchmarkContext context) {
+		context.processor.onEnd(context.span);
+	}
+
+	@Benchmark
+	@Group("collect")
+	@GroupThreads(1)
+	public int should_drain_spans(BenchmarkContext context, DrainState drainState) {
+		drainState.drained.clear();
+		return context.processor.drainTo(drainState.drained);
+	}
+
+	@State(Scope.Group)
+	public static class BenchmarkContext {
+
+		volatile ArrayListSpanProcessor processor;
+
+		volatile ReadableSpan span;
+
+		@Setup
+		public void setup() {
+			this.processor = new ArrayListSpanProcessor(8192, ArrayListSpanProcessor.OverflowPolicy.DROP_NEWEST);
+			Span span = SdkTracerProvider.builder().build().get("benchmark").spanBuilder("span").startSpan();
+			span.end();
+			this.span = (ReadableSpan) span;
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class DrainState {
+
+		final List<SpanData> drained = new ArrayList<>(8192);
+
+	}
+
+}
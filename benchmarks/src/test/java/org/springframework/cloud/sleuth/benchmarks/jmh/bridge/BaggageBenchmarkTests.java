@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.baggage.BaggageBuilder;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.sleuth.BaggageManager;
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
+import org.springframework.cloud.sleuth.otel.bridge.OtelBaggageManager;
+import org.springframework.cloud.sleuth.otel.bridge.OtelCurrentTraceContext;
+
+/**
+ * Reads baggage while a span and a baggage of 10 entries are current.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Microbenchmark
+public class BaggageBenchmarkTests {
+
+	@Benchmark
+	public String should_get_baggage_value(BenchmarkContext context) {
+		return context.baggageManager.getBaggage("key5").get();
+	}
+
+	@Benchmark
+	public Map<String, String> should_get_all_baggage(BenchmarkContext context) {
+		return context.baggageManager.getAllBaggage();
+	}
+
+	@State(Scope.Thread)
+	public static class BenchmarkContext {
+
+		volatile BaggageManager baggageManager;
+
+		volatile io.opentelemetry.context.Scope scope;
+
+		@Setup
+		public void setup() {
+			this.baggageManager = new OtelBaggageManager(new OtelCurrentTraceContext(), BaggageFields.empty(),
+					event -> {
+					});
+			BaggageBuilder baggage = Baggage.builder();
+			for (int i = 0; i < 10; i++) {
+				baggage.put("key" + i, "value" + i);
+			}
+			SpanContext spanContext = SpanContext.create("463ac35c9f6413ad48485a3953bb6124", "a2fb4a1d1a96d312",
+					TraceFlags.getSampled(), TraceState.getDefault());
+			// the scope is attached on the benchmark thread, state is per thread
+			this.scope = Context.root().with(Span.wrap(spanContext)).with(baggage.build()).makeCurrent();
+		}
+
+		@TearDown
+		public void clean() {
+			this.scope.close();
+		}
+
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.baggage.BaggageBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
+import org.springframework.cloud.sleuth.otel.bridge.OtelCurrentTraceContext;
+import org.springframework.cloud.sleuth.otel.propagation.BaggageTextMapPropagator;
+
+/**
+ * Propagates 5 remote baggage fields across a hop: injects them into a carrier and
+ * extracts them on the other side. Run with {@code -prof gc} to see the allocations per
+ * hop.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Microbenchmark
+public class BaggagePropagationBenchmarkTests {
+
+	private static final TextMapSetter<Map<String, String>> SETTER = Map::put;
+
+	private static final TextMapGetter<Map<String, String>> GETTER = new TextMapGetter<Map<String, String>>() {
+		@Override
+		public Iterable<String> keys(Map<String, String> carrier) {
+			return carrier.keySet();
+		}
+
+		@Override
+		public String get(Map<String, String> carrier, String key) {
+			return carrier.get(key);
+		}
+	};
+
+	@Benchmark
+	public Context should_propagate_across_a_hop(BenchmarkContext context) {
+		Map<String, String> carrier = new HashMap<>();
+		context.propagator.inject(context.context, carrier, SETTER);
+		return context.propagator.extract(Context.root(), carrier, GETTER);
+	}
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkContext {
+
+		volatile BaggageTextMapPropagator propagator;
+
+		volatile Context context;
+
+		@Setup
+		public void setup() {
+			List<String> remoteFields = Arrays.asList("country-code", "user-id", "tenant", "session-id", "region");
+			this.propagator = new BaggageTextMapPropagator(
+					new BaggageFields(remoteFields, Collections.emptyList(), Collections.emptyList()),
+					new OtelCurrentTraceContext());
+			BaggageBuilder baggage = Baggage.builder();
+			for (String field : remoteFields) {
+				baggage.put(field, field + "-value");
+			}
+			baggage.put("local-only", "value");
+			this.context = Context.root().with(baggage.build());
+		}
+
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.sleuth.otel.propagation.CompositeTextMapPropagator;
+import org.springframework.cloud.sleuth.otel.propagation.PropagationType;
+
+/**
+ * Injects and extracts with combinations of B3, W3C and AWS propagation. The extracted
+ * carrier only contains the headers of the last propagation type, so that every
+ * propagator gets to look at the carrier.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Microbenchmark
+public class CompositePropagatorBenchmarkTests {
+
+	private static final TextMapSetter<Map<String, String>> SETTER = Map::put;
+
+	private static final TextMapGetter<Map<String, String>> GETTER = new TextMapGetter<Map<String, String>>() {
+		@Override
+		public Iterable<String> keys(Map<String, String> carrier) {
+			return carrier.keySet();
+		}
+
+		@Override
+		public String get(Map<String, String> carrier, String key) {
+			return carrier == null ? null : carrier.get(key);
+		}
+	};
+
+	@Benchmark
+	public Map<String, String> should_inject(BenchmarkContext context) {
+		Map<String, String> carrier = new HashMap<>();
+		context.propagator.inject(context.context, carrier, SETTER);
+		return carrier;
+	}
+
+	@Benchmark
+	public Context should_extract(BenchmarkContext context) {
+		return context.propagator.extract(Context.root(), context.carrier, GETTER);
+	}
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkContext {
+
+		volatile TextMapPropagator propagator;
+
+		volatile Context context;
+
+		volatile Map<String, String> carrier;
+
+		@Param({ "B3,W3C", "W3C,AWS", "B3,W3C,AWS" })
+		private String types;
+
+		@Param({ "false", "true" })
+		private boolean singlePassExtraction;
+
+		@Setup
+		public void setup() {
+			List<PropagationType> types = Arrays.stream(this.types.split(",")).map(PropagationType::valueOf)
+					.collect(Collectors.toList());
+			DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+			this.propagator = new CompositeTextMapPropagator(beanFactory, types, this.singlePassExtraction);
+			this.context = Context.root().with(Span.wrap(SpanContext.create("463ac35c9f6413ad48485a3953bb6124",
+					"a2fb4a1d1a96d312", TraceFlags.getSampled(), TraceState.getDefault())));
+			Map<String, String> carrier = new HashMap<>();
+			new CompositeTextMapPropagator(beanFactory, Collections.singletonList(types.get(types.size() - 1)))
+					.inject(this.context, carrier, SETTER);
+			this.carrier = carrier;
+		}
+
+	}
+
+}
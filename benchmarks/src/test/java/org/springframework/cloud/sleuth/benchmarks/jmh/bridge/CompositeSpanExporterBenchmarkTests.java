@@ -0,0 +1,113 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.sleuth.exporter.SpanFilter;
+import org.springframework.cloud.sleuth.otel.bridge.CompositeSpanExporter;
+
+/**
+ * Exports a batch of 512 spans through a growing number of span filters that accept
+ * every span.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Microbenchmark
+public class CompositeSpanExporterBenchmarkTests {
+
+	@Benchmark
+	public CompletableResultCode should_export_batch(BenchmarkContext context) {
+		return context.exporter.export(context.spans);
+	}
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkContext {
+
+		volatile CompositeSpanExporter exporter;
+
+		volatile List<SpanData> spans;
+
+		@Param({ "0", "1", "4" })
+		private int filters;
+
+		@Setup
+		public void setup() {
+			List<SpanFilter> spanFilters = new ArrayList<>();
+			for (int i = 0; i < this.filters; i++) {
+				spanFilters.add(span -> span.getTags().get("http.path") == null);
+			}
+			this.exporter = new CompositeSpanExporter(new NoopSpanExporter(), spanFilters);
+			SdkTracerProvider tracerProvider = SdkTracerProvider.builder().build();
+			List<SpanData> spans = new ArrayList<>();
+			for (int i = 0; i < 512; i++) {
+				Span span = tracerProvider.get("benchmark").spanBuilder("span" + i).startSpan();
+				span.setAttribute("http.method", "GET");
+				span.end();
+				spans.add(((ReadableSpan) span).toSpanData());
+			}
+			this.spans = Collections.unmodifiableList(spans);
+		}
+
+	}
+
+	static class NoopSpanExporter implements SpanExporter {
+
+		@Override
+		public CompletableResultCode export(Collection<SpanData> spans) {
+			return CompletableResultCode.ofSuccess();
+		}
+
+		@Override
+		public CompletableResultCode flush() {
+			return CompletableResultCode.ofSuccess();
+		}
+
+		@Override
+		public CompletableResultCode shutdown() {
+			return CompletableResultCode.ofSuccess();
+		}
+
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.sleuth.exporter.FinishedSpan;
+import org.springframework.cloud.sleuth.otel.bridge.OtelFinishedSpan;
+
+/**
+ * Filters a finished span with 30 attributes by reading a couple of its tags. The
+ * {@code copy} variant is how tags used to be exposed. Run with {@code -prof gc} to
+ * compare the allocation rate.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Microbenchmark
+public class FinishedSpanBenchmarkTests {
+
+	@Benchmark
+	public boolean should_filter_by_tags(BenchmarkContext context) {
+		FinishedSpan span = OtelFinishedSpan.fromOtel(context.spanData);
+		return "GET".equals(span.getTags().get("http.method")) && span.getTags().get("http.path") != null;
+	}
+
+	@Benchmark
+	public boolean should_filter_by_tags_copy(BenchmarkContext context) {
+		Map<String, String> tags = new HashMap<>();
+		context.spanData.getAttributes().forEach((key, value) -> tags.put(key.getKey(), String.valueOf(value)));
+		return "GET".equals(tags.get("http.method")) && tags.get("http.path") != null;
+	}
+
+	@Benchmark
+	public Throwable should_read_error(BenchmarkContext context) {
+		return OtelFinishedSpan.fromOtel(context.spanData).getError();
+	}
+
+	@Benchmark
+	public int should_read_events(BenchmarkContext context) {
+		return OtelFinishedSpan.fromOtel(context.spanData).getEvents().size();
+	}
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkContext {
+
+		volatile SpanData spanData;
+
+		@Setup
+		public void setup() {
+			Span span = SdkTracerProvider.builder().build().get("benchmark").spanBuilder("span").startSpan();
+			span.setAttribute("http.method", "GET");
+			span.setAttribute("http.path", "/foo");
+			for (int i = 0; i < 28; i++) {
+				span.setAttribute("key" + i, i);
+			}
+			span.addEvent("event");
+			span.end();
+			this.spanData = ((ReadableSpan) span).toSpanData();
+		}
+
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.extension.trace.propagation.B3Propagator;
+import io.opentelemetry.extension.trace.propagation.JaegerPropagator;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.http.HttpServerHandler;
+import org.springframework.cloud.sleuth.http.HttpServerRequest;
+import org.springframework.cloud.sleuth.instrument.web.servlet.HttpServletRequestWrapper;
+import org.springframework.cloud.sleuth.otel.bridge.OtelHttpServerHandler;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Extracts the context of a request with 50 headers, one of them being a W3C
+ * {@code traceparent}, with W3C, B3 and Jaeger propagators. Jaeger scans all header
+ * names for baggage.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Microbenchmark
+public class HeaderExtractionBenchmarkTests {
+
+	@Benchmark
+	public Span should_extract_context(BenchmarkContext context, RequestContext request) {
+		Span span = context.handler.handleReceive(request.request);
+		span.end();
+		return span;
+	}
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkContext {
+
+		volatile HttpServerHandler handler;
+
+		@Param({ "false", "true" })
+		private boolean indexHeaders;
+
+		@Setup
+		public void setup() {
+			OpenTelemetry openTelemetry = OpenTelemetrySdk.builder()
+					.setTracerProvider(SdkTracerProvider.builder().build())
+					.setPropagators(ContextPropagators.create(TextMapPropagator.composite(
+							W3CTraceContextPropagator.getInstance(), B3Propagator.injectingMultiHeaders(),
+							JaegerPropagator.getInstance())))
+					.build();
+			this.handler = new OtelHttpServerHandler(openTelemetry, null, null, () -> Pattern.compile(""),
+					this.indexHeaders);
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class RequestContext {
+
+		volatile HttpServerRequest request;
+
+		@Setup(Level.Invocation)
+		public void setup() {
+			MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/orders/123");
+			servletRequest.addHeader("traceparent", "00-463ac35c9f6413ad48485a3953bb6124-a2fb4a1d1a96d312-01");
+			for (int i = 0; i < 49; i++) {
+				servletRequest.addHeader("X-Custom-Header-" + i, "value" + i);
+			}
+			this.request = HttpServletRequestWrapper.create(servletRequest);
+		}
+
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.http.HttpServerHandler;
+import org.springframework.cloud.sleuth.http.HttpServerRequest;
+import org.springframework.cloud.sleuth.instrument.web.servlet.HttpServletRequestWrapper;
+import org.springframework.cloud.sleuth.otel.bridge.OtelHttpServerHandler;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Receives a request for a few typical URLs. Every invocation gets a fresh request so
+ * that nothing cached in its attributes is reused.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Microbenchmark
+public class HttpServerHandlerBenchmarkTests {
+
+	@Benchmark
+	public Span should_handle_receive(BenchmarkContext context, RequestContext request) {
+		Span span = context.handler.handleReceive(request.request);
+		span.end();
+		return span;
+	}
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkContext {
+
+		volatile HttpServerHandler handler;
+
+		@Setup
+		public void setup() {
+			OpenTelemetry openTelemetry = OpenTelemetrySdk.builder()
+					.setTracerProvider(SdkTracerProvider.builder().build()).build();
+			this.handler = new OtelHttpServerHandler(openTelemetry, null, null, () -> Pattern.compile("/health"));
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class RequestContext {
+
+		volatile HttpServerRequest request;
+
+		@Param({ "http://localhost:8080/api/orders/123", "https://example.com/search?q=sleuth&page=2",
+				"http://[::1]:9090/" })
+		private String url;
+
+		@Setup(Level.Invocation)
+		public void setup() {
+			URI uri = URI.create(this.url);
+			MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", uri.getRawPath());
+			servletRequest.setScheme(uri.getScheme());
+			servletRequest.setServerName(uri.getHost());
+			servletRequest.setServerPort(uri.getPort() == -1 ? 443 : uri.getPort());
+			servletRequest.setQueryString(uri.getRawQuery());
+			servletRequest.addHeader("Accept", "application/json");
+			this.request = HttpServletRequestWrapper.create(servletRequest);
+		}
+
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextStorage;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import org.springframework.cloud.sleuth.otel.bridge.ListenerNotifyingContextWrapper;
+import org.springframework.cloud.sleuth.otel.bridge.Slf4jApplicationListener;
+import org.springframework.cloud.sleuth.otel.bridge.Slf4jBaggageApplicationListener;
+
+/**
+ * Opens and closes child scopes of the same trace and baggage on top of a parent scope,
+ * with Logback as the MDC implementation. Only the span id changes between the scopes so
+ * skipping unchanged entries avoids rewriting the trace id and the baggage fields.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Microbenchmark
+public class MdcBenchmarkTests {
+
+	private static final String TRACE_ID = "463ac35c9f6413ad48485a3953bb6124";
+
+	@Benchmark
+	public void should_churn_scopes(BenchmarkContext context) {
+		for (Context child : context.children) {
+			try (io.opentelemetry.context.Scope scope = context.storage.attach(child)) {
+				// mimics a logging call reading the MDC so that Logback copies it on the
+				// next write
+				MDC.getCopyOfContextMap();
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class BenchmarkContext {
+
+		volatile ContextStorage storage;
+
+		volatile Context[] children;
+
+		volatile io.opentelemetry.context.Scope parentScope;
+
+		@Param({ "false", "true" })
+		private boolean skipUnchangedEntries;
+
+		@Setup
+		public void setup() {
+			List<String> fields = Arrays.asList("country-code", "user-id", "tenant");
+			this.storage = new ListenerNotifyingContextWrapper(
+					Arrays.asList(new Slf4jApplicationListener(this.skipUnchangedEntries),
+							new Slf4jBaggageApplicationListener(fields, this.skipUnchangedEntries)))
+									.apply(ContextStorage.get());
+			Baggage baggage = Baggage.builder().put("country-code", "FO").put("user-id", "12345")
+					.put("tenant", "acme").build();
+			Context parent = Context.root().with(span("a2fb4a1d1a96d312")).with(baggage);
+			this.children = new Context[8];
+			for (int i = 0; i < this.children.length; i++) {
+				this.children[i] = parent.with(span("a2fb4a1d1a96d31" + i));
+			}
+			this.parentScope = this.storage.attach(parent);
+		}
+
+		private static Span span(String spanId) {
+			return Span.wrap(
+					SpanContext.create(TRACE_ID, spanId, TraceFlags.getSampled(), TraceState.getDefault()));
+		}
+
+		@TearDown
+		public void clean() {
+			this.parentScope.close();
+		}
+
+	}
+
+}
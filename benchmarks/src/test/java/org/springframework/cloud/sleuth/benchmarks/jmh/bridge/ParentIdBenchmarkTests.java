@@ -0,0 +1,123 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.TraceContext;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.autoconfig.otel.OtelAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reads the parent id of a span with a growing number of attributes. The
+ * {@code span_data} variant is how the parent id used to be resolved.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Microbenchmark
+public class ParentIdBenchmarkTests {
+
+	@Benchmark
+	public String should_read_parent_id(BenchmarkContext context) {
+		return context.traceContext.parentId();
+	}
+
+	@Benchmark
+	public String should_read_parent_id_from_span_data(BenchmarkContext context) {
+		return context.readableSpan.toSpanData().getParentSpanId();
+	}
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkContext {
+
+		volatile ConfigurableApplicationContext withSleuth;
+
+		volatile Span parent;
+
+		volatile Span child;
+
+		volatile TraceContext traceContext;
+
+		volatile ReadableSpan readableSpan;
+
+		@Param({ "0", "32", "128" })
+		private int attributes;
+
+		@Setup
+		public void setup() {
+			SpringApplication application = new SpringApplication(TestConfiguration.class);
+			application.setWebApplicationType(WebApplicationType.NONE);
+			this.withSleuth = application.run("--spring.jmx.enabled=false",
+					"--spring.application.name=withSleuth_parentId",
+					"--spring.sleuth.otel.config.trace-id-ratio-based=1.0",
+					"--spring.sleuth.otel.config.max-attrs=" + Math.max(this.attributes, 1));
+			Tracer tracer = this.withSleuth.getBean(Tracer.class);
+			this.parent = tracer.nextSpan().name("parent").start();
+			this.child = tracer.nextSpan(this.parent).name("child").start();
+			for (int i = 0; i < this.attributes; i++) {
+				this.child.tag("key" + i, "value" + i);
+			}
+			this.traceContext = this.child.context();
+			io.opentelemetry.api.trace.Span otelSpan = this.withSleuth
+					.getBean(io.opentelemetry.api.trace.Tracer.class).spanBuilder("readable").startSpan();
+			for (int i = 0; i < this.attributes; i++) {
+				otelSpan.setAttribute("key" + i, "value" + i);
+			}
+			this.readableSpan = (ReadableSpan) otelSpan;
+		}
+
+		@TearDown
+		public void clean() {
+			this.child.end();
+			this.parent.end();
+			((io.opentelemetry.api.trace.Span) this.readableSpan).end();
+			this.withSleuth.close();
+		}
+
+		@Configuration(proxyBeanMethods = false)
+		@ImportAutoConfiguration(OtelAutoConfiguration.class)
+		static class TestConfiguration {
+
+		}
+
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.extension.trace.propagation.B3Propagator;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.TraceContext;
+import org.springframework.cloud.sleuth.otel.bridge.OtelPropagator;
+import org.springframework.cloud.sleuth.otel.bridge.OtelTraceContext;
+import org.springframework.cloud.sleuth.propagation.Propagator;
+
+/**
+ * Round trip of a trace context through {@link Propagator#inject} and
+ * {@link Propagator#extract} with B3 and W3C propagation.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Microbenchmark
+public class PropagatorBenchmarkTests {
+
+	private static final Propagator.Setter<Map<String, String>> SETTER = Map::put;
+
+	private static final Propagator.Getter<Map<String, String>> GETTER = Map::get;
+
+	@Benchmark
+	public Span.Builder should_inject_and_extract(BenchmarkContext context) {
+		Map<String, String> carrier = new HashMap<>();
+		context.propagator.inject(context.traceContext, carrier, SETTER);
+		return context.propagator.extract(carrier, GETTER);
+	}
+
+	@Benchmark
+	public List<String> should_return_fields(BenchmarkContext context) {
+		return context.propagator.fields();
+	}
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkContext {
+
+		volatile Propagator propagator;
+
+		volatile TraceContext traceContext;
+
+		@Setup
+		public void setup() {
+			ContextPropagators propagators = ContextPropagators.create(TextMapPropagator
+					.composite(B3Propagator.injectingMultiHeaders(), W3CTraceContextPropagator.getInstance()));
+			this.propagator = new OtelPropagator(propagators,
+					SdkTracerProvider.builder().build().get("org.springframework.cloud.sleuth"));
+			this.traceContext = OtelTraceContext.fromOtel(SpanContext.create("463ac35c9f6413ad48485a3953bb6124",
+					"a2fb4a1d1a96d312", TraceFlags.getSampled(), TraceState.getDefault()));
+		}
+
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextStorage;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.sleuth.otel.bridge.EventPublishingContextWrapper;
+import org.springframework.cloud.sleuth.otel.bridge.ListenerNotifyingContextWrapper;
+import org.springframework.cloud.sleuth.otel.bridge.Slf4jApplicationListener;
+import org.springframework.cloud.sleuth.otel.bridge.Slf4jBaggageApplicationListener;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Measures attaching and closing a scope with the MDC listeners registered either via
+ * Spring application events or directly.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Microbenchmark
+public class ScopeBenchmarkTests {
+
+	@Benchmark
+	public void should_attach_and_close_scope(BenchmarkContext context) {
+		try (io.opentelemetry.context.Scope scope = context.storage.attach(context.context)) {
+			// scope attached
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkContext {
+
+		volatile GenericApplicationContext applicationContext;
+
+		volatile ContextStorage storage;
+
+		volatile Context context;
+
+		@Param
+		private WrapperType wrapperType;
+
+		@Setup
+		public void setup() {
+			Slf4jApplicationListener spanListener = new Slf4jApplicationListener();
+			Slf4jBaggageApplicationListener baggageListener = new Slf4jBaggageApplicationListener(
+					Collections.singletonList("country-code"));
+			this.applicationContext = new GenericApplicationContext();
+			this.applicationContext.addApplicationListener(spanListener);
+			this.applicationContext.addApplicationListener(baggageListener);
+			this.applicationContext.refresh();
+			Function<ContextStorage, ContextStorage> wrapper = this.wrapperType == WrapperType.events
+					? new EventPublishingContextWrapper(this.applicationContext)
+					: new ListenerNotifyingContextWrapper(Arrays.asList(spanListener, baggageListener));
+			this.storage = wrapper.apply(ContextStorage.get());
+			SpanContext spanContext = SpanContext.create("463ac35c9f6413ad48485a3953bb6124", "a2fb4a1d1a96d312",
+					TraceFlags.getSampled(), TraceState.getDefault());
+			this.context = Context.root().with(Span.wrap(spanContext))
+					.with(Baggage.builder().put("country-code", "FO").build());
+		}
+
+		@TearDown
+		public void clean() {
+			this.applicationContext.close();
+		}
+
+	}
+
+	public enum WrapperType {
+
+		events, listeners
+
+	}
+
+}
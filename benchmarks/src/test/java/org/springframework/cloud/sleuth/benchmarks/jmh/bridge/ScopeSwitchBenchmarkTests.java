@@ -0,0 +1,114 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.baggage.BaggageBuilder;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.cloud.sleuth.TraceContext;
+import org.springframework.cloud.sleuth.otel.bridge.OtelCurrentTraceContext;
+
+/**
+ * Switches between a parent and a child trace context sharing the same baggage, and
+ * re-enters the trace context that is already current.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Microbenchmark
+public class ScopeSwitchBenchmarkTests {
+
+	private static final String TRACE_ID = "463ac35c9f6413ad48485a3953bb6124";
+
+	@Benchmark
+	public void should_switch_to_child_scope(BenchmarkContext context) {
+		try (CurrentTraceContext.Scope scope = context.currentTraceContext.newScope(context.child)) {
+			// child is current
+		}
+	}
+
+	@Benchmark
+	public void should_reenter_current_scope(BenchmarkContext context) {
+		try (CurrentTraceContext.Scope scope = context.currentTraceContext.maybeScope(context.parent)) {
+			// parent is still current
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class BenchmarkContext {
+
+		volatile CurrentTraceContext currentTraceContext;
+
+		volatile TraceContext parent;
+
+		volatile TraceContext child;
+
+		volatile io.opentelemetry.context.Scope parentScope;
+
+		@Param({ "0", "1", "10" })
+		private int baggageEntries;
+
+		@Setup
+		public void setup() {
+			this.currentTraceContext = new OtelCurrentTraceContext();
+			BaggageBuilder baggage = Baggage.builder();
+			for (int i = 0; i < this.baggageEntries; i++) {
+				baggage.put("key" + i, "value" + i);
+			}
+			this.parentScope = Context.root().with(span("a2fb4a1d1a96d312")).with(baggage.build()).makeCurrent();
+			this.parent = this.currentTraceContext.context();
+			try (io.opentelemetry.context.Scope scope = Context.current().with(span("b3fb4a1d1a96d313"))
+					.makeCurrent()) {
+				this.child = this.currentTraceContext.context();
+			}
+		}
+
+		private static Span span(String spanId) {
+			return Span.wrap(SpanContext.create(TRACE_ID, spanId, TraceFlags.getSampled(), TraceState.getDefault()));
+		}
+
+		@TearDown
+		public void clean() {
+			this.parentScope.close();
+		}
+
+	}
+
+}
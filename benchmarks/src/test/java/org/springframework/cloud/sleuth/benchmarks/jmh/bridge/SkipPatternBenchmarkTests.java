@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.sleuth.autoconfig.instrument.web.SleuthWebProperties;
+import org.springframework.cloud.sleuth.otel.bridge.SkipPathMatcher;
+
+/**
+ * Matches request paths against the default skip pattern, extended with the actuator
+ * paths the way the skip pattern provider does it, with a regex and with the compiled
+ * skip path matcher.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Microbenchmark
+public class SkipPatternBenchmarkTests {
+
+	@Benchmark
+	public boolean should_match_with_regex(BenchmarkContext context) {
+		return context.pattern.matcher(context.path).matches();
+	}
+
+	@Benchmark
+	public boolean should_match_with_skip_path_matcher(BenchmarkContext context) {
+		return context.matcher.matches(context.path);
+	}
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkContext {
+
+		volatile Pattern pattern;
+
+		volatile SkipPathMatcher matcher;
+
+		@Param({ "/api/orders/12345", "/static/css/main.css", "/actuator/health/liveness" })
+		volatile String path;
+
+		@Setup
+		public void setup() {
+			this.pattern = Pattern.compile(SleuthWebProperties.DEFAULT_SKIP_PATTERN
+					+ "|/actuator(/|/(health|health/.*|info|info/.*|prometheus|prometheus/.*))?");
+			this.matcher = SkipPathMatcher.compile(this.pattern);
+		}
+
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.concurrent.TimeUnit;
+
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.autoconfig.otel.OtelAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Compares tagging a span through the Sleuth bridge with tagging the OpenTelemetry span
+ * directly. Run with {@code -prof gc} - the difference in {@code gc.alloc.rate.norm}
+ * between the two benchmarks is what the bridge allocates per tag.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Microbenchmark
+public class SpanMutatorBenchmarkTests {
+
+	private static final String[] KEYS = new String[20];
+
+	static {
+		for (int i = 0; i < KEYS.length; i++) {
+			KEYS[i] = "key" + i;
+		}
+	}
+
+	@Benchmark
+	public Span should_tag_sleuth_span(BenchmarkContext context) {
+		Span span = context.span;
+		for (String key : KEYS) {
+			span = span.tag(key, "value");
+		}
+		return span;
+	}
+
+	@Benchmark
+	public io.opentelemetry.api.trace.Span should_tag_otel_span(BenchmarkContext context) {
+		io.opentelemetry.api.trace.Span span = context.otelSpan;
+		for (String key : KEYS) {
+			span = span.setAttribute(key, "value");
+		}
+		return span;
+	}
+
+	@Benchmark
+	public Span should_name_and_annotate_sleuth_span(BenchmarkContext context) {
+		return context.span.name("name").event("event");
+	}
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkContext {
+
+		volatile ConfigurableApplicationContext withSleuth;
+
+		volatile Span span;
+
+		volatile io.opentelemetry.api.trace.Span otelSpan;
+
+		@Setup
+		public void setup() {
+			SpringApplication application = new SpringApplication(TestConfiguration.class);
+			application.setWebApplicationType(WebApplicationType.NONE);
+			this.withSleuth = application.run("--spring.jmx.enabled=false",
+					"--spring.application.name=withSleuth_mutators",
+					"--spring.sleuth.otel.config.trace-id-ratio-based=1.0");
+			this.span = this.withSleuth.getBean(Tracer.class).nextSpan().name("name").start();
+			this.otelSpan = this.withSleuth.getBean(io.opentelemetry.api.trace.Tracer.class).spanBuilder("name")
+					.startSpan();
+		}
+
+		@TearDown
+		public void clean() {
+			this.span.end();
+			this.otelSpan.end();
+			this.withSleuth.close();
+		}
+
+		@Configuration(proxyBeanMethods = false)
+		@ImportAutoConfiguration(OtelAutoConfiguration.class)
+		static class TestConfiguration {
+
+		}
+
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.sleuth.otel.bridge.ArrayListSpanProcessor;
+import org.springframework.cloud.sleuth.otel.bridge.TailSamplingPolicy;
+import org.springframework.cloud.sleuth.otel.bridge.TailSamplingSpanProcessor;
+
+/**
+ * Spans of distinct traces buffered by the tail sampling processor, which has to decide
+ * and drop the oldest trace for every new one once full. Run with {@code -prof gc} to get
+ * the bytes allocated per buffered span.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Microbenchmark
+public class TailSamplingBenchmarkTests {
+
+	@Benchmark
+	public void should_buffer_span(BenchmarkContext context) {
+		context.processor.onEnd(context.nextSpan());
+	}
+
+	@State(Scope.Thread)
+	public static class BenchmarkContext {
+
+		// more traces than buffered spans plus remembered decisions so that every span
+		// gets buffered again
+		static final int TRACES = 4096;
+
+		static final int MAX_BUFFERED_SPANS = 1024;
+
+		volatile TailSamplingSpanProcessor processor;
+
+		volatile ReadableSpan[] spans;
+
+		int index;
+
+		@Setup
+		public void setup() {
+			this.processor = new TailSamplingSpanProcessor(new ArrayListSpanProcessor(),
+					Collections.singletonList(TailSamplingPolicy.probabilistic(0)), MAX_BUFFERED_SPANS, 60_000);
+			Tracer tracer = SdkTracerProvider.builder().build().get("benchmark");
+			this.spans = new ReadableSpan[TRACES];
+			for (int i = 0; i < TRACES; i++) {
+				Span span = tracer.spanBuilder("span").startSpan();
+				span.end();
+				this.spans[i] = (ReadableSpan) span;
+			}
+		}
+
+		ReadableSpan nextSpan() {
+			ReadableSpan span = this.spans[this.index];
+			this.index = (this.index + 1) % TRACES;
+			return span;
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.processor.shutdown();
+		}
+
+	}
+
+}
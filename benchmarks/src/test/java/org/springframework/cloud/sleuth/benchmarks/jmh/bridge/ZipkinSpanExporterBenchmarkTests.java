@@ -0,0 +1,141 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.exporter.zipkin.ZipkinSpanExporter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zipkin2.Call;
+import zipkin2.codec.Encoding;
+import zipkin2.codec.SpanBytesEncoder;
+import zipkin2.reporter.Sender;
+
+import org.springframework.cloud.sleuth.autoconfig.otel.zipkin2.PooledZipkinSpanExporter;
+import org.springframework.cloud.sleuth.otel.bridge.LocalIpResolver;
+
+/**
+ * Batches of spans exported by the OpenTelemetry Zipkin exporter and by the pooled one
+ * to a sender that drops the message. Run with {@code -prof gc} to compare the bytes
+ * allocated per batch.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Microbenchmark
+public class ZipkinSpanExporterBenchmarkTests {
+
+	@Benchmark
+	public CompletableResultCode should_export_with_zipkin_exporter(BenchmarkContext context) {
+		return context.zipkinExporter.export(context.batch);
+	}
+
+	@Benchmark
+	public CompletableResultCode should_export_with_pooled_exporter(BenchmarkContext context) {
+		return context.pooledExporter.export(context.batch);
+	}
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkContext {
+
+		@Param({ "JSON", "PROTO3" })
+		volatile Encoding encoding;
+
+		volatile Collection<SpanData> batch;
+
+		volatile SpanExporter zipkinExporter;
+
+		volatile SpanExporter pooledExporter;
+
+		@Setup
+		public void setup() {
+			Sender sender = new NoopSender(this.encoding);
+			this.zipkinExporter = ZipkinSpanExporter.builder().setSender(sender)
+					.setEncoder(this.encoding == Encoding.JSON ? SpanBytesEncoder.JSON_V2 : SpanBytesEncoder.PROTO3)
+					.build();
+			this.pooledExporter = new PooledZipkinSpanExporter(sender, LocalIpResolver.getDefault(),
+					PooledZipkinSpanExporter.DEFAULT_BUFFER_SIZE, PooledZipkinSpanExporter.DEFAULT_MAX_POOLED_BUFFERS);
+			Tracer tracer = SdkTracerProvider.builder().build().get("benchmark");
+			List<SpanData> batch = new ArrayList<>();
+			for (int i = 0; i < 512; i++) {
+				Span span = tracer.spanBuilder("GET /users/{id}").setSpanKind(SpanKind.SERVER)
+						.setAttribute("http.method", "GET").setAttribute("http.route", "/users/{id}")
+						.setAttribute("http.status_code", 200L).startSpan();
+				span.addEvent("wr");
+				span.end();
+				batch.add(((ReadableSpan) span).toSpanData());
+			}
+			this.batch = batch;
+		}
+
+	}
+
+	static class NoopSender extends Sender {
+
+		private final Encoding encoding;
+
+		NoopSender(Encoding encoding) {
+			this.encoding = encoding;
+		}
+
+		@Override
+		public Encoding encoding() {
+			return this.encoding;
+		}
+
+		@Override
+		public int messageMaxBytes() {
+			return Integer.MAX_VALUE;
+		}
+
+		@Override
+		public int messageSizeInBytes(List<byte[]> encodedSpans) {
+			return this.encoding.listSizeInBytes(encodedSpans);
+		}
+
+		@Override
+		public Call<Void> sendSpans(List<byte[]> encodedSpans) {
+			return Call.create(null);
+		}
+
+	}
+
+}
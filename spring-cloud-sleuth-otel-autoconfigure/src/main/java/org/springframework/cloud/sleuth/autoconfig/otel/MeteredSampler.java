@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel;
+
+import java.util.List;
+import java.util.Locale;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.DecoratingProxy;
+
+/**
+ * {@link Sampler} counting the sampling decisions of its delegate.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+class MeteredSampler implements Sampler, DecoratingProxy {
+
+	private final Sampler delegate;
+
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	private volatile Counter[] decisions;
+
+	MeteredSampler(Sampler delegate, ObjectProvider<MeterRegistry> meterRegistry) {
+		this.delegate = delegate;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+			Attributes attributes, List<LinkData> parentLinks) {
+		SamplingResult result = this.delegate.shouldSample(parentContext, traceId, name, spanKind, attributes,
+				parentLinks);
+		Counter[] decisions = decisions();
+		if (decisions != null) {
+			decisions[result.getDecision().ordinal()].increment();
+		}
+		return result;
+	}
+
+	// resolved on first use so that the registry isn't created together with the sampler
+	private Counter[] decisions() {
+		Counter[] decisions = this.decisions;
+		if (decisions == null) {
+			MeterRegistry registry = this.meterRegistry.getIfAvailable();
+			if (registry == null) {
+				return null;
+			}
+			SamplingDecision[] values = SamplingDecision.values();
+			decisions = new Counter[values.length];
+			for (SamplingDecision decision : values) {
+				decisions[decision.ordinal()] = Counter.builder("sleuth.otel.sampler.decisions")
+						.description("Number of sampling decisions")
+						.tag("decision", decision.name().toLowerCase(Locale.ROOT)).register(registry);
+			}
+			this.decisions = decisions;
+		}
+		return decisions;
+	}
+
+	@Override
+	public String getDescription() {
+		return this.delegate.getDescription();
+	}
+
+	@Override
+	public Class<?> getDecoratedClass() {
+		return SpanComponents.decoratedClass(this.delegate);
+	}
+
+	@Override
+	public String toString() {
+		return getDescription();
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.management.ThreadMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import org.springframework.cloud.sleuth.exporter.SpanFilter;
+import org.springframework.cloud.sleuth.otel.bridge.CompositeSpanExporter;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link SpanExporter} recording how many spans its delegate exported, filtered out or
+ * failed to export, how long the exports took and, when the JVM supports it, how many
+ * bytes the exporting thread allocated on the heap. The spans of a
+ * {@link CompositeSpanExporter} are counted as it reports each batch, after filtering.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+class MeteredSpanExporter implements SpanExporter, DecoratingProxy {
+
+	@Nullable
+	private static final ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+	private final SpanExporter delegate;
+
+	@Nullable
+	private final CompositeSpanExporter composite;
+
+	private final MeterRegistry meterRegistry;
+
+	private final Counter exported;
+
+	private final Counter failed;
+
+	private final Timer success;
+
+	private final Timer failure;
+
+	@Nullable
+	private final Counter allocated;
+
+	/**
+	 * @param delegate exporter to measure
+	 * @param name name of the exporter the meters get tagged with
+	 * @param meterRegistry registry of the meters
+	 */
+	MeteredSpanExporter(SpanExporter delegate, String name, MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.composite = delegate instanceof CompositeSpanExporter ? (CompositeSpanExporter) delegate : null;
+		this.meterRegistry = meterRegistry;
+		this.exported = Counter.builder("sleuth.otel.exporter.spans").description("Number of exported spans")
+				.tag("exporter", name).tag("result", "success").register(meterRegistry);
+		this.failed = Counter.builder("sleuth.otel.exporter.spans").description("Number of exported spans")
+				.tag("exporter", name).tag("result", "failure").register(meterRegistry);
+		this.success = Timer.builder("sleuth.otel.exporter.export").description("Time taken to export a batch")
+				.tag("exporter", name).tag("result", "success").register(meterRegistry);
+		this.failure = Timer.builder("sleuth.otel.exporter.export").description("Time taken to export a batch")
+				.tag("exporter", name).tag("result", "failure").register(meterRegistry);
+		this.allocated = THREAD_MX_BEAN != null ? Counter.builder("sleuth.otel.exporter.allocated")
+				.description("Bytes allocated on the heap by the thread calling the exporter").baseUnit("bytes")
+				.tag("exporter", name).register(meterRegistry) : null;
+		if (this.composite != null) {
+			registerFilters(this.composite, name);
+			this.composite.setExportListener((accepted, dropped, result) -> count(accepted, result));
+		}
+	}
+
+	private void registerFilters(CompositeSpanExporter exporter, String name) {
+		for (SpanFilter filter : exporter.getDroppedSpans().keySet()) {
+			FunctionCounter.builder("sleuth.otel.exporter.spans.filtered", exporter, e -> dropped(e, filter))
+					.description("Number of spans dropped by a span filter").tag("exporter", name)
+					.tag("filter", SpanComponents.decoratedClass(filter).getName()).register(this.meterRegistry);
+		}
+	}
+
+	private static double dropped(CompositeSpanExporter exporter, SpanFilter filter) {
+		Long dropped = exporter.getDroppedSpans().get(filter);
+		return dropped != null ? dropped : 0;
+	}
+
+	@Nullable
+	private static ThreadMXBean threadMXBean() {
+		try {
+			java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean instanceof ThreadMXBean && ((ThreadMXBean) bean).isThreadAllocatedMemoryEnabled()) {
+				return (ThreadMXBean) bean;
+			}
+		}
+		catch (LinkageError | RuntimeException ex) {
+			// not a HotSpot compatible JVM
+		}
+		return null;
+	}
+
+	private static long allocatedBytes() {
+		return THREAD_MX_BEAN != null ? THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+	}
+
+	@Override
+	public CompletableResultCode export(Collection<SpanData> spans) {
+		long allocatedBefore = allocatedBytes();
+		long start = this.meterRegistry.config().clock().monotonicTime();
+		CompletableResultCode result;
+		try {
+			result = this.delegate.export(spans);
+		}
+		catch (RuntimeException ex) {
+			recordAllocated(allocatedBefore);
+			if (this.composite == null) {
+				this.failed.increment(spans.size());
+			}
+			this.failure.record(this.meterRegistry.config().clock().monotonicTime() - start, TimeUnit.NANOSECONDS);
+			throw ex;
+		}
+		recordAllocated(allocatedBefore);
+		if (this.composite == null) {
+			count(spans.size(), result);
+		}
+		result.whenComplete(() -> {
+			long duration = this.meterRegistry.config().clock().monotonicTime() - start;
+			if (result.isSuccess()) {
+				this.success.record(duration, TimeUnit.NANOSECONDS);
+			}
+			else {
+				this.failure.record(duration, TimeUnit.NANOSECONDS);
+			}
+		});
+		return result;
+	}
+
+	private void count(int spans, CompletableResultCode result) {
+		result.whenComplete(() -> {
+			if (result.isSuccess()) {
+				this.exported.increment(spans);
+			}
+			else {
+				this.failed.increment(spans);
+			}
+		});
+	}
+
+	private void recordAllocated(long allocatedBefore) {
+		if (this.allocated != null) {
+			this.allocated.increment(allocatedBytes() - allocatedBefore);
+		}
+	}
+
+	@Override
+	public CompletableResultCode flush() {
+		return this.delegate.flush();
+	}
+
+	@Override
+	public CompletableResultCode shutdown() {
+		return this.delegate.shutdown();
+	}
+
+	@Override
+	public Class<?> getDecoratedClass() {
+		return SpanComponents.decoratedClass(this.delegate);
+	}
+
+	@Override
+	public String toString() {
+		return "MeteredSpanExporter{" + "delegate=" + this.delegate + '}';
+	}
+
+}
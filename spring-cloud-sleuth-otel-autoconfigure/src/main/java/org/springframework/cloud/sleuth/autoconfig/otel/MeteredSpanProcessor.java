@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+import org.springframework.core.DecoratingProxy;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link SpanProcessor} counting the spans started and ended through its delegate.
+ * Started spans are only counted for delegates that need to be called on start, the SDK
+ * then calls this processor on start anyway. Ended spans are always counted, which makes
+ * the SDK call {@link #onEnd(ReadableSpan)} even if the delegate doesn't need it. The
+ * queue of a batch span processor is measured as well.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+class MeteredSpanProcessor implements SpanProcessor, DecoratingProxy {
+
+	private final SpanProcessor delegate;
+
+	private final boolean delegateStartRequired;
+
+	private final boolean delegateEndRequired;
+
+	@Nullable
+	private final Counter started;
+
+	private final Counter ended;
+
+	private final Counter endedNotSampled;
+
+	/**
+	 * @param delegate processor to measure
+	 * @param exporter name of the exporter the processor hands the spans to, {@code none}
+	 * if it's not known
+	 * @param meterRegistry registry of the meters
+	 */
+	MeteredSpanProcessor(SpanProcessor delegate, String exporter, MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.delegateStartRequired = delegate.isStartRequired();
+		this.delegateEndRequired = delegate.isEndRequired();
+		Tags tags = Tags.of("processor", SpanComponents.decoratedClass(delegate).getSimpleName(), "exporter",
+				exporter);
+		this.started = this.delegateStartRequired ? Counter.builder("sleuth.otel.processor.spans.started")
+				.description("Number of started spans").tags(tags).register(meterRegistry) : null;
+		this.ended = Counter.builder("sleuth.otel.processor.spans.ended").description("Number of ended spans")
+				.tags(tags).tag("sampled", "true").register(meterRegistry);
+		this.endedNotSampled = Counter.builder("sleuth.otel.processor.spans.ended")
+				.description("Number of ended spans").tags(tags).tag("sampled", "false").register(meterRegistry);
+		if (delegate instanceof TrackedBatchSpanProcessor) {
+			TrackedBatchSpanProcessor batch = (TrackedBatchSpanProcessor) delegate;
+			Gauge.builder("sleuth.otel.processor.queue", batch, TrackedBatchSpanProcessor::getQueuedSpans)
+					.description("Number of spans waiting in the batch processor to be exported").tags(tags)
+					.register(meterRegistry);
+			FunctionCounter
+					.builder("sleuth.otel.processor.spans.dropped", batch, TrackedBatchSpanProcessor::getDroppedSpans)
+					.description("Number of spans dropped because the batch processor queue was full").tags(tags)
+					.register(meterRegistry);
+		}
+	}
+
+	@Override
+	public void onStart(Context parentContext, ReadWriteSpan span) {
+		if (this.started != null) {
+			this.started.increment();
+			this.delegate.onStart(parentContext, span);
+		}
+	}
+
+	@Override
+	public boolean isStartRequired() {
+		return this.delegateStartRequired;
+	}
+
+	@Override
+	public void onEnd(ReadableSpan span) {
+		if (span.getSpanContext().isSampled()) {
+			this.ended.increment();
+		}
+		else {
+			this.endedNotSampled.increment();
+		}
+		if (this.delegateEndRequired) {
+			this.delegate.onEnd(span);
+		}
+	}
+
+	@Override
+	public boolean isEndRequired() {
+		return true;
+	}
+
+	@Override
+	public CompletableResultCode shutdown() {
+		return this.delegate.shutdown();
+	}
+
+	@Override
+	public CompletableResultCode forceFlush() {
+		return this.delegate.forceFlush();
+	}
+
+	@Override
+	public Class<?> getDecoratedClass() {
+		return SpanComponents.decoratedClass(this.delegate);
+	}
+
+	@Override
+	public String toString() {
+		return "MeteredSpanProcessor{" + "delegate=" + this.delegate + '}';
+	}
+
+}
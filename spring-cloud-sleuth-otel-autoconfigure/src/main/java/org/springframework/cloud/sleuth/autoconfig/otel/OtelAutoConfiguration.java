@@ -18,6 +18,7 @@ package org.springframework.cloud.sleuth.autoconfig.otel;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -32,6 +33,8 @@ import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
 import io.opentelemetry.sdk.trace.SpanLimits;
 import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessorBuilder;
 import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
@@ -50,7 +53,14 @@ import org.springframework.cloud.sleuth.autoconfig.SleuthTracerProperties;
 import org.springframework.cloud.sleuth.autoconfig.TraceConfiguration;
 import org.springframework.cloud.sleuth.autoconfig.brave.BraveAutoConfiguration;
 import org.springframework.cloud.sleuth.internal.SleuthContextListener;
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
+import org.springframework.cloud.sleuth.otel.bridge.LocalIpResolver;
+import org.springframework.cloud.sleuth.otel.bridge.RateLimitingSampler;
+import org.springframework.cloud.sleuth.otel.bridge.RuleBasedSampler;
 import org.springframework.cloud.sleuth.otel.bridge.SpanExporterCustomizer;
+import org.springframework.cloud.sleuth.otel.bridge.SpanProcessorCustomizer;
+import org.springframework.cloud.sleuth.otel.bridge.TailSamplingPolicy;
+import org.springframework.cloud.sleuth.otel.bridge.TailSamplingSpanProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -69,13 +79,16 @@ import org.springframework.core.env.Environment;
 @ConditionalOnOtelEnabled
 @ConditionalOnProperty(value = "spring.sleuth.enabled", matchIfMissing = true)
 @ConditionalOnMissingBean(org.springframework.cloud.sleuth.Tracer.class)
-@EnableConfigurationProperties({ OtelProperties.class, SleuthSpanFilterProperties.class, SleuthBaggageProperties.class,
-		SleuthTracerProperties.class })
+@EnableConfigurationProperties({ OtelProperties.class, OtelExporterProperties.class, SleuthSpanFilterProperties.class,
+		SleuthBaggageProperties.class, SleuthTracerProperties.class })
 @Import({ OtelBridgeConfiguration.class, OtelPropagationConfiguration.class, TraceConfiguration.class,
 		SleuthAnnotationConfiguration.class, OtelResourceConfiguration.class })
 @AutoConfigureBefore(BraveAutoConfiguration.class)
 public class OtelAutoConfiguration {
 
+	// same as the one of the batch span processor
+	private static final int DEFAULT_MAX_QUEUE_SIZE = 2048;
+
 	@Bean
 	@ConditionalOnMissingBean
 	OpenTelemetry otel(SdkTracerProvider tracerProvider, ContextPropagators contextPropagators) {
@@ -85,18 +98,89 @@ public class OtelAutoConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	SdkTracerProvider otelTracerProvider(SpanLimits spanLimits, ObjectProvider<List<SpanProcessor>> spanProcessors,
-			SpanExporterCustomizer spanExporterCustomizer, ObjectProvider<List<SpanExporter>> spanExporters,
-			Sampler sampler, Resource resource) {
+			ObjectProvider<SpanExporterCustomizer> spanExporterCustomizers,
+			ObjectProvider<SpanProcessorCustomizer> spanProcessorCustomizers,
+			ObjectProvider<List<SpanExporter>> spanExporters,
+			ObjectProvider<List<TailSamplingPolicy>> tailSamplingPolicies, Sampler sampler, Resource resource,
+			OtelExporterProperties otelExporterProperties, OtelProperties otelProperties) {
 		SdkTracerProviderBuilder sdkTracerProviderBuilder = SdkTracerProvider.builder().setResource(resource)
 				.setSampler(sampler).setSpanLimits(spanLimits);
+		List<SpanExporterCustomizer> exporterCustomizers = spanExporterCustomizers.orderedStream()
+				.collect(Collectors.toList());
+		List<SpanProcessorCustomizer> processorCustomizers = spanProcessorCustomizers.orderedStream()
+				.collect(Collectors.toList());
 		List<SpanProcessor> processors = spanProcessors.getIfAvailable(ArrayList::new);
-		processors.addAll(spanExporters.getIfAvailable(ArrayList::new).stream()
-				.map(e -> SimpleSpanProcessor.create(spanExporterCustomizer.customize(e)))
-				.collect(Collectors.toList()));
-		processors.forEach(sdkTracerProviderBuilder::addSpanProcessor);
+		List<SpanProcessor> exporterProcessors = spanExporters.getIfAvailable(ArrayList::new).stream()
+				.map(e -> spanProcessor(e, customize(e, exporterCustomizers), otelExporterProperties.getProcessor()))
+				.collect(Collectors.toList());
+		OtelProperties.TailSampling tailSampling = otelProperties.getTailSampling();
+		if (tailSampling.isEnabled() && !exporterProcessors.isEmpty()) {
+			processors.add(tailSamplingSpanProcessor(SpanProcessor.composite(exporterProcessors), tailSampling,
+					tailSamplingPolicies.getIfAvailable(ArrayList::new)));
+		}
+		else {
+			processors.addAll(exporterProcessors);
+		}
+		processors.stream().map(p -> customize(p, processorCustomizers))
+				.forEach(sdkTracerProviderBuilder::addSpanProcessor);
 		return sdkTracerProviderBuilder.build();
 	}
 
+	private SpanExporter customize(SpanExporter spanExporter, List<SpanExporterCustomizer> customizers) {
+		for (SpanExporterCustomizer customizer : customizers) {
+			spanExporter = customizer.customize(spanExporter);
+		}
+		return spanExporter;
+	}
+
+	private SpanProcessor customize(SpanProcessor spanProcessor, List<SpanProcessorCustomizer> customizers) {
+		for (SpanProcessorCustomizer customizer : customizers) {
+			spanProcessor = customizer.customize(spanProcessor);
+		}
+		return spanProcessor;
+	}
+
+	private SpanProcessor tailSamplingSpanProcessor(SpanProcessor delegate, OtelProperties.TailSampling tailSampling,
+			List<TailSamplingPolicy> additionalPolicies) {
+		List<TailSamplingPolicy> policies = new ArrayList<>();
+		if (tailSampling.isErrors()) {
+			policies.add(TailSamplingPolicy.error());
+		}
+		if (tailSampling.getLatencyThreshold() != null) {
+			policies.add(TailSamplingPolicy.latency(tailSampling.getLatencyThreshold()));
+		}
+		tailSampling.getAttributes().forEach((key, value) -> policies.add(TailSamplingPolicy.attribute(key, value)));
+		policies.addAll(additionalPolicies);
+		policies.add(TailSamplingPolicy.probabilistic(tailSampling.getProbability()));
+		return new TailSamplingSpanProcessor(delegate, policies, tailSampling.getMaxBufferedSpans(),
+				tailSampling.getCompletionTimeout());
+	}
+
+	private SpanProcessor spanProcessor(SpanExporter spanExporter, SpanExporter customizedSpanExporter,
+			OtelExporterProperties.Processor processor) {
+		if (processor.getType() == OtelExporterProperties.ProcessorType.SIMPLE) {
+			return SimpleSpanProcessor.create(customizedSpanExporter);
+		}
+		int maxQueueSize = processor.getMaxQueueSize() != null ? processor.getMaxQueueSize() : DEFAULT_MAX_QUEUE_SIZE;
+		return new TrackedBatchSpanProcessor(spanExporter, customizedSpanExporter, maxQueueSize,
+				exporter -> batchSpanProcessor(exporter, maxQueueSize, processor));
+	}
+
+	private SpanProcessor batchSpanProcessor(SpanExporter spanExporter, int maxQueueSize,
+			OtelExporterProperties.Processor processor) {
+		BatchSpanProcessorBuilder builder = BatchSpanProcessor.builder(spanExporter).setMaxQueueSize(maxQueueSize);
+		if (processor.getMaxExportBatchSize() != null) {
+			builder.setMaxExportBatchSize(processor.getMaxExportBatchSize());
+		}
+		if (processor.getScheduleDelay() != null) {
+			builder.setScheduleDelay(processor.getScheduleDelay(), TimeUnit.MILLISECONDS);
+		}
+		if (processor.getExporterTimeout() != null) {
+			builder.setExporterTimeout(processor.getExporterTimeout(), TimeUnit.MILLISECONDS);
+		}
+		return builder.build();
+	}
+
 	@Bean
 	@ConditionalOnMissingBean
 	Resource otelResource(Environment env, ObjectProvider<List<Supplier<Resource>>> resourceProviders) {
@@ -136,7 +220,33 @@ public class OtelAutoConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	Sampler otelSampler(OtelProperties otelProperties) {
-		return Sampler.traceIdRatioBased(otelProperties.getTraceIdRatioBased());
+		// the rate limiter takes a permit per call, so only root spans may ask it; the
+		// ratio based sampler decides on the trace id alone and stays as it always was
+		Sampler sampler = otelProperties.getRateLimit() != null
+				? Sampler.parentBased(new RateLimitingSampler(otelProperties.getRateLimit()))
+				: Sampler.traceIdRatioBased(otelProperties.getTraceIdRatioBased());
+		List<OtelProperties.SamplerRule> samplerRules = otelProperties.getSamplerRules();
+		if (samplerRules.isEmpty()) {
+			return sampler;
+		}
+		return new RuleBasedSampler(samplerRules.stream()
+				.map(rule -> new RuleBasedSampler.Rule(rule.getSpanName(), rule.getKind(), rule.getAttributes(),
+						rule.getRatio()))
+				.collect(Collectors.toList()), sampler);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	LocalIpResolver otelLocalIpResolver(OtelProperties otelProperties) {
+		Long refreshInterval = otelProperties.getLocalIpRefreshInterval();
+		return refreshInterval != null ? new LocalIpResolver(refreshInterval) : LocalIpResolver.getDefault();
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	BaggageFields otelBaggageFields(SleuthBaggageProperties sleuthBaggageProperties) {
+		return new BaggageFields(sleuthBaggageProperties.getRemoteFields(), sleuthBaggageProperties.getTagFields(),
+				sleuthBaggageProperties.getCorrelationFields());
 	}
 
 	@Bean
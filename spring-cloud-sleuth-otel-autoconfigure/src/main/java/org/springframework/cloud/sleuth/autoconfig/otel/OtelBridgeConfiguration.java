@@ -17,6 +17,7 @@
 package org.springframework.cloud.sleuth.autoconfig.otel;
 
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.context.ContextStorage;
@@ -30,7 +31,6 @@ import org.springframework.cloud.sleuth.CurrentTraceContext;
 import org.springframework.cloud.sleuth.SamplerFunction;
 import org.springframework.cloud.sleuth.SpanCustomizer;
 import org.springframework.cloud.sleuth.Tracer;
-import org.springframework.cloud.sleuth.autoconfig.SleuthBaggageProperties;
 import org.springframework.cloud.sleuth.autoconfig.instrument.web.ConditionalOnSleuthWeb;
 import org.springframework.cloud.sleuth.autoconfig.instrument.web.SleuthWebProperties;
 import org.springframework.cloud.sleuth.http.HttpClientHandler;
@@ -44,7 +44,9 @@ import org.springframework.cloud.sleuth.instrument.web.HttpClientSampler;
 import org.springframework.cloud.sleuth.instrument.web.HttpServerRequestParser;
 import org.springframework.cloud.sleuth.instrument.web.HttpServerResponseParser;
 import org.springframework.cloud.sleuth.instrument.web.SkipPatternProvider;
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
 import org.springframework.cloud.sleuth.otel.bridge.EventPublishingContextWrapper;
+import org.springframework.cloud.sleuth.otel.bridge.ListenerNotifyingContextWrapper;
 import org.springframework.cloud.sleuth.otel.bridge.OtelBaggageManager;
 import org.springframework.cloud.sleuth.otel.bridge.OtelCurrentTraceContext;
 import org.springframework.cloud.sleuth.otel.bridge.OtelHttpClientHandler;
@@ -52,6 +54,7 @@ import org.springframework.cloud.sleuth.otel.bridge.OtelHttpServerHandler;
 import org.springframework.cloud.sleuth.otel.bridge.OtelPropagator;
 import org.springframework.cloud.sleuth.otel.bridge.OtelSpanCustomizer;
 import org.springframework.cloud.sleuth.otel.bridge.OtelTracer;
+import org.springframework.cloud.sleuth.otel.bridge.ScopeChangeListener;
 import org.springframework.cloud.sleuth.otel.bridge.SkipPatternSampler;
 import org.springframework.cloud.sleuth.otel.bridge.SpanExporterCustomizer;
 import org.springframework.cloud.sleuth.propagation.Propagator;
@@ -70,21 +73,27 @@ import org.springframework.lang.Nullable;
  */
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnClass(OpenTelemetry.class)
-@Import({ OtelLogConfiguration.class, OtelExporterConfiguration.class })
+@Import({ OtelLogConfiguration.class, OtelExporterConfiguration.class, OtelMetricsConfiguration.class })
 class OtelBridgeConfiguration {
 
 	@Bean
 	Tracer otelTracerBridge(io.opentelemetry.api.trace.Tracer tracer, ApplicationEventPublisher publisher,
-			CurrentTraceContext currentTraceContext, SleuthBaggageProperties sleuthBaggageProperties) {
-		return new OtelTracer(tracer, publisher, new OtelBaggageManager(currentTraceContext,
-				sleuthBaggageProperties.getRemoteFields(), sleuthBaggageProperties.getTagFields(), publisher));
+			CurrentTraceContext currentTraceContext, BaggageFields baggageFields) {
+		return new OtelTracer(tracer, publisher, new OtelBaggageManager(currentTraceContext, baggageFields, publisher));
 	}
 
 	// Both CurrentTraceContext & application of a ContextStorage wrapper
 	@Bean
 	@ConditionalOnMissingBean
-	OtelCurrentTraceContext otelCurrentTraceContext(ApplicationEventPublisher publisher) {
-		ContextStorage.addWrapper(new EventPublishingContextWrapper(publisher));
+	OtelCurrentTraceContext otelCurrentTraceContext(ApplicationEventPublisher publisher, OtelProperties otelProperties,
+			ObjectProvider<ScopeChangeListener> scopeChangeListeners) {
+		if (otelProperties.getContextStorageWrapper() == OtelProperties.ContextStorageWrapper.LISTENERS) {
+			ContextStorage.addWrapper(new ListenerNotifyingContextWrapper(
+					scopeChangeListeners.orderedStream().collect(Collectors.toList())));
+		}
+		else {
+			ContextStorage.addWrapper(new EventPublishingContextWrapper(publisher));
+		}
 		return new OtelCurrentTraceContext();
 	}
 
@@ -124,9 +133,11 @@ class OtelBridgeConfiguration {
 		HttpServerHandler otelHttpServerHandler(io.opentelemetry.api.OpenTelemetry openTelemetry,
 				@Nullable @HttpServerRequestParser HttpRequestParser httpServerRequestParser,
 				@Nullable @HttpServerResponseParser HttpResponseParser httpServerResponseParser,
-				ObjectProvider<SkipPatternProvider> skipPatternProvider) {
+				ObjectProvider<SkipPatternProvider> skipPatternProvider,
+				OtelPropagationProperties otelPropagationProperties) {
 			return new OtelHttpServerHandler(openTelemetry, httpServerRequestParser, httpServerResponseParser,
-					skipPatternProvider.getIfAvailable(() -> () -> Pattern.compile("")));
+					skipPatternProvider.getIfAvailable(() -> () -> Pattern.compile("")),
+					otelPropagationProperties.isIndexHeaders());
 		}
 
 		@Bean
@@ -26,15 +26,18 @@ import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
 import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporterBuilder;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.sleuth.exporter.SpanFilter;
 import org.springframework.cloud.sleuth.otel.bridge.CompositeSpanExporter;
+import org.springframework.cloud.sleuth.otel.bridge.LocalIpResolver;
 import org.springframework.cloud.sleuth.otel.bridge.SpanExporterCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.util.StringUtils;
 
 /**
@@ -49,13 +52,20 @@ import org.springframework.util.StringUtils;
 @EnableConfigurationProperties(OtelExporterProperties.class)
 class OtelExporterConfiguration {
 
+	// applied first so that other customizers (e.g. metrics) wrap the filtering exporter
 	@Bean
+	@Order(0)
 	@ConditionalOnProperty(value = "spring.sleuth.otel.exporter.sleuth-span-filter.enabled", matchIfMissing = true)
-	SpanExporterCustomizer sleuthSpanFilterConverter(List<SpanFilter> spanFilters) {
+	SpanExporterCustomizer sleuthSpanFilterConverter(List<SpanFilter> spanFilters,
+			ObjectProvider<LocalIpResolver> localIpResolver) {
 		return new SpanExporterCustomizer() {
 			@Override
 			public SpanExporter customize(SpanExporter spanExporter) {
-				return new CompositeSpanExporter(spanExporter, spanFilters);
+				if (spanFilters.isEmpty()) {
+					return spanExporter;
+				}
+				return new CompositeSpanExporter(spanExporter, spanFilters,
+						localIpResolver.getIfAvailable(LocalIpResolver::getDefault));
 			}
 		};
 	}
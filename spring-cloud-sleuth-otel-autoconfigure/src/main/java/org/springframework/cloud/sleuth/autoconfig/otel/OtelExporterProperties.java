@@ -36,6 +36,10 @@ public class OtelExporterProperties {
 
 	private Jaeger jaeger = new Jaeger();
 
+	private Processor processor = new Processor();
+
+	private Zipkin zipkin = new Zipkin();
+
 	public SleuthSpanFilter getSleuthSpanFilter() {
 		return this.sleuthSpanFilter;
 	}
@@ -60,6 +64,22 @@ public class OtelExporterProperties {
 		this.jaeger = jaeger;
 	}
 
+	public Processor getProcessor() {
+		return this.processor;
+	}
+
+	public void setProcessor(Processor processor) {
+		this.processor = processor;
+	}
+
+	public Zipkin getZipkin() {
+		return this.zipkin;
+	}
+
+	public void setZipkin(Zipkin zipkin) {
+		this.zipkin = zipkin;
+	}
+
 	/**
 	 * Integrations with core Sleuth handler mechanism.
 	 */
@@ -159,4 +179,143 @@ public class OtelExporterProperties {
 
 	}
 
+	/**
+	 * Span processor that wraps every {@code SpanExporter}.
+	 */
+	public static class Processor {
+
+		/**
+		 * Type of span processor to wrap exporters with.
+		 */
+		private ProcessorType type = ProcessorType.BATCH;
+
+		/**
+		 * Max number of spans kept in the batch processor's queue, 2048 if not set. When
+		 * the queue is full new spans are dropped.
+		 */
+		private Integer maxQueueSize;
+
+		/**
+		 * Max number of spans sent to the exporter in a single batch.
+		 */
+		private Integer maxExportBatchSize;
+
+		/**
+		 * Delay in millis between two consecutive batch exports.
+		 */
+		private Long scheduleDelay;
+
+		/**
+		 * Max time in millis a batch export can take before it gets cancelled.
+		 */
+		private Long exporterTimeout;
+
+		public ProcessorType getType() {
+			return this.type;
+		}
+
+		public void setType(ProcessorType type) {
+			this.type = type;
+		}
+
+		public Integer getMaxQueueSize() {
+			return this.maxQueueSize;
+		}
+
+		public void setMaxQueueSize(Integer maxQueueSize) {
+			this.maxQueueSize = maxQueueSize;
+		}
+
+		public Integer getMaxExportBatchSize() {
+			return this.maxExportBatchSize;
+		}
+
+		public void setMaxExportBatchSize(Integer maxExportBatchSize) {
+			this.maxExportBatchSize = maxExportBatchSize;
+		}
+
+		public Long getScheduleDelay() {
+			return this.scheduleDelay;
+		}
+
+		public void setScheduleDelay(Long scheduleDelay) {
+			this.scheduleDelay = scheduleDelay;
+		}
+
+		public Long getExporterTimeout() {
+			return this.exporterTimeout;
+		}
+
+		public void setExporterTimeout(Long exporterTimeout) {
+			this.exporterTimeout = exporterTimeout;
+		}
+
+	}
+
+	/**
+	 * Types of span processors that exporters can be wrapped with.
+	 */
+	public enum ProcessorType {
+
+		/**
+		 * Queues finished spans and exports them in batches from a background thread.
+		 */
+		BATCH,
+
+		/**
+		 * Exports every finished span synchronously on the thread that ended it. Mostly
+		 * useful for tests.
+		 */
+		SIMPLE
+
+	}
+
+	/**
+	 * Integrations with Zipkin exporter.
+	 */
+	public static class Zipkin {
+
+		/**
+		 * Encodes spans into pooled buffers instead of using the OpenTelemetry Zipkin
+		 * exporter. Requires the JSON_V2 or PROTO3 encoder.
+		 */
+		private boolean pooledEncoding;
+
+		/**
+		 * Initial size in bytes of a pooled encoding buffer. Buffers grow to fit a whole
+		 * batch of spans.
+		 */
+		private Integer bufferSize;
+
+		/**
+		 * Max number of idle encoding buffers kept in the pool.
+		 */
+		private Integer maxPooledBuffers;
+
+		public boolean isPooledEncoding() {
+			return this.pooledEncoding;
+		}
+
+		public void setPooledEncoding(boolean pooledEncoding) {
+			this.pooledEncoding = pooledEncoding;
+		}
+
+		public Integer getBufferSize() {
+			return this.bufferSize;
+		}
+
+		public void setBufferSize(Integer bufferSize) {
+			this.bufferSize = bufferSize;
+		}
+
+		public Integer getMaxPooledBuffers() {
+			return this.maxPooledBuffers;
+		}
+
+		public void setMaxPooledBuffers(Integer maxPooledBuffers) {
+			this.maxPooledBuffers = maxPooledBuffers;
+		}
+
+	}
+
 }
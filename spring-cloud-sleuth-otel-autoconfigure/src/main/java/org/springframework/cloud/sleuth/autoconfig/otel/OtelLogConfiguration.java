@@ -23,7 +23,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
-import org.springframework.cloud.sleuth.autoconfig.SleuthBaggageProperties;
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
 import org.springframework.cloud.sleuth.otel.bridge.Slf4jApplicationListener;
 import org.springframework.cloud.sleuth.otel.bridge.Slf4jBaggageApplicationListener;
 import org.springframework.context.annotation.Bean;
@@ -48,14 +48,16 @@ class OtelLogConfiguration {
 
 		@Bean
 		@ConditionalOnMissingBean
-		Slf4jApplicationListener otelSlf4jApplicationListener() {
-			return new Slf4jApplicationListener();
+		Slf4jApplicationListener otelSlf4jApplicationListener(OtelLogProperties otelLogProperties) {
+			return new Slf4jApplicationListener(otelLogProperties.getSlf4j().isSkipUnchangedEntries());
 		}
 
 		@Bean
 		@ConditionalOnMissingBean
-		Slf4jBaggageApplicationListener otelSlf4jBaggageApplicationListener(SleuthBaggageProperties baggageProperties) {
-			return new Slf4jBaggageApplicationListener(baggageProperties.getCorrelationFields());
+		Slf4jBaggageApplicationListener otelSlf4jBaggageApplicationListener(BaggageFields baggageFields,
+				OtelLogProperties otelLogProperties) {
+			return new Slf4jBaggageApplicationListener(baggageFields,
+					otelLogProperties.getSlf4j().isSkipUnchangedEntries());
 		}
 
 	}
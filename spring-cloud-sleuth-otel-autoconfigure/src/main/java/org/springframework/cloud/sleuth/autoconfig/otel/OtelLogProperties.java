@@ -71,6 +71,12 @@ public class OtelLogProperties {
 		 */
 		private boolean enabled;
 
+		/**
+		 * Write only MDC entries whose values have changed. Closing a scope then no
+		 * longer clears the MDC entries, the restored scope overwrites them instead.
+		 */
+		private boolean skipUnchangedEntries;
+
 		public boolean isEnabled() {
 			return this.enabled;
 		}
@@ -79,6 +85,14 @@ public class OtelLogProperties {
 			this.enabled = enabled;
 		}
 
+		public boolean isSkipUnchangedEntries() {
+			return this.skipUnchangedEntries;
+		}
+
+		public void setSkipUnchangedEntries(boolean skipUnchangedEntries) {
+			this.skipUnchangedEntries = skipUnchangedEntries;
+		}
+
 	}
 
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.sleuth.otel.bridge.CompositeSpanExporter;
+import org.springframework.cloud.sleuth.otel.bridge.SpanExporterCustomizer;
+import org.springframework.cloud.sleuth.otel.bridge.SpanProcessorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * {@link org.springframework.boot.autoconfigure.EnableAutoConfiguration
+ * Auto-configuration} to enable Micrometer metrics of the OpenTelemetry SDK sampler,
+ * span processors and span exporters.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnProperty("spring.sleuth.otel.metrics.enabled")
+@EnableConfigurationProperties(OtelMetricsProperties.class)
+class OtelMetricsConfiguration {
+
+	@Bean
+	static BeanPostProcessor otelMeteredSamplerBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof Sampler && !(bean instanceof MeteredSampler)) {
+					return new MeteredSampler((Sampler) bean, meterRegistry);
+				}
+				return bean;
+			}
+		};
+	}
+
+	@Bean
+	static SpanExporterBeanNames otelSpanExporterBeanNames() {
+		return new SpanExporterBeanNames();
+	}
+
+	// applied after the span filters and before the profiler, which reports the metered
+	// exporter under the name of the exporter it wraps
+	@Bean
+	@Order(Ordered.LOWEST_PRECEDENCE - 10)
+	SpanExporterCustomizer otelMeteredSpanExporterCustomizer(ObjectProvider<MeterRegistry> meterRegistry,
+			SpanExporterBeanNames spanExporterBeanNames) {
+		return new SpanExporterCustomizer() {
+			@Override
+			public SpanExporter customize(SpanExporter spanExporter) {
+				MeterRegistry registry = meterRegistry.getIfAvailable();
+				return registry != null
+						? new MeteredSpanExporter(spanExporter, spanExporterBeanNames.name(spanExporter), registry)
+						: spanExporter;
+			}
+		};
+	}
+
+	@Bean
+	@Order(Ordered.LOWEST_PRECEDENCE - 10)
+	SpanProcessorCustomizer otelMeteredSpanProcessorCustomizer(ObjectProvider<MeterRegistry> meterRegistry,
+			SpanExporterBeanNames spanExporterBeanNames) {
+		return new SpanProcessorCustomizer() {
+			@Override
+			public SpanProcessor customize(SpanProcessor spanProcessor) {
+				MeterRegistry registry = meterRegistry.getIfAvailable();
+				if (registry == null) {
+					return spanProcessor;
+				}
+				String exporter = spanProcessor instanceof TrackedBatchSpanProcessor
+						? spanExporterBeanNames.name(((TrackedBatchSpanProcessor) spanProcessor).getSpanExporter())
+						: "none";
+				return new MeteredSpanProcessor(spanProcessor, exporter, registry);
+			}
+		};
+	}
+
+	/**
+	 * Remembers the bean names of the span exporters, so that two exporters of the same
+	 * type get metered apart.
+	 */
+	static class SpanExporterBeanNames implements BeanPostProcessor {
+
+		private final Map<SpanExporter, String> names = Collections.synchronizedMap(new IdentityHashMap<>());
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (bean instanceof SpanExporter) {
+				this.names.put((SpanExporter) bean, beanName);
+			}
+			return bean;
+		}
+
+		/**
+		 * @param spanExporter span exporter bean, possibly wrapped by the span filters
+		 * @return bean name of the exporter or its simple class name if it's not a bean
+		 */
+		String name(SpanExporter spanExporter) {
+			SpanExporter exporter = spanExporter instanceof CompositeSpanExporter
+					? ((CompositeSpanExporter) spanExporter).getDelegate() : spanExporter;
+			String name = this.names.get(exporter);
+			return name != null ? name : SpanComponents.decoratedClass(spanExporter).getSimpleName();
+		}
+
+	}
+
+}
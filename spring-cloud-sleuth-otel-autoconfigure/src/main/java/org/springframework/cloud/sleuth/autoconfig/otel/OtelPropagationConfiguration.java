@@ -31,8 +31,8 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
-import org.springframework.cloud.sleuth.BaggageManager;
-import org.springframework.cloud.sleuth.autoconfig.SleuthBaggageProperties;
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
 import org.springframework.cloud.sleuth.otel.bridge.BaggageTaggingSpanProcessor;
 import org.springframework.cloud.sleuth.otel.propagation.BaggageTextMapPropagator;
 import org.springframework.cloud.sleuth.otel.propagation.CompositeTextMapPropagator;
@@ -93,8 +93,10 @@ class OtelPropagationConfiguration {
 	static class PropagatorsConfiguration {
 
 		@Bean
-		TextMapPropagator compositeTextMapPropagator(BeanFactory beanFactory, SleuthPropagationProperties properties) {
-			return new CompositeTextMapPropagator(beanFactory, properties.getType());
+		TextMapPropagator compositeTextMapPropagator(BeanFactory beanFactory, SleuthPropagationProperties properties,
+				OtelPropagationProperties otelPropagationProperties) {
+			return new CompositeTextMapPropagator(beanFactory, properties.getType(),
+					otelPropagationProperties.isSinglePassExtraction());
 		}
 
 	}
@@ -104,8 +106,9 @@ class OtelPropagationConfiguration {
 	static class BaggagePropagatorConfiguration {
 
 		@Bean
-		TextMapPropagator baggageTextMapPropagator(SleuthBaggageProperties properties, BaggageManager baggageManager) {
-			return new BaggageTextMapPropagator(properties.getRemoteFields(), baggageManager);
+		TextMapPropagator baggageTextMapPropagator(BaggageFields baggageFields,
+				CurrentTraceContext currentTraceContext) {
+			return new BaggageTextMapPropagator(baggageFields, currentTraceContext);
 		}
 
 	}
@@ -115,8 +118,8 @@ class OtelPropagationConfiguration {
 	static class BaggageTaggingConfiguration {
 
 		@Bean
-		BaggageTaggingSpanProcessor baggageTaggingSpanProcessor(SleuthBaggageProperties properties) {
-			return new BaggageTaggingSpanProcessor(properties.getTagFields());
+		BaggageTaggingSpanProcessor baggageTaggingSpanProcessor(BaggageFields baggageFields) {
+			return new BaggageTaggingSpanProcessor(baggageFields);
 		}
 
 	}
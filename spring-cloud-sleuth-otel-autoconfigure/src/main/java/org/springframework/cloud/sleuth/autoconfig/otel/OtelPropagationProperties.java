@@ -29,6 +29,18 @@ public class OtelPropagationProperties {
 
 	private SleuthBaggage sleuthBaggage = new SleuthBaggage();
 
+	/**
+	 * Cache the headers of inbound HTTP requests read by the propagators by their lower
+	 * case name. Each header is then read from the request at most once.
+	 */
+	private boolean indexHeaders;
+
+	/**
+	 * Read each header at most once when extracting with multiple propagation types, even
+	 * if multiple propagators look it up.
+	 */
+	private boolean singlePassExtraction;
+
 	public SleuthBaggage getSleuthBaggage() {
 		return this.sleuthBaggage;
 	}
@@ -37,6 +49,22 @@ public class OtelPropagationProperties {
 		this.sleuthBaggage = sleuthBaggage;
 	}
 
+	public boolean isIndexHeaders() {
+		return this.indexHeaders;
+	}
+
+	public void setIndexHeaders(boolean indexHeaders) {
+		this.indexHeaders = indexHeaders;
+	}
+
+	public boolean isSinglePassExtraction() {
+		return this.singlePassExtraction;
+	}
+
+	public void setSinglePassExtraction(boolean singlePassExtraction) {
+		this.singlePassExtraction = singlePassExtraction;
+	}
+
 	public static class SleuthBaggage {
 
 		/**
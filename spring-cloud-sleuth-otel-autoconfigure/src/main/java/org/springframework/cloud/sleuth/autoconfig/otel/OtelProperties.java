@@ -16,7 +16,13 @@
 
 package org.springframework.cloud.sleuth.autoconfig.otel;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.sdk.trace.SpanLimits;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -45,6 +51,31 @@ public class OtelProperties {
 	 */
 	private double traceIdRatioBased = 0.1;
 
+	/**
+	 * Max number of traces sampled per second. When set, takes precedence over the
+	 * trace id ratio based sampler.
+	 */
+	private Integer rateLimit;
+
+	/**
+	 * Sampling rules evaluated in order before falling back to the trace id ratio
+	 * based sampler. The first matching rule decides the sampling ratio.
+	 */
+	private List<SamplerRule> samplerRules = new ArrayList<>();
+
+	/**
+	 * How scope changes get propagated to listeners (e.g. the ones putting tracing data
+	 * into MDC). {@code events} publishes Spring application events, {@code listeners}
+	 * calls the {@code ScopeChangeListener} beans directly.
+	 */
+	private ContextStorageWrapper contextStorageWrapper = ContextStorageWrapper.EVENTS;
+
+	/**
+	 * Interval in millis at which the local IP address reported on finished spans gets
+	 * resolved again in the background. When not set the address is resolved only once.
+	 */
+	private Long localIpRefreshInterval;
+
 	/**
 	 * Returns the global default max number of attributes per {@link Span}.
 	 */
@@ -70,6 +101,11 @@ public class OtelProperties {
 	 */
 	private int maxLinkAttrs = SpanLimits.getDefault().getMaxNumberOfAttributesPerLink();
 
+	/**
+	 * Tail sampling of the exported spans.
+	 */
+	private TailSampling tailSampling = new TailSampling();
+
 	public String getInstrumentationName() {
 		return this.instrumentationName;
 	}
@@ -94,6 +130,38 @@ public class OtelProperties {
 		this.traceIdRatioBased = traceIdRatioBased;
 	}
 
+	public Integer getRateLimit() {
+		return this.rateLimit;
+	}
+
+	public void setRateLimit(Integer rateLimit) {
+		this.rateLimit = rateLimit;
+	}
+
+	public List<SamplerRule> getSamplerRules() {
+		return this.samplerRules;
+	}
+
+	public void setSamplerRules(List<SamplerRule> samplerRules) {
+		this.samplerRules = samplerRules;
+	}
+
+	public ContextStorageWrapper getContextStorageWrapper() {
+		return this.contextStorageWrapper;
+	}
+
+	public void setContextStorageWrapper(ContextStorageWrapper contextStorageWrapper) {
+		this.contextStorageWrapper = contextStorageWrapper;
+	}
+
+	public Long getLocalIpRefreshInterval() {
+		return this.localIpRefreshInterval;
+	}
+
+	public void setLocalIpRefreshInterval(Long localIpRefreshInterval) {
+		this.localIpRefreshInterval = localIpRefreshInterval;
+	}
+
 	public int getMaxAttrs() {
 		return this.maxAttrs;
 	}
@@ -134,4 +202,192 @@ public class OtelProperties {
 		this.maxLinkAttrs = maxLinkAttrs;
 	}
 
+	public TailSampling getTailSampling() {
+		return this.tailSampling;
+	}
+
+	public void setTailSampling(TailSampling tailSampling) {
+		this.tailSampling = tailSampling;
+	}
+
+	/**
+	 * A single sampling rule.
+	 */
+	public static class SamplerRule {
+
+		/**
+		 * Span name to match. Ending the value with {@code *} matches by prefix. When not
+		 * set any span name matches.
+		 */
+		private String spanName;
+
+		/**
+		 * Span kind to match. When not set any span kind matches.
+		 */
+		private SpanKind kind;
+
+		/**
+		 * Span attributes to match (e.g. {@code [http.path]=/health} or
+		 * {@code [http.method]=GET}). Ending the value with {@code *} matches by prefix.
+		 */
+		private Map<String, String> attributes = new HashMap<>();
+
+		/**
+		 * Sampling ratio applied to spans matching this rule.
+		 */
+		private double ratio = 1.0;
+
+		public String getSpanName() {
+			return this.spanName;
+		}
+
+		public void setSpanName(String spanName) {
+			this.spanName = spanName;
+		}
+
+		public SpanKind getKind() {
+			return this.kind;
+		}
+
+		public void setKind(SpanKind kind) {
+			this.kind = kind;
+		}
+
+		public Map<String, String> getAttributes() {
+			return this.attributes;
+		}
+
+		public void setAttributes(Map<String, String> attributes) {
+			this.attributes = attributes;
+		}
+
+		public double getRatio() {
+			return this.ratio;
+		}
+
+		public void setRatio(double ratio) {
+			this.ratio = ratio;
+		}
+
+	}
+
+	/**
+	 * Tail sampling of the spans passed to the exporters.
+	 */
+	public static class TailSampling {
+
+		/**
+		 * Buffers ended spans per trace and exports a trace only if a tail sampling
+		 * policy keeps it. The head sampler has to sample the spans for them to be
+		 * buffered.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Max number of spans kept in memory. When the buffer is full the oldest trace
+		 * gets decided early.
+		 */
+		private int maxBufferedSpans = 10_000;
+
+		/**
+		 * Time in millis after the last ended span of a trace at which the trace is
+		 * considered complete.
+		 */
+		private long completionTimeout = 10_000;
+
+		/**
+		 * Keeps traces with a span with an error status or a recorded exception.
+		 */
+		private boolean errors = true;
+
+		/**
+		 * Keeps traces with a span lasting at least this many millis.
+		 */
+		private Long latencyThreshold;
+
+		/**
+		 * Keeps traces with a span having any of these attribute values.
+		 */
+		private Map<String, String> attributes = new HashMap<>();
+
+		/**
+		 * Share of the remaining traces to keep.
+		 */
+		private double probability = 0.01;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getMaxBufferedSpans() {
+			return this.maxBufferedSpans;
+		}
+
+		public void setMaxBufferedSpans(int maxBufferedSpans) {
+			this.maxBufferedSpans = maxBufferedSpans;
+		}
+
+		public long getCompletionTimeout() {
+			return this.completionTimeout;
+		}
+
+		public void setCompletionTimeout(long completionTimeout) {
+			this.completionTimeout = completionTimeout;
+		}
+
+		public boolean isErrors() {
+			return this.errors;
+		}
+
+		public void setErrors(boolean errors) {
+			this.errors = errors;
+		}
+
+		public Long getLatencyThreshold() {
+			return this.latencyThreshold;
+		}
+
+		public void setLatencyThreshold(Long latencyThreshold) {
+			this.latencyThreshold = latencyThreshold;
+		}
+
+		public Map<String, String> getAttributes() {
+			return this.attributes;
+		}
+
+		public void setAttributes(Map<String, String> attributes) {
+			this.attributes = attributes;
+		}
+
+		public double getProbability() {
+			return this.probability;
+		}
+
+		public void setProbability(double probability) {
+			this.probability = probability;
+		}
+
+	}
+
+	/**
+	 * Ways of notifying about scope changes.
+	 */
+	public enum ContextStorageWrapper {
+
+		/**
+		 * Publishes scope changes as Spring application events.
+		 */
+		EVENTS,
+
+		/**
+		 * Calls the registered scope change listeners directly.
+		 */
+		LISTENERS
+
+	}
+
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel;
+
+import org.springframework.cloud.sleuth.otel.bridge.CompositeSpanExporter;
+import org.springframework.core.DecoratingProxy;
+
+/**
+ * Helps with naming the samplers, span processors, span exporters and span filters that
+ * the metrics and the profiler wrap.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+public final class SpanComponents {
+
+	private SpanComponents() {
+	}
+
+	/**
+	 * @param component sampler, span processor, span exporter or span filter
+	 * @return class of the component behind the filtering exporter and any other
+	 * wrapper, such as the ones of the metrics and the profiler
+	 */
+	public static Class<?> decoratedClass(Object component) {
+		Object target = component instanceof CompositeSpanExporter ? ((CompositeSpanExporter) component).getDelegate()
+				: component;
+		return target instanceof DecoratingProxy ? ((DecoratingProxy) target).getDecoratedClass() : target.getClass();
+	}
+
+}
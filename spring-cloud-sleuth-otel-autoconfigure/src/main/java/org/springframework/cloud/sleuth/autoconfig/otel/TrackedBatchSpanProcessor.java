@@ -0,0 +1,182 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import org.springframework.core.DecoratingProxy;
+
+/**
+ * {@link SpanProcessor} handing sampled spans over to a {@link BatchSpanProcessor} while
+ * keeping track of how many of them wait to be exported. The batch processor doesn't
+ * tell, so the spans are counted when they're ended and when the batch processor passes
+ * them on to the exporter. Spans that don't fit into the queue anymore get dropped here,
+ * before the batch processor would drop them unnoticed.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+class TrackedBatchSpanProcessor implements SpanProcessor, DecoratingProxy {
+
+	private final AtomicInteger queued = new AtomicInteger();
+
+	private final LongAdder dropped = new LongAdder();
+
+	private final SpanExporter spanExporter;
+
+	private final int maxQueueSize;
+
+	private final SpanProcessor delegate;
+
+	/**
+	 * @param spanExporter exporter bean the spans get batched for
+	 * @param customizedSpanExporter exporter bean with all customizations applied, gets
+	 * the batches
+	 * @param maxQueueSize max number of spans waiting to be exported
+	 * @param batchSpanProcessor creates the batch processor around the given exporter,
+	 * its queue must hold at least {@code maxQueueSize} spans
+	 */
+	TrackedBatchSpanProcessor(SpanExporter spanExporter, SpanExporter customizedSpanExporter, int maxQueueSize,
+			Function<SpanExporter, SpanProcessor> batchSpanProcessor) {
+		this.spanExporter = spanExporter;
+		this.maxQueueSize = maxQueueSize;
+		this.delegate = batchSpanProcessor.apply(new DequeuingSpanExporter(customizedSpanExporter, this.queued));
+	}
+
+	@Override
+	public void onStart(Context parentContext, ReadWriteSpan span) {
+		this.delegate.onStart(parentContext, span);
+	}
+
+	@Override
+	public boolean isStartRequired() {
+		return this.delegate.isStartRequired();
+	}
+
+	@Override
+	public void onEnd(ReadableSpan span) {
+		// the batch processor ignores spans that are not sampled
+		if (!span.getSpanContext().isSampled()) {
+			return;
+		}
+		if (!enqueue()) {
+			this.dropped.increment();
+			return;
+		}
+		this.delegate.onEnd(span);
+	}
+
+	private boolean enqueue() {
+		while (true) {
+			int queued = this.queued.get();
+			if (queued >= this.maxQueueSize) {
+				return false;
+			}
+			if (this.queued.compareAndSet(queued, queued + 1)) {
+				return true;
+			}
+		}
+	}
+
+	@Override
+	public boolean isEndRequired() {
+		return true;
+	}
+
+	@Override
+	public CompletableResultCode shutdown() {
+		return this.delegate.shutdown();
+	}
+
+	@Override
+	public CompletableResultCode forceFlush() {
+		return this.delegate.forceFlush();
+	}
+
+	/**
+	 * @return exporter bean the spans get batched for
+	 */
+	SpanExporter getSpanExporter() {
+		return this.spanExporter;
+	}
+
+	/**
+	 * @return number of spans ended but not yet passed on to the exporter
+	 */
+	int getQueuedSpans() {
+		return this.queued.get();
+	}
+
+	/**
+	 * @return number of spans dropped because the queue was full
+	 */
+	long getDroppedSpans() {
+		return this.dropped.sum();
+	}
+
+	@Override
+	public Class<?> getDecoratedClass() {
+		return BatchSpanProcessor.class;
+	}
+
+	@Override
+	public String toString() {
+		return "TrackedBatchSpanProcessor{" + "delegate=" + this.delegate + '}';
+	}
+
+	private static final class DequeuingSpanExporter implements SpanExporter {
+
+		private final SpanExporter delegate;
+
+		private final AtomicInteger queued;
+
+		private DequeuingSpanExporter(SpanExporter delegate, AtomicInteger queued) {
+			this.delegate = delegate;
+			this.queued = queued;
+		}
+
+		@Override
+		public CompletableResultCode export(Collection<SpanData> spans) {
+			this.queued.addAndGet(-spans.size());
+			return this.delegate.export(spans);
+		}
+
+		@Override
+		public CompletableResultCode flush() {
+			return this.delegate.flush();
+		}
+
+		@Override
+		public CompletableResultCode shutdown() {
+			return this.delegate.shutdown();
+		}
+
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.actuate;
+
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.sleuth.autoconfig.otel.ConditionalOnOtelEnabled;
+import org.springframework.cloud.sleuth.autoconfig.otel.SpanComponents;
+import org.springframework.cloud.sleuth.exporter.SpanFilter;
+import org.springframework.cloud.sleuth.otel.bridge.SpanExporterCustomizer;
+import org.springframework.cloud.sleuth.otel.bridge.SpanProcessorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * {@link org.springframework.boot.autoconfigure.EnableAutoConfiguration
+ * Auto-configuration} to profile the OpenTelemetry span pipeline through an actuator
+ * endpoint.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass({ SdkTracerProvider.class, ConditionalOnAvailableEndpoint.class })
+@ConditionalOnOtelEnabled
+@ConditionalOnProperty("spring.sleuth.otel.profiler.enabled")
+@ConditionalOnAvailableEndpoint(endpoint = SpanPipelineProfilerEndpoint.class)
+@EnableConfigurationProperties(OtelProfilerProperties.class)
+public class OtelProfilerAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	SpanPipelineProfiler otelSpanPipelineProfiler(OtelProfilerProperties otelProfilerProperties) {
+		return new SpanPipelineProfiler(otelProfilerProperties.isRecording());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	SpanPipelineProfilerEndpoint otelSpanPipelineProfilerEndpoint(SpanPipelineProfiler profiler) {
+		return new SpanPipelineProfilerEndpoint(profiler);
+	}
+
+	@Bean
+	static BeanPostProcessor otelSpanPipelineProfilerBeanPostProcessor(ObjectProvider<SpanPipelineProfiler> profiler) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof Sampler && !(bean instanceof ProfiledSampler)) {
+					return new ProfiledSampler((Sampler) bean, profiler.getObject(), beanName);
+				}
+				if (bean instanceof SpanFilter && !(bean instanceof ProfiledSpanFilter)) {
+					return new ProfiledSpanFilter((SpanFilter) bean, profiler.getObject(), beanName);
+				}
+				if (bean instanceof SpanExporter || bean instanceof SpanProcessor) {
+					// wrapped by the customizers below
+					profiler.getObject().registerBeanName(SpanComponents.decoratedClass(bean), beanName);
+				}
+				return bean;
+			}
+		};
+	}
+
+	// applied last so that the metered exporter reports the exporter it wraps, the span
+	// filters get timed separately
+	@Bean
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	SpanExporterCustomizer otelProfiledSpanExporterCustomizer(SpanPipelineProfiler profiler) {
+		return new SpanExporterCustomizer() {
+			@Override
+			public SpanExporter customize(SpanExporter spanExporter) {
+				return new ProfiledSpanExporter(spanExporter, profiler);
+			}
+		};
+	}
+
+	@Bean
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	SpanProcessorCustomizer otelProfiledSpanProcessorCustomizer(SpanPipelineProfiler profiler) {
+		return new SpanProcessorCustomizer() {
+			@Override
+			public SpanProcessor customize(SpanProcessor spanProcessor) {
+				return new ProfiledSpanProcessor(spanProcessor, profiler);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.actuate;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sleuth settings for the OpenTelemetry span pipeline profiler.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+@ConfigurationProperties("spring.sleuth.otel.profiler")
+public class OtelProfilerProperties {
+
+	/**
+	 * Wraps the sampler, span processors, span filters and span exporters so that their
+	 * latencies can be profiled through the {@code tracingprofile} actuator endpoint.
+	 */
+	private boolean enabled;
+
+	/**
+	 * Starts recording latencies on startup instead of waiting for the endpoint to
+	 * switch recording on.
+	 */
+	private boolean recording;
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isRecording() {
+		return this.recording;
+	}
+
+	public void setRecording(boolean recording) {
+		this.recording = recording;
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.actuate;
+
+import java.util.List;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import org.springframework.cloud.sleuth.autoconfig.otel.SpanComponents;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link Sampler} timing its delegate.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+class ProfiledSampler implements Sampler, DecoratingProxy {
+
+	private final Sampler delegate;
+
+	private final SpanPipelineProfiler profiler;
+
+	private final LatencyHistogram histogram;
+
+	ProfiledSampler(Sampler delegate, SpanPipelineProfiler profiler) {
+		this(delegate, profiler, null);
+	}
+
+	ProfiledSampler(Sampler delegate, SpanPipelineProfiler profiler, @Nullable String beanName) {
+		this.delegate = delegate;
+		this.profiler = profiler;
+		this.histogram = profiler.stage(profiler.stageName("sampler", delegate, beanName));
+	}
+
+	@Override
+	public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+			Attributes attributes, List<LinkData> parentLinks) {
+		if (!this.profiler.isRecording()) {
+			return this.delegate.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+		}
+		long start = System.nanoTime();
+		try {
+			return this.delegate.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+		}
+		finally {
+			this.histogram.record(System.nanoTime() - start);
+		}
+	}
+
+	@Override
+	public String getDescription() {
+		return this.delegate.getDescription();
+	}
+
+	@Override
+	public Class<?> getDecoratedClass() {
+		return SpanComponents.decoratedClass(this.delegate);
+	}
+
+	@Override
+	public String toString() {
+		return getDescription();
+	}
+
+}
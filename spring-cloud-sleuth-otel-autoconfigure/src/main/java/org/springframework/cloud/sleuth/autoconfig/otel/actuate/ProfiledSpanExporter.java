@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.actuate;
+
+import java.util.Collection;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import org.springframework.cloud.sleuth.autoconfig.otel.SpanComponents;
+import org.springframework.core.DecoratingProxy;
+
+/**
+ * {@link SpanExporter} timing the export calls of its delegate. Exporters completing
+ * asynchronously are timed until {@code export} returns.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+class ProfiledSpanExporter implements SpanExporter, DecoratingProxy {
+
+	private final SpanExporter delegate;
+
+	private final SpanPipelineProfiler profiler;
+
+	private final LatencyHistogram histogram;
+
+	ProfiledSpanExporter(SpanExporter delegate, SpanPipelineProfiler profiler) {
+		this.delegate = delegate;
+		this.profiler = profiler;
+		this.histogram = profiler.stage(profiler.stageName("exporter", delegate, null));
+	}
+
+	@Override
+	public CompletableResultCode export(Collection<SpanData> spans) {
+		if (!this.profiler.isRecording()) {
+			return this.delegate.export(spans);
+		}
+		long start = System.nanoTime();
+		try {
+			return this.delegate.export(spans);
+		}
+		finally {
+			this.histogram.record(System.nanoTime() - start);
+		}
+	}
+
+	@Override
+	public CompletableResultCode flush() {
+		return this.delegate.flush();
+	}
+
+	@Override
+	public CompletableResultCode shutdown() {
+		return this.delegate.shutdown();
+	}
+
+	@Override
+	public Class<?> getDecoratedClass() {
+		return SpanComponents.decoratedClass(this.delegate);
+	}
+
+	@Override
+	public String toString() {
+		return "ProfiledSpanExporter{" + "delegate=" + this.delegate + '}';
+	}
+
+}
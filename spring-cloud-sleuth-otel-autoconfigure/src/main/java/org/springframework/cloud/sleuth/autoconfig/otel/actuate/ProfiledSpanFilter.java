@@ -0,0 +1,73 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.actuate;
+
+import org.springframework.cloud.sleuth.autoconfig.otel.SpanComponents;
+import org.springframework.cloud.sleuth.exporter.FinishedSpan;
+import org.springframework.cloud.sleuth.exporter.SpanFilter;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link SpanFilter} timing its delegate.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+class ProfiledSpanFilter implements SpanFilter, DecoratingProxy {
+
+	private final SpanFilter delegate;
+
+	private final SpanPipelineProfiler profiler;
+
+	private final LatencyHistogram histogram;
+
+	ProfiledSpanFilter(SpanFilter delegate, SpanPipelineProfiler profiler) {
+		this(delegate, profiler, null);
+	}
+
+	ProfiledSpanFilter(SpanFilter delegate, SpanPipelineProfiler profiler, @Nullable String beanName) {
+		this.delegate = delegate;
+		this.profiler = profiler;
+		this.histogram = profiler.stage(profiler.stageName("filter", delegate, beanName));
+	}
+
+	@Override
+	public boolean isExportable(FinishedSpan span) {
+		if (!this.profiler.isRecording()) {
+			return this.delegate.isExportable(span);
+		}
+		long start = System.nanoTime();
+		try {
+			return this.delegate.isExportable(span);
+		}
+		finally {
+			this.histogram.record(System.nanoTime() - start);
+		}
+	}
+
+	@Override
+	public Class<?> getDecoratedClass() {
+		return SpanComponents.decoratedClass(this.delegate);
+	}
+
+	@Override
+	public String toString() {
+		return this.delegate.toString();
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.actuate;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+import org.springframework.cloud.sleuth.autoconfig.otel.SpanComponents;
+import org.springframework.core.DecoratingProxy;
+
+/**
+ * {@link SpanProcessor} timing the start and end callbacks of its delegate.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+class ProfiledSpanProcessor implements SpanProcessor, DecoratingProxy {
+
+	private final SpanProcessor delegate;
+
+	private final SpanPipelineProfiler profiler;
+
+	private final LatencyHistogram onStart;
+
+	private final LatencyHistogram onEnd;
+
+	ProfiledSpanProcessor(SpanProcessor delegate, SpanPipelineProfiler profiler) {
+		this.delegate = delegate;
+		this.profiler = profiler;
+		String name = profiler.stageName("processor", delegate, null);
+		this.onStart = profiler.stage(name + ".onStart");
+		this.onEnd = profiler.stage(name + ".onEnd");
+	}
+
+	@Override
+	public void onStart(Context parentContext, ReadWriteSpan span) {
+		if (!this.profiler.isRecording()) {
+			this.delegate.onStart(parentContext, span);
+			return;
+		}
+		long start = System.nanoTime();
+		try {
+			this.delegate.onStart(parentContext, span);
+		}
+		finally {
+			this.onStart.record(System.nanoTime() - start);
+		}
+	}
+
+	@Override
+	public boolean isStartRequired() {
+		return this.delegate.isStartRequired();
+	}
+
+	@Override
+	public void onEnd(ReadableSpan span) {
+		if (!this.profiler.isRecording()) {
+			this.delegate.onEnd(span);
+			return;
+		}
+		long start = System.nanoTime();
+		try {
+			this.delegate.onEnd(span);
+		}
+		finally {
+			this.onEnd.record(System.nanoTime() - start);
+		}
+	}
+
+	@Override
+	public boolean isEndRequired() {
+		return this.delegate.isEndRequired();
+	}
+
+	@Override
+	public CompletableResultCode shutdown() {
+		return this.delegate.shutdown();
+	}
+
+	@Override
+	public CompletableResultCode forceFlush() {
+		return this.delegate.forceFlush();
+	}
+
+	@Override
+	public Class<?> getDecoratedClass() {
+		return SpanComponents.decoratedClass(this.delegate);
+	}
+
+	@Override
+	public String toString() {
+		return "ProfiledSpanProcessor{" + "delegate=" + this.delegate + '}';
+	}
+
+}
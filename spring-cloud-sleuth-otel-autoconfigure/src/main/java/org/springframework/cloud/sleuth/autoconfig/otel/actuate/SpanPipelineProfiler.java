@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.actuate;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cloud.sleuth.autoconfig.otel.SpanComponents;
+import org.springframework.lang.Nullable;
+
+/**
+ * Keeps a latency histogram for each stage of the span pipeline (sampler, span
+ * processors, span filters and span exporters). Stages record only while profiling is
+ * switched on. Stages are named after the bean of the profiled component or, when there's
+ * none, after its class.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+public class SpanPipelineProfiler {
+
+	private final Map<String, LatencyHistogram> stages = new ConcurrentHashMap<>();
+
+	private final Map<Class<?>, String> beanNames = new ConcurrentHashMap<>();
+
+	private final Set<String> stageNames = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean recording;
+
+	private volatile long startNanos = System.nanoTime();
+
+	public SpanPipelineProfiler(boolean recording) {
+		this.recording = recording;
+	}
+
+	LatencyHistogram stage(String name) {
+		return this.stages.computeIfAbsent(name, key -> new LatencyHistogram());
+	}
+
+	/**
+	 * Remembers the bean name of a span exporter or span processor, the tracer provider
+	 * only hands the instances to the customizers. Beans sharing a class can't be told
+	 * apart that way and are named after their class.
+	 * @param type decorated class of the bean
+	 * @param beanName name of the bean
+	 */
+	void registerBeanName(Class<?> type, String beanName) {
+		this.beanNames.merge(type, beanName, (name, other) -> "");
+	}
+
+	/**
+	 * Reserves a stage name for a component, appending a counter when another component
+	 * already got the same name.
+	 * @param kind kind of the component, such as {@code exporter}
+	 * @param component profiled component
+	 * @param beanName bean name of the component, if known
+	 * @return unique stage name
+	 */
+	String stageName(String kind, Object component, @Nullable String beanName) {
+		Class<?> type = SpanComponents.decoratedClass(component);
+		String name = beanName != null ? beanName : this.beanNames.get(type);
+		if (name == null || name.isEmpty()) {
+			name = type.getSimpleName();
+		}
+		String base = kind + ":" + name;
+		String stageName = base;
+		for (int i = 2; !this.stageNames.add(stageName); i++) {
+			stageName = base + "#" + i;
+		}
+		return stageName;
+	}
+
+	Map<String, LatencyHistogram> stages() {
+		return Collections.unmodifiableMap(this.stages);
+	}
+
+	public boolean isRecording() {
+		return this.recording;
+	}
+
+	/**
+	 * Starts recording, dropping the previously recorded values.
+	 */
+	public void start() {
+		reset();
+		this.recording = true;
+	}
+
+	/**
+	 * Stops recording. The recorded values are kept.
+	 */
+	public void stop() {
+		this.recording = false;
+	}
+
+	/**
+	 * Drops the recorded values.
+	 */
+	public void reset() {
+		this.stages.values().forEach(LatencyHistogram::reset);
+		this.startNanos = System.nanoTime();
+	}
+
+	long getStartNanos() {
+		return this.startNanos;
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.actuate;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * {@link Endpoint @Endpoint} exposing the latencies of the span pipeline stages recorded
+ * by the {@link SpanPipelineProfiler}. Writing {@code recording} switches profiling on
+ * or off at runtime.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+@Endpoint(id = "tracingprofile")
+public class SpanPipelineProfilerEndpoint {
+
+	private final SpanPipelineProfiler profiler;
+
+	public SpanPipelineProfilerEndpoint(SpanPipelineProfiler profiler) {
+		this.profiler = profiler;
+	}
+
+	@ReadOperation
+	public ProfileDescriptor profile() {
+		long elapsedNanos = Math.max(System.nanoTime() - this.profiler.getStartNanos(), 1);
+		Map<String, StageDescriptor> stages = new TreeMap<>();
+		this.profiler.stages().forEach((name, histogram) -> stages.put(name, new StageDescriptor(histogram,
+				histogram.count() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos)));
+		return new ProfileDescriptor(this.profiler.isRecording(), stages);
+	}
+
+	@WriteOperation
+	public ProfileDescriptor record(boolean recording) {
+		if (recording) {
+			this.profiler.start();
+		}
+		else {
+			this.profiler.stop();
+		}
+		return profile();
+	}
+
+	@DeleteOperation
+	public void reset() {
+		this.profiler.reset();
+	}
+
+	/**
+	 * Recorded latencies of all stages.
+	 */
+	public static final class ProfileDescriptor {
+
+		private final boolean recording;
+
+		private final Map<String, StageDescriptor> stages;
+
+		private ProfileDescriptor(boolean recording, Map<String, StageDescriptor> stages) {
+			this.recording = recording;
+			this.stages = stages;
+		}
+
+		public boolean isRecording() {
+			return this.recording;
+		}
+
+		public Map<String, StageDescriptor> getStages() {
+			return this.stages;
+		}
+
+	}
+
+	/**
+	 * Recorded latencies of a single stage, in nanos.
+	 */
+	public static final class StageDescriptor {
+
+		private final long count;
+
+		private final double throughput;
+
+		private final long p50;
+
+		private final long p99;
+
+		private final long max;
+
+		private StageDescriptor(LatencyHistogram histogram, double throughput) {
+			this.count = histogram.count();
+			this.throughput = throughput;
+			this.p50 = histogram.percentile(0.5);
+			this.p99 = histogram.percentile(0.99);
+			this.max = histogram.max();
+		}
+
+		public long getCount() {
+			return this.count;
+		}
+
+		/**
+		 * @return calls per second since profiling got reset
+		 */
+		public double getThroughput() {
+			return this.throughput;
+		}
+
+		public long getP50() {
+			return this.p50;
+		}
+
+		public long getP99() {
+			return this.p99;
+		}
+
+		public long getMax() {
+			return this.max;
+		}
+
+	}
+
+}
@@ -16,20 +16,15 @@
 
 package org.springframework.cloud.sleuth.autoconfig.otel.wavefront;
 
-import java.util.Collection;
-
 import com.wavefront.spring.autoconfigure.WavefrontAutoConfiguration;
 import com.wavefront.spring.autoconfigure.WavefrontSleuthSpanHandler;
-import io.opentelemetry.sdk.common.CompletableResultCode;
-import io.opentelemetry.sdk.trace.data.SpanData;
-import io.opentelemetry.sdk.trace.export.SpanExporter;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.cloud.sleuth.TraceContext;
-import org.springframework.cloud.sleuth.otel.bridge.OtelFinishedSpan;
+import org.springframework.cloud.sleuth.otel.bridge.LocalIpResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -46,51 +41,13 @@ import org.springframework.context.annotation.Configuration;
 @AutoConfigureAfter(WavefrontAutoConfiguration.class)
 public class WavefrontOtelAutoConfiguration {
 
-	@Bean
+	// the tracer provider shuts the exporter down, it mustn't close the handler twice
+	@Bean(destroyMethod = "")
 	@ConditionalOnBean(WavefrontSleuthSpanHandler.class)
-	SpanExporter wavefrontSpanExporter(WavefrontSleuthSpanHandler spanHandler) {
-		return new SpanExporter() {
-			@Override
-			public CompletableResultCode export(Collection<SpanData> spans) {
-				spans.forEach(spanData -> spanHandler.end(traceContext(spanData), OtelFinishedSpan.fromOtel(spanData)));
-				return CompletableResultCode.ofSuccess();
-			}
-
-			private TraceContext traceContext(SpanData spanData) {
-				return new TraceContext() {
-					@Override
-					public String traceId() {
-						return spanData.getTraceId();
-					}
-
-					@Override
-					public String parentId() {
-						return spanData.getParentSpanId();
-					}
-
-					@Override
-					public String spanId() {
-						return spanData.getSpanId();
-					}
-
-					@Override
-					public Boolean sampled() {
-						return spanData.getSpanContext().isSampled();
-					}
-				};
-			}
-
-			@Override
-			public CompletableResultCode flush() {
-				return CompletableResultCode.ofSuccess();
-			}
-
-			@Override
-			public CompletableResultCode shutdown() {
-				spanHandler.close();
-				return CompletableResultCode.ofSuccess();
-			}
-		};
+	WavefrontSpanExporter wavefrontSpanExporter(WavefrontSleuthSpanHandler spanHandler,
+			ObjectProvider<LocalIpResolver> localIpResolverProvider) {
+		LocalIpResolver localIpResolver = localIpResolverProvider.getIfAvailable(LocalIpResolver::getDefault);
+		return new WavefrontSpanExporter(spanHandler, localIpResolver);
 	}
 
 }
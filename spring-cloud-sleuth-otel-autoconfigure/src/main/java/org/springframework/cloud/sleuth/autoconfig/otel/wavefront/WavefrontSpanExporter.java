@@ -0,0 +1,138 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.wavefront;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.wavefront.spring.autoconfigure.WavefrontSleuthSpanHandler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.sleuth.TraceContext;
+import org.springframework.cloud.sleuth.otel.bridge.LocalIpResolver;
+import org.springframework.cloud.sleuth.otel.bridge.OtelFinishedSpan;
+
+/**
+ * {@link SpanExporter} handing batches of spans over to the
+ * {@link WavefrontSleuthSpanHandler}. Batching and exporting off the caller thread is
+ * left to the span processor. The export fails when the handler throws, the spans of the
+ * batch it didn't take are counted as failed.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+public class WavefrontSpanExporter implements SpanExporter {
+
+	private static final Log log = LogFactory.getLog(WavefrontSpanExporter.class);
+
+	private final WavefrontSleuthSpanHandler spanHandler;
+
+	private final LocalIpResolver localIpResolver;
+
+	private final LongAdder exportedSpans = new LongAdder();
+
+	private final LongAdder failedSpans = new LongAdder();
+
+	public WavefrontSpanExporter(WavefrontSleuthSpanHandler spanHandler, LocalIpResolver localIpResolver) {
+		this.spanHandler = spanHandler;
+		this.localIpResolver = localIpResolver;
+	}
+
+	@Override
+	public CompletableResultCode export(Collection<SpanData> spans) {
+		int exported = 0;
+		try {
+			for (SpanData spanData : spans) {
+				this.spanHandler.end(new SpanDataTraceContext(spanData),
+						OtelFinishedSpan.fromOtel(spanData, this.localIpResolver));
+				exported++;
+			}
+			return CompletableResultCode.ofSuccess();
+		}
+		catch (RuntimeException ex) {
+			this.failedSpans.add(spans.size() - exported);
+			log.warn("Failed to hand " + (spans.size() - exported) + " spans over to Wavefront", ex);
+			return CompletableResultCode.ofFailure();
+		}
+		finally {
+			this.exportedSpans.add(exported);
+		}
+	}
+
+	@Override
+	public CompletableResultCode flush() {
+		return CompletableResultCode.ofSuccess();
+	}
+
+	@Override
+	public CompletableResultCode shutdown() {
+		this.spanHandler.close();
+		return CompletableResultCode.ofSuccess();
+	}
+
+	/**
+	 * @return number of spans handed over to the handler
+	 */
+	public long getExportedSpans() {
+		return this.exportedSpans.sum();
+	}
+
+	/**
+	 * @return number of spans not handed over because the handler threw
+	 */
+	public long getFailedSpans() {
+		return this.failedSpans.sum();
+	}
+
+	/**
+	 * {@link TraceContext} view of the span data, the handler reads the ids only.
+	 */
+	private static final class SpanDataTraceContext implements TraceContext {
+
+		private final SpanData spanData;
+
+		private SpanDataTraceContext(SpanData spanData) {
+			this.spanData = spanData;
+		}
+
+		@Override
+		public String traceId() {
+			return this.spanData.getTraceId();
+		}
+
+		@Override
+		public String parentId() {
+			return this.spanData.getParentSpanId();
+		}
+
+		@Override
+		public String spanId() {
+			return this.spanData.getSpanId();
+		}
+
+		@Override
+		public Boolean sampled() {
+			return this.spanData.getSpanContext().isSampled();
+		}
+
+	}
+
+}
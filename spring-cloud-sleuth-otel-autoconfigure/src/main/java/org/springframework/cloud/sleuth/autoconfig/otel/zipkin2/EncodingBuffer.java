@@ -0,0 +1,227 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.zipkin2;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Growable heap {@link ByteBuffer} spans get encoded into. Instances are not thread safe
+ * and are reused across exports through {@link EncodingBufferPool}. Zipkin senders only
+ * take byte arrays, so the encoded bytes get copied into one anyway. A direct buffer
+ * would not save that copy.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+final class EncodingBuffer {
+
+	// tag keys and values of the span being encoded, reused across spans
+	final List<String> tags = new ArrayList<>();
+
+	private ByteBuffer buffer;
+
+	EncodingBuffer(int capacity) {
+		this.buffer = ByteBuffer.allocate(capacity);
+	}
+
+	int capacity() {
+		return this.buffer.capacity();
+	}
+
+	int size() {
+		return this.buffer.position();
+	}
+
+	void reset() {
+		this.buffer.clear();
+		this.tags.clear();
+	}
+
+	/**
+	 * @return copy of the encoded bytes, zipkin senders need an array of the exact size
+	 */
+	byte[] toByteArray() {
+		return Arrays.copyOf(this.buffer.array(), this.buffer.position());
+	}
+
+	void writeByte(int b) {
+		ensureCapacity(1);
+		this.buffer.put((byte) b);
+	}
+
+	void writeAscii(String value, int from, int to) {
+		ensureCapacity(to - from);
+		for (int i = from; i < to; i++) {
+			this.buffer.put((byte) value.charAt(i));
+		}
+	}
+
+	void writeAscii(String value) {
+		writeAscii(value, 0, value.length());
+	}
+
+	void writeUtf8(String value) {
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			writeUtf8(c, value, i);
+			if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+				i++;
+			}
+		}
+	}
+
+	/**
+	 * Writes the character at the given index, combining it with the following low
+	 * surrogate if there's one.
+	 */
+	void writeUtf8(char c, String value, int index) {
+		if (c < 0x80) {
+			writeByte(c);
+		}
+		else if (c < 0x800) {
+			ensureCapacity(2);
+			this.buffer.put((byte) (0xc0 | (c >> 6)));
+			this.buffer.put((byte) (0x80 | (c & 0x3f)));
+		}
+		else if (!Character.isSurrogate(c)) {
+			ensureCapacity(3);
+			this.buffer.put((byte) (0xe0 | (c >> 12)));
+			this.buffer.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+			this.buffer.put((byte) (0x80 | (c & 0x3f)));
+		}
+		else if (Character.isHighSurrogate(c) && index + 1 < value.length()
+				&& Character.isLowSurrogate(value.charAt(index + 1))) {
+			int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+			ensureCapacity(4);
+			this.buffer.put((byte) (0xf0 | (codePoint >> 18)));
+			this.buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+			this.buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+			this.buffer.put((byte) (0x80 | (codePoint & 0x3f)));
+		}
+		else {
+			// malformed surrogate, same replacement as String#getBytes
+			writeByte('?');
+		}
+	}
+
+	void writeDecimal(long value) {
+		if (value < 0) {
+			writeByte('-');
+			if (value == Long.MIN_VALUE) {
+				writeAscii("9223372036854775808");
+				return;
+			}
+			value = -value;
+		}
+		int digits = 1;
+		for (long v = value; v >= 10; v /= 10) {
+			digits++;
+		}
+		ensureCapacity(digits);
+		int end = this.buffer.position() + digits;
+		for (int i = end - 1; i >= this.buffer.position(); i--) {
+			this.buffer.put(i, (byte) ('0' + (value % 10)));
+			value /= 10;
+		}
+		this.buffer.position(end);
+	}
+
+	void writeVarint(long value) {
+		ensureCapacity(10);
+		while ((value & ~0x7fL) != 0) {
+			this.buffer.put((byte) ((value & 0x7f) | 0x80));
+			value >>>= 7;
+		}
+		this.buffer.put((byte) value);
+	}
+
+	void writeFixed64(long value) {
+		ensureCapacity(8);
+		for (int i = 0; i < 8; i++) {
+			this.buffer.put((byte) (value >>> (i * 8)));
+		}
+	}
+
+	/**
+	 * Writes the lower hex characters of the given range as bytes.
+	 */
+	void writeHexAsBytes(String hex, int from, int to) {
+		ensureCapacity((to - from) / 2);
+		for (int i = from; i < to; i += 2) {
+			this.buffer.put((byte) ((hexValue(hex.charAt(i)) << 4) | hexValue(hex.charAt(i + 1))));
+		}
+	}
+
+	void writeBytes(byte[] bytes) {
+		ensureCapacity(bytes.length);
+		this.buffer.put(bytes);
+	}
+
+	private static int hexValue(char c) {
+		return c <= '9' ? c - '0' : c - 'a' + 10;
+	}
+
+	static int varintSize(long value) {
+		int size = 1;
+		while ((value & ~0x7fL) != 0) {
+			size++;
+			value >>>= 7;
+		}
+		return size;
+	}
+
+	static int utf8Size(String value) {
+		int size = 0;
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				size++;
+			}
+			else if (c < 0x800) {
+				size += 2;
+			}
+			else if (!Character.isSurrogate(c)) {
+				size += 3;
+			}
+			else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+				size += 4;
+				i++;
+			}
+			else {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	private void ensureCapacity(int bytes) {
+		if (this.buffer.remaining() >= bytes) {
+			return;
+		}
+		int capacity = Math.max(this.buffer.capacity() * 2, this.buffer.position() + bytes);
+		ByteBuffer grownBuffer = ByteBuffer.allocate(capacity);
+		this.buffer.flip();
+		grownBuffer.put(this.buffer);
+		this.buffer = grownBuffer;
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.zipkin2;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of {@link EncodingBuffer encoding buffers}. A buffer keeps the capacity it
+ * grew to, so that after a few exports the pooled buffers fit whole batches.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+final class EncodingBufferPool {
+
+	private final Queue<EncodingBuffer> idle = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger idleCount = new AtomicInteger();
+
+	private final LongAdder allocated = new LongAdder();
+
+	private final LongAdder reused = new LongAdder();
+
+	private final int bufferSize;
+
+	private final int maxPooledBuffers;
+
+	EncodingBufferPool(int bufferSize, int maxPooledBuffers) {
+		this.bufferSize = bufferSize;
+		this.maxPooledBuffers = maxPooledBuffers;
+	}
+
+	EncodingBuffer acquire() {
+		EncodingBuffer buffer = this.idle.poll();
+		if (buffer == null) {
+			this.allocated.increment();
+			return new EncodingBuffer(this.bufferSize);
+		}
+		this.idleCount.decrementAndGet();
+		this.reused.increment();
+		buffer.reset();
+		return buffer;
+	}
+
+	void release(EncodingBuffer buffer) {
+		if (this.idleCount.incrementAndGet() <= this.maxPooledBuffers) {
+			this.idle.offer(buffer);
+		}
+		else {
+			// left to the garbage collector
+			this.idleCount.decrementAndGet();
+		}
+	}
+
+	long getAllocatedBuffers() {
+		return this.allocated.sum();
+	}
+
+	long getReusedBuffers() {
+		return this.reused.sum();
+	}
+
+	int getPooledBuffers() {
+		return this.idleCount.get();
+	}
+
+	long getPooledBytes() {
+		long bytes = 0;
+		for (EncodingBuffer buffer : this.idle) {
+			bytes += buffer.capacity();
+		}
+		return bytes;
+	}
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.zipkin2;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import zipkin2.reporter.Sender;
+
+import org.springframework.cloud.sleuth.otel.bridge.LocalIpResolver;
+
+/**
+ * {@link SpanExporter} sending spans to Zipkin like the OpenTelemetry
+ * {@code ZipkinSpanExporter}, but encoding them straight from {@link SpanData} into
+ * pooled heap buffers instead of building zipkin spans and a byte array per span. As
+ * senders only accept byte arrays, a batch gets copied once into a single array, which
+ * the sender wraps into its message as if it was a single span. Supports the JSON and
+ * proto3 encodings.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+public class PooledZipkinSpanExporter implements SpanExporter {
+
+	/**
+	 * Default initial size in bytes of a pooled encoding buffer.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Default max number of idle encoding buffers kept in the pool.
+	 */
+	public static final int DEFAULT_MAX_POOLED_BUFFERS = 4;
+
+	private static final Log log = LogFactory.getLog(PooledZipkinSpanExporter.class);
+
+	private final Sender sender;
+
+	private final LocalIpResolver localIpResolver;
+
+	private final ZipkinSpanEncoder encoder;
+
+	private final EncodingBufferPool pool;
+
+	private final LongAdder exportedSpans = new LongAdder();
+
+	private final LongAdder failedSpans = new LongAdder();
+
+	private final LongAdder encodedBytes = new LongAdder();
+
+	private volatile ZipkinSpanEncoder.LocalEndpoint localEndpoint;
+
+	private volatile boolean shutdown;
+
+	/**
+	 * @param sender sender of the encoded spans, its encoding has to be JSON or proto3
+	 * @param localIpResolver resolver of the address of the local endpoint
+	 * @param bufferSize initial size in bytes of a pooled encoding buffer
+	 * @param maxPooledBuffers max number of idle encoding buffers kept in the pool
+	 */
+	public PooledZipkinSpanExporter(Sender sender, LocalIpResolver localIpResolver, int bufferSize,
+			int maxPooledBuffers) {
+		this.sender = sender;
+		this.localIpResolver = localIpResolver;
+		this.encoder = ZipkinSpanEncoder.forEncoding(sender.encoding());
+		this.pool = new EncodingBufferPool(bufferSize, maxPooledBuffers);
+	}
+
+	@Override
+	public CompletableResultCode export(Collection<SpanData> spans) {
+		if (this.shutdown) {
+			return CompletableResultCode.ofFailure();
+		}
+		if (spans.isEmpty()) {
+			return CompletableResultCode.ofSuccess();
+		}
+		byte[] encoded;
+		EncodingBuffer buffer = this.pool.acquire();
+		try {
+			boolean first = true;
+			for (SpanData span : spans) {
+				this.encoder.encode(span, first, localEndpoint(span), buffer);
+				first = false;
+			}
+			encoded = buffer.toByteArray();
+		}
+		finally {
+			this.pool.release(buffer);
+		}
+		this.encodedBytes.add(encoded.length);
+		try {
+			this.sender.sendSpans(Collections.singletonList(encoded)).execute();
+			this.exportedSpans.add(spans.size());
+			return CompletableResultCode.ofSuccess();
+		}
+		catch (IOException | RuntimeException ex) {
+			this.failedSpans.add(spans.size());
+			log.warn("Failed to export " + spans.size() + " spans to Zipkin", ex);
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+	private ZipkinSpanEncoder.LocalEndpoint localEndpoint(SpanData span) {
+		ZipkinSpanEncoder.LocalEndpoint endpoint = this.localEndpoint;
+		String ip = this.localIpResolver.localIp();
+		if (endpoint == null || !endpoint.matches(span.getResource(), ip)) {
+			endpoint = new ZipkinSpanEncoder.LocalEndpoint(span.getResource(), ip);
+			this.localEndpoint = endpoint;
+		}
+		return endpoint;
+	}
+
+	@Override
+	public CompletableResultCode flush() {
+		return CompletableResultCode.ofSuccess();
+	}
+
+	@Override
+	public CompletableResultCode shutdown() {
+		this.shutdown = true;
+		// same as the OpenTelemetry exporter
+		try {
+			this.sender.close();
+			return CompletableResultCode.ofSuccess();
+		}
+		catch (IOException ex) {
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to close the Zipkin sender", ex);
+			}
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+	/**
+	 * @return number of spans sent to Zipkin
+	 */
+	public long getExportedSpans() {
+		return this.exportedSpans.sum();
+	}
+
+	/**
+	 * @return number of spans the sender failed to send
+	 */
+	public long getFailedSpans() {
+		return this.failedSpans.sum();
+	}
+
+	/**
+	 * @return number of bytes of encoded spans handed to the sender
+	 */
+	public long getEncodedBytes() {
+		return this.encodedBytes.sum();
+	}
+
+	/**
+	 * @return number of encoding buffers allocated because the pool was empty
+	 */
+	public long getAllocatedBuffers() {
+		return this.pool.getAllocatedBuffers();
+	}
+
+	/**
+	 * @return number of times an encoding buffer got reused from the pool
+	 */
+	public long getReusedBuffers() {
+		return this.pool.getReusedBuffers();
+	}
+
+	/**
+	 * @return number of idle encoding buffers in the pool
+	 */
+	public int getPooledBuffers() {
+		return this.pool.getPooledBuffers();
+	}
+
+	/**
+	 * @return bytes held by the idle encoding buffers
+	 */
+	public long getPooledBytes() {
+		return this.pool.getPooledBytes();
+	}
+
+	@Override
+	public String toString() {
+		return "PooledZipkinSpanExporter{" + "sender=" + this.sender + '}';
+	}
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.zipkin2;
+
+import java.util.List;
+
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * Writes spans in the zipkin v2 JSON format. Spans are separated with commas, the sender
+ * wraps them in a JSON array.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+class ZipkinJsonSpanEncoder extends ZipkinSpanEncoder {
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	@Override
+	void encode(SpanData span, boolean first, LocalEndpoint localEndpoint, EncodingBuffer buffer) {
+		if (!first) {
+			buffer.writeByte(',');
+		}
+		String traceId = span.getTraceId();
+		buffer.writeAscii("{\"traceId\":\"");
+		buffer.writeAscii(traceId, traceIdOffset(traceId), traceId.length());
+		if (span.getParentSpanContext().isValid()) {
+			buffer.writeAscii("\",\"parentId\":\"");
+			buffer.writeAscii(span.getParentSpanId());
+		}
+		buffer.writeAscii("\",\"id\":\"");
+		buffer.writeAscii(span.getSpanId());
+		buffer.writeByte('"');
+		String kind = kind(span.getKind());
+		if (kind != null) {
+			buffer.writeAscii(",\"kind\":\"");
+			buffer.writeAscii(kind);
+			buffer.writeByte('"');
+		}
+		String name = name(span);
+		if (!name.isEmpty()) {
+			buffer.writeAscii(",\"name\":\"");
+			writeEscaped(name, buffer);
+			buffer.writeByte('"');
+		}
+		long timestamp = micros(span.getStartEpochNanos());
+		if (timestamp != 0) {
+			buffer.writeAscii(",\"timestamp\":");
+			buffer.writeDecimal(timestamp);
+		}
+		long duration = micros(span.getEndEpochNanos()) - timestamp;
+		if (duration > 0) {
+			buffer.writeAscii(",\"duration\":");
+			buffer.writeDecimal(duration);
+		}
+		buffer.writeAscii(",\"localEndpoint\":{\"serviceName\":\"");
+		writeEscaped(localEndpoint.serviceName, buffer);
+		buffer.writeByte('"');
+		if (localEndpoint.ipBytes != null) {
+			buffer.writeAscii(localEndpoint.isIpv6() ? ",\"ipv6\":\"" : ",\"ipv4\":\"");
+			buffer.writeAscii(localEndpoint.ip);
+			buffer.writeByte('"');
+		}
+		buffer.writeByte('}');
+		String remoteServiceName = remoteServiceName(span);
+		if (remoteServiceName != null) {
+			buffer.writeAscii(",\"remoteEndpoint\":{\"serviceName\":\"");
+			writeEscaped(remoteServiceName, buffer);
+			buffer.writeAscii("\"}");
+		}
+		writeAnnotations(span.getEvents(), buffer);
+		writeTags(span, buffer);
+		buffer.writeByte('}');
+	}
+
+	private void writeAnnotations(List<EventData> events, EncodingBuffer buffer) {
+		if (events.isEmpty()) {
+			return;
+		}
+		buffer.writeAscii(",\"annotations\":[");
+		for (int i = 0; i < events.size(); i++) {
+			EventData event = events.get(i);
+			buffer.writeAscii(i == 0 ? "{\"timestamp\":" : ",{\"timestamp\":");
+			buffer.writeDecimal(micros(event.getEpochNanos()));
+			buffer.writeAscii(",\"value\":\"");
+			writeEscaped(event.getName(), buffer);
+			buffer.writeAscii("\"}");
+		}
+		buffer.writeByte(']');
+	}
+
+	private void writeTags(SpanData span, EncodingBuffer buffer) {
+		List<String> tags = buffer.tags;
+		tags.clear();
+		collectTags(span, tags);
+		if (tags.isEmpty()) {
+			return;
+		}
+		buffer.writeAscii(",\"tags\":{");
+		for (int i = 0; i < tags.size(); i += 2) {
+			buffer.writeAscii(i == 0 ? "\"" : ",\"");
+			writeEscaped(tags.get(i), buffer);
+			buffer.writeAscii("\":\"");
+			writeEscaped(tags.get(i + 1), buffer);
+			buffer.writeByte('"');
+		}
+		buffer.writeByte('}');
+	}
+
+	// same escaping as zipkin's JSON writer
+	private static void writeEscaped(String value, EncodingBuffer buffer) {
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"':
+				buffer.writeAscii("\\\"");
+				break;
+			case '\\':
+				buffer.writeAscii("\\\\");
+				break;
+			case '\b':
+				buffer.writeAscii("\\b");
+				break;
+			case '\f':
+				buffer.writeAscii("\\f");
+				break;
+			case '\n':
+				buffer.writeAscii("\\n");
+				break;
+			case '\r':
+				buffer.writeAscii("\\r");
+				break;
+			case '\t':
+				buffer.writeAscii("\\t");
+				break;
+			case '\u2028':
+			case '\u2029':
+				writeUnicodeEscape(c, buffer);
+				break;
+			default:
+				if (c < 0x20) {
+					writeUnicodeEscape(c, buffer);
+				}
+				else {
+					buffer.writeUtf8(c, value, i);
+					if (Character.isHighSurrogate(c) && i + 1 < length
+							&& Character.isLowSurrogate(value.charAt(i + 1))) {
+						i++;
+					}
+				}
+			}
+		}
+	}
+
+	private static void writeUnicodeEscape(char c, EncodingBuffer buffer) {
+		buffer.writeAscii("\\u");
+		buffer.writeByte(HEX[(c >> 12) & 0xf]);
+		buffer.writeByte(HEX[(c >> 8) & 0xf]);
+		buffer.writeByte(HEX[(c >> 4) & 0xf]);
+		buffer.writeByte(HEX[c & 0xf]);
+	}
+
+}
@@ -18,19 +18,28 @@ package org.springframework.cloud.sleuth.autoconfig.otel.zipkin2;
 
 import java.util.function.Supplier;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.exporter.zipkin.ZipkinSpanExporter;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.semconv.resource.attributes.ResourceAttributes;
+import zipkin2.codec.SpanBytesEncoder;
 import zipkin2.reporter.Sender;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.sleuth.autoconfig.otel.OtelExporterProperties;
 import org.springframework.cloud.sleuth.autoconfig.zipkin2.ZipkinAutoConfiguration;
+import org.springframework.cloud.sleuth.otel.bridge.LocalIpResolver;
 import org.springframework.cloud.sleuth.zipkin2.DefaultZipkinRestTemplateCustomizer;
 import org.springframework.cloud.sleuth.zipkin2.EndpointLocator;
 import org.springframework.cloud.sleuth.zipkin2.ZipkinProperties;
@@ -58,6 +67,7 @@ import org.springframework.web.client.RestTemplate;
 @ConditionalOnProperty(value = { "spring.sleuth.enabled", "spring.zipkin.enabled" }, matchIfMissing = true)
 @ConditionalOnClass({ Tracer.class, EndpointLocator.class })
 @AutoConfigureBefore(ZipkinAutoConfiguration.class)
+@EnableConfigurationProperties(OtelExporterProperties.class)
 public class ZipkinOtelAutoConfiguration {
 
 	@Configuration(proxyBeanMethods = false)
@@ -66,12 +76,33 @@ public class ZipkinOtelAutoConfiguration {
 
 		@Bean
 		@ConditionalOnMissingBean
+		@ConditionalOnProperty(value = "spring.sleuth.otel.exporter.zipkin.pooled-encoding", havingValue = "false",
+				matchIfMissing = true)
 		ZipkinSpanExporter otelZipkinSpanExporter(ZipkinProperties zipkinProperties,
 				@Qualifier(ZipkinAutoConfiguration.SENDER_BEAN_NAME) Sender sender) {
 			return ZipkinSpanExporter.builder().setEndpoint(zipkinProperties.getBaseUrl() + "api/v2/spans")
 					.setSender(sender).setEncoder(zipkinProperties.getEncoder()).build();
 		}
 
+		@Bean
+		@ConditionalOnMissingBean({ ZipkinSpanExporter.class, PooledZipkinSpanExporter.class })
+		@ConditionalOnProperty("spring.sleuth.otel.exporter.zipkin.pooled-encoding")
+		PooledZipkinSpanExporter otelPooledZipkinSpanExporter(ZipkinProperties zipkinProperties,
+				@Qualifier(ZipkinAutoConfiguration.SENDER_BEAN_NAME) Sender sender,
+				ObjectProvider<LocalIpResolver> localIpResolver, OtelExporterProperties otelExporterProperties) {
+			SpanBytesEncoder encoder = zipkinProperties.getEncoder();
+			if (encoder != SpanBytesEncoder.JSON_V2 && encoder != SpanBytesEncoder.PROTO3) {
+				throw new IllegalStateException(
+						"Pooled encoding of spans supports only JSON_V2 and PROTO3 encoders, got [" + encoder + "]");
+			}
+			OtelExporterProperties.Zipkin zipkin = otelExporterProperties.getZipkin();
+			Integer bufferSize = zipkin.getBufferSize();
+			Integer maxPooledBuffers = zipkin.getMaxPooledBuffers();
+			return new PooledZipkinSpanExporter(sender, localIpResolver.getIfAvailable(LocalIpResolver::getDefault),
+					bufferSize != null ? bufferSize : PooledZipkinSpanExporter.DEFAULT_BUFFER_SIZE,
+					maxPooledBuffers != null ? maxPooledBuffers : PooledZipkinSpanExporter.DEFAULT_MAX_POOLED_BUFFERS);
+		}
+
 		@Bean
 		Supplier<Resource> zipkinResourceProvider(Environment environment) {
 			return () -> {
@@ -89,4 +120,49 @@ public class ZipkinOtelAutoConfiguration {
 
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterRegistry.class)
+	@ConditionalOnProperty("spring.sleuth.otel.metrics.enabled")
+	static class PooledZipkinMetricsConfiguration {
+
+		@Bean
+		static BeanPostProcessor otelPooledZipkinSpanExporterMetricsBeanPostProcessor(
+				ObjectProvider<MeterRegistry> meterRegistry) {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (bean instanceof PooledZipkinSpanExporter) {
+						MeterRegistry registry = meterRegistry.getIfAvailable();
+						if (registry != null) {
+							monitor((PooledZipkinSpanExporter) bean, beanName, registry);
+						}
+					}
+					return bean;
+				}
+			};
+		}
+
+		private static void monitor(PooledZipkinSpanExporter exporter, String name, MeterRegistry registry) {
+			FunctionCounter.builder("sleuth.otel.exporter.encoded", exporter, PooledZipkinSpanExporter::getEncodedBytes)
+					.description("Bytes of encoded spans handed to the sender").baseUnit("bytes").tag("exporter", name)
+					.register(registry);
+			FunctionCounter
+					.builder("sleuth.otel.exporter.buffers.acquired", exporter,
+							PooledZipkinSpanExporter::getAllocatedBuffers)
+					.description("Number of encoding buffers taken for an export").tag("exporter", name)
+					.tag("result", "allocated").register(registry);
+			FunctionCounter
+					.builder("sleuth.otel.exporter.buffers.acquired", exporter,
+							PooledZipkinSpanExporter::getReusedBuffers)
+					.description("Number of encoding buffers taken for an export").tag("exporter", name)
+					.tag("result", "reused").register(registry);
+			Gauge.builder("sleuth.otel.exporter.buffers.pooled", exporter, PooledZipkinSpanExporter::getPooledBuffers)
+					.description("Number of idle encoding buffers").tag("exporter", name).register(registry);
+			Gauge.builder("sleuth.otel.exporter.buffers.memory", exporter, PooledZipkinSpanExporter::getPooledBytes)
+					.description("Memory held by the idle encoding buffers").baseUnit("bytes")
+					.tag("exporter", name).register(registry);
+		}
+
+	}
+
 }
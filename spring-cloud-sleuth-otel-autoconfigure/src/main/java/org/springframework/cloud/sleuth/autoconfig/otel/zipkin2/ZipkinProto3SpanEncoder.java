@@ -0,0 +1,215 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.zipkin2;
+
+import java.util.List;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Writes spans in the zipkin proto3 format. Every span is written as an entry of the
+ * {@code ListOfSpans} message, so the sender can simply concatenate them.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+class ZipkinProto3SpanEncoder extends ZipkinSpanEncoder {
+
+	// field keys, (field number << 3) | wire type
+
+	private static final int LIST_OF_SPANS_SPAN = 0x0a;
+
+	private static final int TRACE_ID = 0x0a;
+
+	private static final int PARENT_ID = 0x12;
+
+	private static final int ID = 0x1a;
+
+	private static final int KIND = 0x20;
+
+	private static final int NAME = 0x2a;
+
+	private static final int TIMESTAMP = 0x31;
+
+	private static final int DURATION = 0x38;
+
+	private static final int LOCAL_ENDPOINT = 0x42;
+
+	private static final int REMOTE_ENDPOINT = 0x4a;
+
+	private static final int ANNOTATION = 0x52;
+
+	private static final int TAG = 0x5a;
+
+	private static final int ENDPOINT_SERVICE_NAME = 0x0a;
+
+	private static final int ENDPOINT_IPV4 = 0x12;
+
+	private static final int ENDPOINT_IPV6 = 0x1a;
+
+	private static final int ANNOTATION_TIMESTAMP = 0x09;
+
+	private static final int ANNOTATION_VALUE = 0x12;
+
+	private static final int MAP_KEY = 0x0a;
+
+	private static final int MAP_VALUE = 0x12;
+
+	private static final int SPAN_ID_SIZE = 8;
+
+	@Override
+	void encode(SpanData span, boolean first, LocalEndpoint localEndpoint, EncodingBuffer buffer) {
+		String traceId = span.getTraceId();
+		int traceIdOffset = traceIdOffset(traceId);
+		int traceIdSize = (traceId.length() - traceIdOffset) / 2;
+		boolean hasParent = span.getParentSpanContext().isValid();
+		int kind = kindNumber(span.getKind());
+		String name = name(span);
+		long timestamp = micros(span.getStartEpochNanos());
+		long duration = micros(span.getEndEpochNanos()) - timestamp;
+		String remoteServiceName = remoteServiceName(span);
+		List<EventData> events = span.getEvents();
+		List<String> tags = buffer.tags;
+		tags.clear();
+		collectTags(span, tags);
+
+		int localEndpointSize = endpointSize(localEndpoint.serviceName, localEndpoint.ipBytes);
+		int size = fieldSize(traceIdSize) + (hasParent ? fieldSize(SPAN_ID_SIZE) : 0) + fieldSize(SPAN_ID_SIZE)
+				+ (kind != 0 ? 2 : 0) + stringFieldSize(name) + (timestamp != 0 ? 9 : 0)
+				+ (duration > 0 ? 1 + EncodingBuffer.varintSize(duration) : 0) + fieldSize(localEndpointSize);
+		if (remoteServiceName != null) {
+			size += fieldSize(endpointSize(remoteServiceName, null));
+		}
+		for (EventData event : events) {
+			size += fieldSize(annotationSize(event));
+		}
+		for (int i = 0; i < tags.size(); i += 2) {
+			size += fieldSize(tagSize(tags.get(i), tags.get(i + 1)));
+		}
+
+		buffer.writeByte(LIST_OF_SPANS_SPAN);
+		buffer.writeVarint(size);
+		buffer.writeByte(TRACE_ID);
+		buffer.writeVarint(traceIdSize);
+		buffer.writeHexAsBytes(traceId, traceIdOffset, traceId.length());
+		if (hasParent) {
+			writeSpanId(PARENT_ID, span.getParentSpanId(), buffer);
+		}
+		writeSpanId(ID, span.getSpanId(), buffer);
+		if (kind != 0) {
+			buffer.writeByte(KIND);
+			buffer.writeByte(kind);
+		}
+		writeString(NAME, name, buffer);
+		if (timestamp != 0) {
+			buffer.writeByte(TIMESTAMP);
+			buffer.writeFixed64(timestamp);
+		}
+		if (duration > 0) {
+			buffer.writeByte(DURATION);
+			buffer.writeVarint(duration);
+		}
+		writeEndpoint(LOCAL_ENDPOINT, localEndpointSize, localEndpoint.serviceName, localEndpoint.ipBytes, buffer);
+		if (remoteServiceName != null) {
+			writeEndpoint(REMOTE_ENDPOINT, endpointSize(remoteServiceName, null), remoteServiceName, null, buffer);
+		}
+		for (EventData event : events) {
+			buffer.writeByte(ANNOTATION);
+			buffer.writeVarint(annotationSize(event));
+			long eventTimestamp = micros(event.getEpochNanos());
+			if (eventTimestamp != 0) {
+				buffer.writeByte(ANNOTATION_TIMESTAMP);
+				buffer.writeFixed64(eventTimestamp);
+			}
+			writeString(ANNOTATION_VALUE, event.getName(), buffer);
+		}
+		for (int i = 0; i < tags.size(); i += 2) {
+			buffer.writeByte(TAG);
+			buffer.writeVarint(tagSize(tags.get(i), tags.get(i + 1)));
+			writeString(MAP_KEY, tags.get(i), buffer);
+			writeString(MAP_VALUE, tags.get(i + 1), buffer);
+		}
+	}
+
+	private static int kindNumber(SpanKind kind) {
+		switch (kind) {
+		case CLIENT:
+			return 1;
+		case SERVER:
+			return 2;
+		case PRODUCER:
+			return 3;
+		case CONSUMER:
+			return 4;
+		default:
+			return 0;
+		}
+	}
+
+	// size of a length delimited field with the given value size
+	private static int fieldSize(int valueSize) {
+		return 1 + EncodingBuffer.varintSize(valueSize) + valueSize;
+	}
+
+	private static int stringFieldSize(String value) {
+		return value.isEmpty() ? 0 : fieldSize(EncodingBuffer.utf8Size(value));
+	}
+
+	private static int endpointSize(String serviceName, @Nullable byte[] ipBytes) {
+		return stringFieldSize(serviceName) + (ipBytes != null ? fieldSize(ipBytes.length) : 0);
+	}
+
+	private static int annotationSize(EventData event) {
+		return (micros(event.getEpochNanos()) != 0 ? 9 : 0) + stringFieldSize(event.getName());
+	}
+
+	private static int tagSize(String key, String value) {
+		return stringFieldSize(key) + stringFieldSize(value);
+	}
+
+	private static void writeSpanId(int key, String spanId, EncodingBuffer buffer) {
+		buffer.writeByte(key);
+		buffer.writeVarint(SPAN_ID_SIZE);
+		buffer.writeHexAsBytes(spanId, 0, spanId.length());
+	}
+
+	private static void writeString(int key, String value, EncodingBuffer buffer) {
+		if (value.isEmpty()) {
+			return;
+		}
+		buffer.writeByte(key);
+		buffer.writeVarint(EncodingBuffer.utf8Size(value));
+		buffer.writeUtf8(value);
+	}
+
+	private static void writeEndpoint(int key, int size, String serviceName, @Nullable byte[] ipBytes,
+			EncodingBuffer buffer) {
+		buffer.writeByte(key);
+		buffer.writeVarint(size);
+		writeString(ENDPOINT_SERVICE_NAME, serviceName, buffer);
+		if (ipBytes != null) {
+			buffer.writeByte(ipBytes.length == 16 ? ENDPOINT_IPV6 : ENDPOINT_IPV4);
+			buffer.writeVarint(ipBytes.length);
+			buffer.writeBytes(ipBytes);
+		}
+	}
+
+}
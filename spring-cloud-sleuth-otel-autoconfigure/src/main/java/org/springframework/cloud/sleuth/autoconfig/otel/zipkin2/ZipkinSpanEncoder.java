@@ -0,0 +1,216 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.zipkin2;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import io.opentelemetry.semconv.resource.attributes.ResourceAttributes;
+import zipkin2.codec.Encoding;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Encodes {@link SpanData} straight into an {@link EncodingBuffer}, without creating
+ * intermediate zipkin spans. Spans are mapped the same way as the OpenTelemetry
+ * {@code ZipkinSpanExporter} does.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+abstract class ZipkinSpanEncoder {
+
+	static final String OTEL_STATUS_CODE = "otel.status_code";
+
+	static final String OTEL_LIBRARY_NAME = "otel.library.name";
+
+	static final String OTEL_LIBRARY_VERSION = "otel.library.version";
+
+	static final AttributeKey<String> ERROR = AttributeKey.stringKey("error");
+
+	static final AttributeKey<String> PEER_SERVICE = AttributeKey.stringKey("peer.service");
+
+	private static final String DEFAULT_SERVICE_NAME = Resource.getDefault().getAttributes()
+			.get(ResourceAttributes.SERVICE_NAME);
+
+	// 64 bit trace ids are sent without the zero padding
+	private static final String TRACE_ID_PADDING = "0000000000000000";
+
+	static ZipkinSpanEncoder forEncoding(Encoding encoding) {
+		switch (encoding) {
+		case JSON:
+			return new ZipkinJsonSpanEncoder();
+		case PROTO3:
+			return new ZipkinProto3SpanEncoder();
+		default:
+			throw new IllegalArgumentException("Encoding [" + encoding + "] is not supported");
+		}
+	}
+
+	/**
+	 * Appends the span to the buffer, as an element of the message the sender will
+	 * send.
+	 * @param span span to encode
+	 * @param first whether it's the first span of the message
+	 * @param localEndpoint endpoint of this application
+	 * @param buffer buffer to write to
+	 */
+	abstract void encode(SpanData span, boolean first, LocalEndpoint localEndpoint, EncodingBuffer buffer);
+
+	static int traceIdOffset(String traceId) {
+		return traceId.startsWith(TRACE_ID_PADDING) ? TRACE_ID_PADDING.length() : 0;
+	}
+
+	@Nullable
+	static String kind(SpanKind kind) {
+		switch (kind) {
+		case CLIENT:
+		case SERVER:
+		case PRODUCER:
+		case CONSUMER:
+			return kind.name();
+		default:
+			return null;
+		}
+	}
+
+	static String name(SpanData span) {
+		return span.getName().toLowerCase(Locale.ROOT);
+	}
+
+	static long micros(long epochNanos) {
+		return TimeUnit.NANOSECONDS.toMicros(epochNanos);
+	}
+
+	@Nullable
+	static String remoteServiceName(SpanData span) {
+		if (span.getKind() != SpanKind.CLIENT && span.getKind() != SpanKind.PRODUCER) {
+			return null;
+		}
+		String serviceName = span.getAttributes().get(PEER_SERVICE);
+		return serviceName != null ? serviceName.toLowerCase(Locale.ROOT) : null;
+	}
+
+	/**
+	 * Adds keys and values of the zipkin tags of the span to the given list.
+	 */
+	static void collectTags(SpanData span, List<String> tags) {
+		span.getAttributes().forEach((key, value) -> {
+			tags.add(key.getKey());
+			tags.add(valueToString(value));
+		});
+		StatusData status = span.getStatus();
+		if (status.getStatusCode() != StatusCode.UNSET) {
+			tags.add(OTEL_STATUS_CODE);
+			tags.add(status.getStatusCode().name());
+			if (status.getStatusCode() == StatusCode.ERROR && span.getAttributes().get(ERROR) == null) {
+				tags.add(ERROR.getKey());
+				tags.add(status.getDescription() != null ? status.getDescription() : "");
+			}
+		}
+		InstrumentationLibraryInfo library = span.getInstrumentationLibraryInfo();
+		if (!library.getName().isEmpty()) {
+			tags.add(OTEL_LIBRARY_NAME);
+			tags.add(library.getName());
+		}
+		if (library.getVersion() != null) {
+			tags.add(OTEL_LIBRARY_VERSION);
+			tags.add(library.getVersion());
+		}
+	}
+
+	private static String valueToString(Object value) {
+		if (value instanceof String) {
+			return (String) value;
+		}
+		if (value instanceof List) {
+			StringBuilder builder = new StringBuilder();
+			for (Object element : (List<?>) value) {
+				if (builder.length() > 0) {
+					builder.append(',');
+				}
+				builder.append(element);
+			}
+			return builder.toString();
+		}
+		return String.valueOf(value);
+	}
+
+	/**
+	 * Service name and address of this application, resolved once per resource and
+	 * address.
+	 */
+	static final class LocalEndpoint {
+
+		final Resource resource;
+
+		@Nullable
+		final String resolvedIp;
+
+		final String serviceName;
+
+		// address without the IPv6 scope
+		@Nullable
+		final String ip;
+
+		@Nullable
+		final byte[] ipBytes;
+
+		LocalEndpoint(Resource resource, @Nullable String resolvedIp) {
+			this.resource = resource;
+			this.resolvedIp = resolvedIp;
+			String serviceName = resource.getAttributes().get(ResourceAttributes.SERVICE_NAME);
+			this.serviceName = (serviceName != null ? serviceName : DEFAULT_SERVICE_NAME).toLowerCase(Locale.ROOT);
+			this.ip = resolvedIp != null && resolvedIp.indexOf('%') > 0
+					? resolvedIp.substring(0, resolvedIp.indexOf('%')) : resolvedIp;
+			this.ipBytes = ipBytes(this.ip);
+		}
+
+		boolean matches(Resource resource, @Nullable String resolvedIp) {
+			return this.resource == resource && this.resolvedIp == resolvedIp;
+		}
+
+		boolean isIpv6() {
+			return this.ipBytes != null && this.ipBytes.length == 16;
+		}
+
+		@Nullable
+		private static byte[] ipBytes(@Nullable String ip) {
+			if (ip == null) {
+				return null;
+			}
+			try {
+				// a literal address doesn't trigger a lookup
+				return InetAddress.getByName(ip).getAddress();
+			}
+			catch (Exception ex) {
+				return null;
+			}
+		}
+
+	}
+
+}
@@ -16,13 +16,31 @@
 
 package org.springframework.cloud.sleuth.autoconfig.otel;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.exporter.jaeger.JaegerGrpcSpanExporter;
 import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
 import org.assertj.core.api.BDDAssertions;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.test.context.FilteredClassLoader;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.sleuth.otel.bridge.SpanProcessorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
 class OtelExporterConfigurationTests {
 
@@ -53,4 +71,160 @@ class OtelExporterConfigurationTests {
 				.hasSingleBean(JaegerGrpcSpanExporter.class));
 	}
 
+	@Test
+	void should_wrap_exporters_in_a_batch_span_processor_by_default() {
+		processorRunner().run(context -> {
+			List<SpanProcessor> processors = context.getBean(RecordingSpanProcessorCustomizer.class).processors;
+
+			BDDAssertions.then(processors).hasAtLeastOneElementOfType(TrackedBatchSpanProcessor.class)
+					.noneMatch(SimpleSpanProcessor.class::isInstance);
+		});
+	}
+
+	@Test
+	void should_wrap_exporters_in_a_simple_span_processor_when_configured() {
+		processorRunner().withPropertyValues("spring.sleuth.otel.exporter.processor.type=simple").run(context -> {
+			List<SpanProcessor> processors = context.getBean(RecordingSpanProcessorCustomizer.class).processors;
+
+			BDDAssertions.then(processors).hasAtLeastOneElementOfType(SimpleSpanProcessor.class)
+					.noneMatch(TrackedBatchSpanProcessor.class::isInstance);
+		});
+	}
+
+	@Test
+	void should_export_batches_of_the_configured_size() {
+		// the delay is long enough for batches to be exported only once they're full
+		processorRunner().withPropertyValues("spring.sleuth.otel.exporter.processor.max-export-batch-size=2",
+				"spring.sleuth.otel.exporter.processor.schedule-delay=60000").run(context -> {
+					Tracer tracer = context.getBean(Tracer.class);
+					ControllableSpanExporter exporter = context.getBean(ControllableSpanExporter.class);
+
+					for (int i = 0; i < 4; i++) {
+						tracer.spanBuilder("span-" + i).startSpan().end();
+					}
+
+					BDDAssertions.then(exporter.awaitExports(2)).isTrue();
+					BDDAssertions.then(exporter.batches).extracting(List::size).containsExactly(2, 2);
+				});
+	}
+
+	@Test
+	void should_drop_spans_once_the_configured_queue_is_full() {
+		processorRunner().withPropertyValues("spring.sleuth.otel.exporter.processor.max-queue-size=1",
+				"spring.sleuth.otel.exporter.processor.max-export-batch-size=1").run(context -> {
+					Tracer tracer = context.getBean(Tracer.class);
+					ControllableSpanExporter exporter = context.getBean(ControllableSpanExporter.class);
+					exporter.release = new CountDownLatch(1);
+
+					tracer.spanBuilder("exporting").startSpan().end();
+					BDDAssertions.then(exporter.awaitExports(1)).isTrue();
+					// the worker is stuck exporting, only one of these fits into the queue
+					for (int i = 0; i < 5; i++) {
+						tracer.spanBuilder("queued-" + i).startSpan().end();
+					}
+					exporter.release.countDown();
+					context.getBean(SdkTracerProvider.class).forceFlush().join(5, TimeUnit.SECONDS);
+
+					BDDAssertions.then(exporter.exported()).containsExactly("exporting", "queued-0");
+				});
+	}
+
+	@Test
+	void should_stop_waiting_for_an_export_after_the_configured_timeout() {
+		processorRunner().withPropertyValues("spring.sleuth.otel.exporter.processor.max-export-batch-size=1",
+				"spring.sleuth.otel.exporter.processor.exporter-timeout=100").run(context -> {
+					Tracer tracer = context.getBean(Tracer.class);
+					ControllableSpanExporter exporter = context.getBean(ControllableSpanExporter.class);
+					exporter.complete = false;
+
+					tracer.spanBuilder("never-completes").startSpan().end();
+					tracer.spanBuilder("next").startSpan().end();
+
+					// would take the default 30 seconds otherwise
+					BDDAssertions.then(exporter.awaitExports(2)).isTrue();
+				});
+	}
+
+	private ApplicationContextRunner processorRunner() {
+		return new ApplicationContextRunner().withUserConfiguration(ProcessorConfig.class)
+				.withPropertyValues("spring.sleuth.otel.config.trace-id-ratio-based=1.0");
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableAutoConfiguration
+	static class ProcessorConfig {
+
+		@Bean
+		ControllableSpanExporter controllableSpanExporter() {
+			return new ControllableSpanExporter();
+		}
+
+		@Bean
+		RecordingSpanProcessorCustomizer recordingSpanProcessorCustomizer() {
+			return new RecordingSpanProcessorCustomizer();
+		}
+
+	}
+
+	static class ControllableSpanExporter implements SpanExporter {
+
+		final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+		private final CountDownLatch[] exports = { new CountDownLatch(1), new CountDownLatch(2) };
+
+		volatile CountDownLatch release = new CountDownLatch(0);
+
+		volatile boolean complete = true;
+
+		@Override
+		public CompletableResultCode export(Collection<SpanData> spans) {
+			List<String> names = new ArrayList<>();
+			spans.forEach(span -> names.add(span.getName()));
+			this.batches.add(names);
+			for (CountDownLatch latch : this.exports) {
+				latch.countDown();
+			}
+			try {
+				this.release.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return this.complete ? CompletableResultCode.ofSuccess() : new CompletableResultCode();
+		}
+
+		boolean awaitExports(int count) throws InterruptedException {
+			return this.exports[count - 1].await(5, TimeUnit.SECONDS);
+		}
+
+		List<String> exported() {
+			List<String> exported = new ArrayList<>();
+			this.batches.forEach(exported::addAll);
+			return exported;
+		}
+
+		@Override
+		public CompletableResultCode flush() {
+			return CompletableResultCode.ofSuccess();
+		}
+
+		@Override
+		public CompletableResultCode shutdown() {
+			return CompletableResultCode.ofSuccess();
+		}
+
+	}
+
+	static class RecordingSpanProcessorCustomizer implements SpanProcessorCustomizer {
+
+		final List<SpanProcessor> processors = new CopyOnWriteArrayList<>();
+
+		@Override
+		public SpanProcessor customize(SpanProcessor spanProcessor) {
+			this.processors.add(spanProcessor);
+			return spanProcessor;
+		}
+
+	}
+
 }
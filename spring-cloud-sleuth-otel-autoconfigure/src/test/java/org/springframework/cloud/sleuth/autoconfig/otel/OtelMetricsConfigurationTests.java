@@ -0,0 +1,175 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.sleuth.exporter.FinishedSpan;
+import org.springframework.cloud.sleuth.exporter.SpanFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OtelMetricsConfigurationTests {
+
+	ApplicationContextRunner runner = new ApplicationContextRunner().withUserConfiguration(Config.class)
+			.withPropertyValues("spring.sleuth.otel.config.trace-id-ratio-based=1.0");
+
+	@Test
+	void should_not_record_metrics_by_default() {
+		this.runner.run(context -> {
+			assertThat(context).hasNotFailed();
+			assertThat(context.getBean(Sampler.class)).isNotInstanceOf(MeteredSampler.class);
+		});
+	}
+
+	@Test
+	void should_record_sampler_and_processor_metrics_when_enabled() {
+		this.runner.withPropertyValues("spring.sleuth.otel.metrics.enabled=true").run(context -> {
+			context.getBean(Tracer.class).spanBuilder("span").startSpan().end();
+
+			MeterRegistry registry = context.getBean(MeterRegistry.class);
+			assertThat(registry.get("sleuth.otel.sampler.decisions").tag("decision", "record_and_sample").counter()
+					.count()).isEqualTo(1);
+			assertThat(registry.get("sleuth.otel.processor.spans.ended").tag("sampled", "true").counters())
+					.isNotEmpty().allSatisfy(counter -> assertThat(counter.count()).isEqualTo(1));
+		});
+	}
+
+	@Test
+	void should_record_exporter_metrics_when_enabled() {
+		this.runner.withUserConfiguration(ExporterConfig.class)
+				.withPropertyValues("spring.sleuth.otel.metrics.enabled=true",
+						"spring.sleuth.otel.exporter.processor.type=simple")
+				.run(context -> {
+					Tracer tracer = context.getBean(Tracer.class);
+					tracer.spanBuilder("exported").startSpan().end();
+					tracer.spanBuilder("filtered").startSpan().end();
+
+					MeterRegistry registry = context.getBean(MeterRegistry.class);
+					assertThat(context.getBean(RecordingSpanExporter.class).exported()).containsExactly("exported");
+					assertThat(registry.get("sleuth.otel.exporter.spans").tag("exporter", "recordingSpanExporter")
+							.tag("result", "success").counter().count()).isEqualTo(1);
+					assertThat(registry.get("sleuth.otel.exporter.spans").tag("exporter", "recordingSpanExporter")
+							.tag("result", "failure").counter().count()).isZero();
+					assertThat(registry.get("sleuth.otel.exporter.export").tag("exporter", "recordingSpanExporter")
+							.tag("result", "success").timer().count()).isEqualTo(2);
+					assertThat(registry.get("sleuth.otel.exporter.spans.filtered")
+							.tag("exporter", "recordingSpanExporter").tag("filter", DropFilteredSpans.class.getName())
+							.functionCounter().count()).isEqualTo(1);
+				});
+	}
+
+	@Test
+	void should_record_batch_processor_queue_when_enabled() {
+		this.runner.withUserConfiguration(ExporterConfig.class)
+				.withPropertyValues("spring.sleuth.otel.metrics.enabled=true",
+						"spring.sleuth.otel.exporter.processor.schedule-delay=60000")
+				.run(context -> {
+					Tracer tracer = context.getBean(Tracer.class);
+					tracer.spanBuilder("first").startSpan().end();
+					tracer.spanBuilder("second").startSpan().end();
+
+					MeterRegistry registry = context.getBean(MeterRegistry.class);
+					assertThat(registry.get("sleuth.otel.processor.queue").tag("processor", "BatchSpanProcessor")
+							.tag("exporter", "recordingSpanExporter").gauge().value()).isEqualTo(2);
+					context.getBean(SdkTracerProvider.class).forceFlush().join(5, TimeUnit.SECONDS);
+					assertThat(registry.get("sleuth.otel.processor.queue").tag("processor", "BatchSpanProcessor")
+							.tag("exporter", "recordingSpanExporter").gauge().value()).isZero();
+					assertThat(registry.get("sleuth.otel.processor.spans.dropped")
+							.tag("processor", "BatchSpanProcessor").tag("exporter", "recordingSpanExporter")
+							.functionCounter().count()).isZero();
+				});
+	}
+
+	@Test
+	void should_tag_exporter_metrics_with_the_bean_name() {
+		this.runner.withUserConfiguration(TwoExportersConfig.class)
+				.withPropertyValues("spring.sleuth.otel.metrics.enabled=true",
+						"spring.sleuth.otel.exporter.processor.type=simple")
+				.run(context -> {
+					context.getBean(Tracer.class).spanBuilder("exported").startSpan().end();
+
+					MeterRegistry registry = context.getBean(MeterRegistry.class);
+					assertThat(registry.get("sleuth.otel.exporter.spans").tag("exporter", "firstSpanExporter")
+							.tag("result", "success").counter().count()).isEqualTo(1);
+					assertThat(registry.get("sleuth.otel.exporter.spans").tag("exporter", "secondSpanExporter")
+							.tag("result", "success").counter().count()).isEqualTo(1);
+				});
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableAutoConfiguration
+	static class Config {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class ExporterConfig {
+
+		@Bean
+		RecordingSpanExporter recordingSpanExporter() {
+			return new RecordingSpanExporter();
+		}
+
+		@Bean
+		SpanFilter dropFilteredSpans() {
+			return new DropFilteredSpans();
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class TwoExportersConfig {
+
+		@Bean
+		RecordingSpanExporter firstSpanExporter() {
+			return new RecordingSpanExporter();
+		}
+
+		@Bean
+		RecordingSpanExporter secondSpanExporter() {
+			return new RecordingSpanExporter();
+		}
+
+	}
+
+	static class DropFilteredSpans implements SpanFilter {
+
+		@Override
+		public boolean isExportable(FinishedSpan span) {
+			return !"filtered".equals(span.getName());
+		}
+
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.sleuth.otel.bridge.SpanProcessorCustomizer;
+import org.springframework.cloud.sleuth.otel.bridge.TailSamplingPolicy;
+import org.springframework.cloud.sleuth.otel.bridge.TailSamplingSpanProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OtelTailSamplingTests {
+
+	ApplicationContextRunner runner = new ApplicationContextRunner().withUserConfiguration(Config.class)
+			.withPropertyValues("spring.sleuth.otel.config.trace-id-ratio-based=1.0",
+					"spring.sleuth.otel.exporter.processor.type=simple");
+
+	@Test
+	void should_not_buffer_spans_by_default() {
+		this.runner.run(context -> {
+			context.getBean(Tracer.class).spanBuilder("span").startSpan().end();
+
+			assertThat(context.getBean(RecordingSpanProcessorCustomizer.class).processors)
+					.noneMatch(TailSamplingSpanProcessor.class::isInstance);
+			assertThat(context.getBean("first", RecordingSpanExporter.class).exported()).containsExactly("span");
+		});
+	}
+
+	@Test
+	void should_wrap_the_exporter_processors_in_a_single_tail_sampling_processor() {
+		this.runner.withPropertyValues("spring.sleuth.otel.config.tail-sampling.enabled=true").run(context -> {
+			Tracer tracer = context.getBean(Tracer.class);
+			Span error = tracer.spanBuilder("error").startSpan();
+			error.setStatus(StatusCode.ERROR);
+			error.end();
+			tracer.spanBuilder("exception").startSpan().recordException(new IllegalStateException()).end();
+
+			assertThat(context.getBean(RecordingSpanProcessorCustomizer.class).processors)
+					.filteredOn(TailSamplingSpanProcessor.class::isInstance).hasSize(1);
+			assertThat(context.getBean("first", RecordingSpanExporter.class).exported()).isEmpty();
+
+			context.getBean(SdkTracerProvider.class).forceFlush().join(1, TimeUnit.SECONDS);
+
+			assertThat(context.getBean("first", RecordingSpanExporter.class).exported())
+					.containsExactlyInAnyOrder("error", "exception");
+			assertThat(context.getBean("second", RecordingSpanExporter.class).exported())
+					.containsExactlyInAnyOrder("error", "exception");
+		});
+	}
+
+	@Test
+	void should_apply_policy_beans_after_the_configured_policies_and_before_the_probability() {
+		this.runner.withUserConfiguration(PolicyConfig.class)
+				.withPropertyValues("spring.sleuth.otel.config.tail-sampling.enabled=true",
+						"spring.sleuth.otel.config.tail-sampling.probability=1.0",
+						"spring.sleuth.otel.config.tail-sampling.attributes.tenant=gold")
+				.run(context -> {
+					Tracer tracer = context.getBean(Tracer.class);
+					tracer.spanBuilder("gold").setAttribute("tenant", "gold").startSpan().end();
+					tracer.spanBuilder("other").startSpan().end();
+
+					context.getBean(SdkTracerProvider.class).forceFlush().join(1, TimeUnit.SECONDS);
+
+					// the attribute policy keeps "gold" before the bean gets called, the
+					// probability keeps "other" after it
+					assertThat(context.getBean(RecordingPolicy.class).decided).containsExactly("other");
+					assertThat(context.getBean("first", RecordingSpanExporter.class).exported())
+							.containsExactlyInAnyOrder("gold", "other");
+				});
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableAutoConfiguration
+	static class Config {
+
+		@Bean
+		RecordingSpanExporter first() {
+			return new RecordingSpanExporter();
+		}
+
+		@Bean
+		RecordingSpanExporter second() {
+			return new RecordingSpanExporter();
+		}
+
+		@Bean
+		RecordingSpanProcessorCustomizer recordingSpanProcessorCustomizer() {
+			return new RecordingSpanProcessorCustomizer();
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class PolicyConfig {
+
+		@Bean
+		RecordingPolicy recordingPolicy() {
+			return new RecordingPolicy();
+		}
+
+	}
+
+	static class RecordingSpanProcessorCustomizer implements SpanProcessorCustomizer {
+
+		final List<SpanProcessor> processors = new CopyOnWriteArrayList<>();
+
+		@Override
+		public SpanProcessor customize(SpanProcessor spanProcessor) {
+			this.processors.add(spanProcessor);
+			return spanProcessor;
+		}
+
+	}
+
+	static class RecordingPolicy implements TailSamplingPolicy {
+
+		final List<String> decided = new CopyOnWriteArrayList<>();
+
+		@Override
+		public boolean shouldSample(List<SpanData> spans) {
+			spans.forEach(span -> this.decided.add(span.getName()));
+			return false;
+		}
+
+	}
+
+}
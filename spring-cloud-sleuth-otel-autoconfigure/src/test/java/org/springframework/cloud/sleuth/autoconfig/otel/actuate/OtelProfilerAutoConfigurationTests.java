@@ -0,0 +1,140 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.actuate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Tracer;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.sleuth.autoconfig.otel.RecordingSpanExporter;
+import org.springframework.cloud.sleuth.exporter.FinishedSpan;
+import org.springframework.cloud.sleuth.exporter.SpanFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OtelProfilerAutoConfigurationTests {
+
+	ApplicationContextRunner runner = new ApplicationContextRunner().withUserConfiguration(Config.class)
+			.withPropertyValues("spring.sleuth.otel.config.trace-id-ratio-based=1.0",
+					"spring.sleuth.otel.exporter.processor.type=simple", "spring.sleuth.otel.profiler.enabled=true",
+					"spring.sleuth.otel.profiler.recording=true",
+					"management.endpoints.web.exposure.include=tracingprofile");
+
+	@Test
+	void should_name_stages_after_beans() {
+		this.runner.run(context -> {
+			exportSpans(context.getBean(Tracer.class));
+
+			SpanPipelineProfiler profiler = context.getBean(SpanPipelineProfiler.class);
+			assertThat(profiler.stages()).containsKeys("exporter:recordingSpanExporter", "filter:dropFilteredSpans",
+					"filter:dropDroppedSpans", "processor:SimpleSpanProcessor.onEnd");
+			assertThat(profiler.stages().get("filter:dropFilteredSpans").count()).isPositive();
+			assertThat(profiler.stages().get("filter:dropDroppedSpans").count()).isPositive();
+			assertThat(profiler.stages().get("exporter:recordingSpanExporter").count()).isEqualTo(3);
+		});
+	}
+
+	@Test
+	void should_keep_metric_tags_of_the_profiled_components_when_metrics_are_enabled() {
+		this.runner.withPropertyValues("spring.sleuth.otel.metrics.enabled=true").run(context -> {
+			exportSpans(context.getBean(Tracer.class));
+
+			MeterRegistry registry = context.getBean(MeterRegistry.class);
+			assertThat(context.getBean(RecordingSpanExporter.class).exported()).containsExactly("exported");
+			assertThat(registry.get("sleuth.otel.exporter.spans").tag("exporter", "recordingSpanExporter")
+					.tag("result", "success").counter().count()).isEqualTo(1);
+			assertThat(registry.get("sleuth.otel.exporter.spans.filtered").tag("exporter", "recordingSpanExporter")
+					.tag("filter", DropFilteredSpans.class.getName()).functionCounter().count()).isEqualTo(1);
+			assertThat(registry.get("sleuth.otel.exporter.spans.filtered").tag("exporter", "recordingSpanExporter")
+					.tag("filter", DropDroppedSpans.class.getName()).functionCounter().count()).isEqualTo(1);
+			assertThat(registry.get("sleuth.otel.processor.spans.ended").tag("processor", "SimpleSpanProcessor")
+					.tag("sampled", "true").counter().count()).isEqualTo(3);
+
+			SpanPipelineProfiler profiler = context.getBean(SpanPipelineProfiler.class);
+			assertThat(profiler.stages()).containsKeys("exporter:recordingSpanExporter", "filter:dropFilteredSpans",
+					"filter:dropDroppedSpans", "processor:SimpleSpanProcessor.onEnd");
+			assertThat(profiler.stages().get("exporter:recordingSpanExporter").count()).isEqualTo(3);
+		});
+	}
+
+	@Test
+	void should_not_share_stages_between_components_of_the_same_class() {
+		SpanPipelineProfiler profiler = new SpanPipelineProfiler(false);
+
+		String first = profiler.stageName("filter", new DropFilteredSpans(), null);
+		String second = profiler.stageName("filter", new DropFilteredSpans(), null);
+
+		assertThat(first).isEqualTo("filter:DropFilteredSpans");
+		assertThat(second).isEqualTo("filter:DropFilteredSpans#2");
+	}
+
+	private void exportSpans(Tracer tracer) {
+		tracer.spanBuilder("exported").startSpan().end();
+		tracer.spanBuilder("filtered").startSpan().end();
+		tracer.spanBuilder("dropped").startSpan().end();
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableAutoConfiguration
+	static class Config {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		RecordingSpanExporter recordingSpanExporter() {
+			return new RecordingSpanExporter();
+		}
+
+		@Bean
+		SpanFilter dropFilteredSpans() {
+			return new DropFilteredSpans();
+		}
+
+		@Bean
+		SpanFilter dropDroppedSpans() {
+			return new DropDroppedSpans();
+		}
+
+	}
+
+	static class DropFilteredSpans implements SpanFilter {
+
+		@Override
+		public boolean isExportable(FinishedSpan span) {
+			return !"filtered".equals(span.getName());
+		}
+
+	}
+
+	static class DropDroppedSpans implements SpanFilter {
+
+		@Override
+		public boolean isExportable(FinishedSpan span) {
+			return !"dropped".equals(span.getName());
+		}
+
+	}
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.actuate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpanPipelineProfilerEndpointTests {
+
+	SpanPipelineProfiler profiler = new SpanPipelineProfiler(false);
+
+	SpanPipelineProfilerEndpoint endpoint = new SpanPipelineProfilerEndpoint(this.profiler);
+
+	@Test
+	void should_not_record_when_switched_off() {
+		ProfiledSpanFilter filter = new ProfiledSpanFilter(span -> true, this.profiler);
+
+		filter.isExportable(null);
+
+		assertThat(this.endpoint.profile().isRecording()).isFalse();
+		assertThat(this.endpoint.profile().getStages().values())
+				.allSatisfy(stage -> assertThat(stage.getCount()).isZero());
+	}
+
+	@Test
+	void should_record_stage_latencies_when_switched_on() {
+		ProfiledSpanFilter filter = new ProfiledSpanFilter(span -> true, this.profiler);
+
+		this.endpoint.record(true);
+		filter.isExportable(null);
+		filter.isExportable(null);
+
+		SpanPipelineProfilerEndpoint.ProfileDescriptor profile = this.endpoint.profile();
+		assertThat(profile.isRecording()).isTrue();
+		assertThat(profile.getStages()).hasSize(1);
+		SpanPipelineProfilerEndpoint.StageDescriptor stage = profile.getStages().values().iterator().next();
+		assertThat(stage.getCount()).isEqualTo(2);
+		assertThat(stage.getP50()).isLessThanOrEqualTo(stage.getP99()).isLessThanOrEqualTo(stage.getMax());
+		assertThat(stage.getThroughput()).isPositive();
+	}
+
+	@Test
+	void should_report_percentiles_within_bucket_precision() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+
+		assertThat(histogram.count()).isEqualTo(1000);
+		assertThat(histogram.max()).isEqualTo(1_000_000L);
+		assertThat(histogram.percentile(0.5)).isBetween(500_000L, 562_500L);
+		assertThat(histogram.percentile(0.99)).isBetween(990_000L, 1_000_000L);
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.wavefront;
+
+import com.wavefront.spring.autoconfigure.WavefrontSleuthSpanHandler;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.cloud.sleuth.TraceContext;
+import org.springframework.cloud.sleuth.exporter.FinishedSpan;
+import org.springframework.cloud.sleuth.otel.bridge.ArrayListSpanProcessor;
+import org.springframework.cloud.sleuth.otel.bridge.LocalIpResolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+class WavefrontSpanExporterTests {
+
+	ArrayListSpanProcessor processor = new ArrayListSpanProcessor();
+
+	Tracer tracer = SdkTracerProvider.builder().addSpanProcessor(this.processor).build().get("test");
+
+	WavefrontSleuthSpanHandler spanHandler = mock(WavefrontSleuthSpanHandler.class);
+
+	WavefrontSpanExporter exporter = new WavefrontSpanExporter(this.spanHandler, LocalIpResolver.getDefault());
+
+	@Test
+	void should_hand_each_span_of_the_batch_over_to_the_handler() {
+		Span parent = this.tracer.spanBuilder("parent").startSpan();
+		Span child = this.tracer.spanBuilder("child").setParent(Context.current().with(parent)).startSpan();
+		child.end();
+		parent.end();
+
+		CompletableResultCode result = this.exporter.export(this.processor.spans());
+
+		assertThat(result.isSuccess()).isTrue();
+		ArgumentCaptor<TraceContext> traceContexts = ArgumentCaptor.forClass(TraceContext.class);
+		ArgumentCaptor<FinishedSpan> finishedSpans = ArgumentCaptor.forClass(FinishedSpan.class);
+		then(this.spanHandler).should(times(2)).end(traceContexts.capture(), finishedSpans.capture());
+		assertThat(finishedSpans.getAllValues()).extracting(FinishedSpan::getName).containsExactly("child", "parent");
+		TraceContext childContext = traceContexts.getAllValues().get(0);
+		assertThat(childContext.traceId()).isEqualTo(child.getSpanContext().getTraceId());
+		assertThat(childContext.spanId()).isEqualTo(child.getSpanContext().getSpanId());
+		assertThat(childContext.parentId()).isEqualTo(parent.getSpanContext().getSpanId());
+		assertThat(childContext.sampled()).isTrue();
+		assertThat(this.exporter.getExportedSpans()).isEqualTo(2);
+		assertThat(this.exporter.getFailedSpans()).isZero();
+	}
+
+	@Test
+	void should_fail_the_export_when_the_handler_throws() {
+		this.tracer.spanBuilder("first").startSpan().end();
+		this.tracer.spanBuilder("second").startSpan().end();
+		this.tracer.spanBuilder("third").startSpan().end();
+		willAnswer(Answers.RETURNS_DEFAULTS).willThrow(new IllegalStateException("boom")).given(this.spanHandler)
+				.end(any(), any());
+
+		CompletableResultCode result = this.exporter.export(this.processor.spans());
+
+		assertThat(result.isSuccess()).isFalse();
+		assertThat(this.exporter.getExportedSpans()).isEqualTo(1);
+		assertThat(this.exporter.getFailedSpans()).isEqualTo(2);
+	}
+
+	@Test
+	void should_close_the_handler_on_shutdown() {
+		assertThat(this.exporter.shutdown().isSuccess()).isTrue();
+
+		then(this.spanHandler).should().close();
+	}
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.autoconfig.otel.zipkin2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.exporter.zipkin.ZipkinSpanExporter;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.semconv.resource.attributes.ResourceAttributes;
+import org.junit.jupiter.api.Test;
+import zipkin2.Call;
+import zipkin2.codec.Encoding;
+import zipkin2.codec.SpanBytesDecoder;
+import zipkin2.reporter.BytesMessageEncoder;
+import zipkin2.reporter.Sender;
+
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.sleuth.otel.bridge.ArrayListSpanProcessor;
+import org.springframework.cloud.sleuth.otel.bridge.LocalIpResolver;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PooledZipkinSpanExporterTests {
+
+	ArrayListSpanProcessor processor = new ArrayListSpanProcessor();
+
+	Tracer tracer = SdkTracerProvider.builder().addSpanProcessor(this.processor)
+			.setResource(Resource.create(Attributes.of(ResourceAttributes.SERVICE_NAME, "Test-Service"))).build()
+			.get("test");
+
+	@Test
+	void should_encode_spans_as_json() {
+		should_encode_spans(Encoding.JSON, SpanBytesDecoder.JSON_V2);
+	}
+
+	@Test
+	void should_encode_spans_as_proto3() {
+		should_encode_spans(Encoding.PROTO3, SpanBytesDecoder.PROTO3);
+	}
+
+	@Test
+	void should_replace_zipkin_exporter_when_pooled_encoding_is_enabled() {
+		new ApplicationContextRunner().withConfiguration(AutoConfigurations.of(TestConfig.class))
+				.withPropertyValues("spring.sleuth.otel.exporter.zipkin.pooled-encoding=true").run(context -> {
+					assertThat(context).hasSingleBean(PooledZipkinSpanExporter.class);
+					assertThat(context).doesNotHaveBean(ZipkinSpanExporter.class);
+				});
+	}
+
+	@Test
+	void should_register_buffer_metrics_when_metrics_are_enabled() {
+		new ApplicationContextRunner().withConfiguration(AutoConfigurations.of(TestConfig.class))
+				.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+				.withPropertyValues("spring.sleuth.otel.exporter.zipkin.pooled-encoding=true",
+						"spring.sleuth.otel.metrics.enabled=true")
+				.run(context -> assertThat(context.getBean(MeterRegistry.class)
+						.get("sleuth.otel.exporter.buffers.pooled").tag("exporter", "otelPooledZipkinSpanExporter")
+						.gauge().value()).isZero());
+	}
+
+	private void should_encode_spans(Encoding encoding, SpanBytesDecoder decoder) {
+		Span parent = this.tracer.spanBuilder("Parent").setSpanKind(SpanKind.SERVER).startSpan();
+		parent.setAttribute("http.path", "/\"quoted\"\n☕");
+		parent.addEvent("cs");
+		parent.setStatus(StatusCode.ERROR, "boom");
+		Span child = this.tracer.spanBuilder("child").setSpanKind(SpanKind.CLIENT)
+				.setParent(Context.root().with(parent)).setAttribute("peer.service", "Remote").startSpan();
+		child.end();
+		parent.end();
+		CapturingSender sender = new CapturingSender(encoding);
+		// small enough to make the buffer grow
+		PooledZipkinSpanExporter exporter = new PooledZipkinSpanExporter(sender, new LocalIpResolver(), 16, 1);
+
+		assertThat(exporter.export(this.processor.spans()).isSuccess()).isTrue();
+
+		List<zipkin2.Span> spans = decoder.decodeList(sender.message());
+		assertThat(spans).hasSize(2);
+		zipkin2.Span zipkinChild = spans.get(0);
+		zipkin2.Span zipkinParent = spans.get(1);
+		assertThat(zipkinParent.traceId()).isEqualTo(parent.getSpanContext().getTraceId());
+		assertThat(zipkinParent.id()).isEqualTo(parent.getSpanContext().getSpanId());
+		assertThat(zipkinParent.parentId()).isNull();
+		assertThat(zipkinParent.kind()).isEqualTo(zipkin2.Span.Kind.SERVER);
+		assertThat(zipkinParent.name()).isEqualTo("parent");
+		assertThat(zipkinParent.timestampAsLong()).isPositive();
+		assertThat(zipkinParent.localServiceName()).isEqualTo("test-service");
+		assertThat(zipkinParent.annotations()).extracting(zipkin2.Annotation::value).containsExactly("cs");
+		assertThat(zipkinParent.tags()).containsEntry("http.path", "/\"quoted\"\n☕")
+				.containsEntry("otel.status_code", "ERROR").containsEntry("error", "boom")
+				.containsEntry("otel.library.name", "test");
+		assertThat(zipkinChild.traceId()).isEqualTo(zipkinParent.traceId());
+		assertThat(zipkinChild.parentId()).isEqualTo(zipkinParent.id());
+		assertThat(zipkinChild.kind()).isEqualTo(zipkin2.Span.Kind.CLIENT);
+		assertThat(zipkinChild.remoteServiceName()).isEqualTo("remote");
+		assertThat(exporter.getExportedSpans()).isEqualTo(2);
+		assertThat(exporter.getEncodedBytes()).isEqualTo(sender.encodedSpans.get(0).length);
+		assertThat(exporter.getAllocatedBuffers()).isEqualTo(1);
+		assertThat(exporter.getPooledBuffers()).isEqualTo(1);
+		assertThat(exporter.getPooledBytes()).isGreaterThan(16);
+	}
+
+	static class CapturingSender extends Sender {
+
+		final Encoding encoding;
+
+		final List<byte[]> encodedSpans = new ArrayList<>();
+
+		CapturingSender(Encoding encoding) {
+			this.encoding = encoding;
+		}
+
+		byte[] message() {
+			return BytesMessageEncoder.forEncoding(this.encoding).encode(this.encodedSpans);
+		}
+
+		@Override
+		public Encoding encoding() {
+			return this.encoding;
+		}
+
+		@Override
+		public int messageMaxBytes() {
+			return Integer.MAX_VALUE;
+		}
+
+		@Override
+		public int messageSizeInBytes(List<byte[]> encodedSpans) {
+			return this.encoding.listSizeInBytes(encodedSpans);
+		}
+
+		@Override
+		public Call<Void> sendSpans(List<byte[]> encodedSpans) {
+			this.encodedSpans.addAll(encodedSpans);
+			return Call.create(null);
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableAutoConfiguration
+	static class TestConfig {
+
+	}
+
+}
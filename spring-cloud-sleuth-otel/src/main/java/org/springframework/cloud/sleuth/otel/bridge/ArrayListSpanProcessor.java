@@ -16,9 +16,13 @@
 
 package org.springframework.cloud.sleuth.otel.bridge;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.CompletableResultCode;
@@ -31,14 +35,51 @@ import io.opentelemetry.sdk.trace.export.SpanExporter;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
- * Stores spans in a queue.
+ * Stores spans in a bounded, lock-free ring buffer. When the buffer is full, depending on
+ * the {@link OverflowPolicy}, either the oldest span gets overwritten or the newest one
+ * gets dropped. Ending a span never throws.
  *
  * @author Marcin Grzejszczak
  * @since 1.0.0
  */
 public class ArrayListSpanProcessor implements SpanProcessor, SpanExporter {
 
-	Queue<SpanData> spans = new LinkedBlockingQueue<>(50);
+	/**
+	 * Default number of spans kept in the buffer.
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	private final int capacity;
+
+	private final OverflowPolicy overflowPolicy;
+
+	private final AtomicReferenceArray<SpanData> buffer;
+
+	// Per slot sequence, tells producers and consumers whose turn it is
+	private final AtomicLongArray sequences;
+
+	private final AtomicLong head = new AtomicLong();
+
+	private final AtomicLong tail = new AtomicLong();
+
+	private final LongAdder dropped = new LongAdder();
+
+	public ArrayListSpanProcessor() {
+		this(DEFAULT_CAPACITY, OverflowPolicy.OVERWRITE_OLDEST);
+	}
+
+	public ArrayListSpanProcessor(int capacity, OverflowPolicy overflowPolicy) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive but was " + capacity);
+		}
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+		this.buffer = new AtomicReferenceArray<>(capacity);
+		this.sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			this.sequences.set(i, i);
+		}
+	}
 
 	@Override
 	public void onStart(Context parent, ReadWriteSpan span) {
@@ -52,7 +93,54 @@ public class ArrayListSpanProcessor implements SpanProcessor, SpanExporter {
 
 	@Override
 	public void onEnd(ReadableSpan span) {
-		this.spans.add(span.toSpanData());
+		SpanData spanData = span.toSpanData();
+		if (this.overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+			if (!offer(spanData)) {
+				this.dropped.increment();
+			}
+			return;
+		}
+		while (!offer(spanData)) {
+			if (poll() != null) {
+				this.dropped.increment();
+			}
+		}
+	}
+
+	private boolean offer(SpanData spanData) {
+		while (true) {
+			long position = this.tail.get();
+			int index = (int) (position % this.capacity);
+			long difference = this.sequences.get(index) - position;
+			if (difference == 0) {
+				if (this.tail.compareAndSet(position, position + 1)) {
+					this.buffer.set(index, spanData);
+					this.sequences.set(index, position + 1);
+					return true;
+				}
+			}
+			else if (difference < 0) {
+				return false;
+			}
+		}
+	}
+
+	private SpanData poll() {
+		while (true) {
+			long position = this.head.get();
+			int index = (int) (position % this.capacity);
+			long difference = this.sequences.get(index) - (position + 1);
+			if (difference == 0) {
+				if (this.head.compareAndSet(position, position + 1)) {
+					SpanData spanData = this.buffer.getAndSet(index, null);
+					this.sequences.set(index, position + this.capacity);
+					return spanData;
+				}
+			}
+			else if (difference < 0) {
+				return null;
+			}
+		}
 	}
 
 	@Override
@@ -86,20 +174,85 @@ public class ArrayListSpanProcessor implements SpanProcessor, SpanExporter {
 	}
 
 	public SpanData takeLocalSpan() {
-		return this.spans.poll();
+		return poll();
+	}
+
+	/**
+	 * Moves all buffered spans to the given collection.
+	 * @param target collection to add the spans to
+	 * @return number of moved spans
+	 */
+	public int drainTo(Collection<? super SpanData> target) {
+		return drainTo(target, Integer.MAX_VALUE);
 	}
 
+	/**
+	 * Moves at most the given number of buffered spans to the given collection.
+	 * @param target collection to add the spans to
+	 * @param maxSpans max number of spans to move
+	 * @return number of moved spans
+	 */
+	public int drainTo(Collection<? super SpanData> target, int maxSpans) {
+		int drained = 0;
+		SpanData spanData;
+		while (drained < maxSpans && (spanData = poll()) != null) {
+			target.add(spanData);
+			drained++;
+		}
+		return drained;
+	}
+
+	/**
+	 * Returns a snapshot of the buffered spans, oldest first. The spans stay in the
+	 * buffer.
+	 * @return buffered spans
+	 */
 	public Queue<SpanData> spans() {
-		return this.spans;
+		Queue<SpanData> spans = new ArrayDeque<>();
+		long end = this.tail.get();
+		for (long position = Math.max(this.head.get(), end - this.capacity); position < end; position++) {
+			int index = (int) (position % this.capacity);
+			SpanData spanData = this.buffer.get(index);
+			if (spanData != null && this.sequences.get(index) == position + 1) {
+				spans.add(spanData);
+			}
+		}
+		return spans;
+	}
+
+	/**
+	 * @return number of spans dropped because the buffer was full
+	 */
+	public long getDroppedSpans() {
+		return this.dropped.sum();
 	}
 
 	public void clear() {
-		this.spans.clear();
+		while (poll() != null) {
+			// discard
+		}
 	}
 
 	@Override
 	public String toString() {
-		return "ArrayListSpanProcessor{" + "spans=" + spans + '}';
+		return "ArrayListSpanProcessor{" + "spans=" + spans() + ", dropped=" + getDroppedSpans() + '}';
+	}
+
+	/**
+	 * What happens to a span when the buffer is full.
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * Removes the oldest buffered span to make room for the new one.
+		 */
+		OVERWRITE_OLDEST,
+
+		/**
+		 * Drops the new span.
+		 */
+		DROP_NEWEST
+
 	}
 
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Immutable registry of the baggage fields configured for remote propagation, span
+ * tagging and log correlation. Field names are normalized once so that each lookup is a
+ * single, case-insensitive hash map access.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+public final class BaggageFields {
+
+	private static final BaggageFields EMPTY = new BaggageFields(Collections.emptyList(), Collections.emptyList(),
+			Collections.emptyList());
+
+	private final List<String> remoteFields;
+
+	private final List<String> tagFields;
+
+	private final List<String> correlationFields;
+
+	private final Map<String, String> remote;
+
+	private final Map<String, String> tag;
+
+	private final Map<String, String> correlation;
+
+	public BaggageFields(List<String> remoteFields, List<String> tagFields, List<String> correlationFields) {
+		this.remoteFields = Collections.unmodifiableList(new ArrayList<>(remoteFields));
+		this.tagFields = Collections.unmodifiableList(new ArrayList<>(tagFields));
+		this.correlationFields = Collections.unmodifiableList(new ArrayList<>(correlationFields));
+		this.remote = index(remoteFields);
+		this.tag = index(tagFields);
+		this.correlation = index(correlationFields);
+	}
+
+	/**
+	 * @return registry without any fields
+	 */
+	public static BaggageFields empty() {
+		return EMPTY;
+	}
+
+	private static Map<String, String> index(List<String> fields) {
+		Map<String, String> index = new HashMap<>();
+		for (String field : fields) {
+			index.putIfAbsent(normalize(field), field);
+		}
+		for (String field : fields) {
+			// lets names spelled as configured skip the lower casing
+			index.putIfAbsent(field, field);
+		}
+		return index;
+	}
+
+	private static String normalize(String name) {
+		// returns the same instance when the name is already lower case
+		return name.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * @return remote fields as configured
+	 */
+	public List<String> getRemoteFields() {
+		return this.remoteFields;
+	}
+
+	/**
+	 * @return tag fields as configured
+	 */
+	public List<String> getTagFields() {
+		return this.tagFields;
+	}
+
+	/**
+	 * @return correlation fields as configured
+	 */
+	public List<String> getCorrelationFields() {
+		return this.correlationFields;
+	}
+
+	public boolean isRemoteField(String name) {
+		return remoteField(name) != null;
+	}
+
+	public boolean isTagField(String name) {
+		return tagField(name) != null;
+	}
+
+	public boolean isCorrelationField(String name) {
+		return correlationField(name) != null;
+	}
+
+	/**
+	 * @param name name of a baggage entry in any case
+	 * @return remote field name as configured or {@code null} if it's not a remote field
+	 */
+	@Nullable
+	public String remoteField(String name) {
+		return lookup(this.remote, name);
+	}
+
+	/**
+	 * @param name name of a baggage entry in any case
+	 * @return tag field name as configured or {@code null} if it's not a tag field
+	 */
+	@Nullable
+	public String tagField(String name) {
+		return lookup(this.tag, name);
+	}
+
+	/**
+	 * @param name name of a baggage entry in any case
+	 * @return correlation field name as configured or {@code null} if it's not a
+	 * correlation field
+	 */
+	@Nullable
+	public String correlationField(String name) {
+		return lookup(this.correlation, name);
+	}
+
+	private static String lookup(Map<String, String> index, String name) {
+		if (index.isEmpty() || name == null) {
+			return null;
+		}
+		String field = index.get(name);
+		return field != null ? field : index.get(normalize(name));
+	}
+
+	@Override
+	public String toString() {
+		return "BaggageFields{remoteFields=" + this.remoteFields + ", tagFields=" + this.tagFields
+				+ ", correlationFields=" + this.correlationFields + "}";
+	}
+
+}
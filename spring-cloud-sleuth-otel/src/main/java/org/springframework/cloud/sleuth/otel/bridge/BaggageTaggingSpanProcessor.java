@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.sleuth.otel.bridge;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -31,20 +32,30 @@ import static java.util.stream.Collectors.toMap;
 
 public class BaggageTaggingSpanProcessor implements SpanProcessor {
 
+	private final BaggageFields baggageFields;
+
 	private final Map<String, AttributeKey<String>> tagsToApply;
 
 	public BaggageTaggingSpanProcessor(List<String> tagsToApply) {
-		this.tagsToApply = tagsToApply.stream().map(tag -> stringKey(tag))
+		this(new BaggageFields(Collections.emptyList(), tagsToApply, Collections.emptyList()));
+	}
+
+	public BaggageTaggingSpanProcessor(BaggageFields baggageFields) {
+		this.baggageFields = baggageFields;
+		this.tagsToApply = baggageFields.getTagFields().stream().distinct().map(tag -> stringKey(tag))
 				.collect(toMap(AttributeKey::getKey, key -> key));
 	}
 
 	@Override
 	public void onStart(Context context, ReadWriteSpan readWriteSpan) {
 		Baggage baggage = Baggage.fromContext(context);
-
+		if (baggage.isEmpty() || this.tagsToApply.isEmpty()) {
+			return;
+		}
 		baggage.forEach((key, baggageEntry) -> {
-			AttributeKey<String> attributeKey = tagsToApply.get(key);
-			if (attributeKey != null) {
+			String tagField = this.baggageFields.tagField(key);
+			if (tagField != null) {
+				AttributeKey<String> attributeKey = this.tagsToApply.get(tagField);
 				readWriteSpan.setAttribute(attributeKey, baggageEntry.getValue());
 			}
 		});
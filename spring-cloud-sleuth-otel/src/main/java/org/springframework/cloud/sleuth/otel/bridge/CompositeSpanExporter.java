@@ -16,15 +16,21 @@
 
 package org.springframework.cloud.sleuth.otel.bridge;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
 
+import org.springframework.cloud.sleuth.exporter.FinishedSpan;
 import org.springframework.cloud.sleuth.exporter.SpanFilter;
+import org.springframework.lang.Nullable;
 
 /**
  * Composes multiple {@link SpanFilter} into a single {@link SpanExporter}.
@@ -36,27 +42,141 @@ public class CompositeSpanExporter implements io.opentelemetry.sdk.trace.export.
 
 	private final io.opentelemetry.sdk.trace.export.SpanExporter delegate;
 
-	private final List<SpanFilter> filters;
+	private final SpanFilter[] filters;
+
+	private final LongAdder[] dropped;
+
+	private final LocalIpResolver localIpResolver;
+
+	@Nullable
+	private volatile ExportListener exportListener;
 
 	public CompositeSpanExporter(io.opentelemetry.sdk.trace.export.SpanExporter delegate, List<SpanFilter> filters) {
+		this(delegate, filters, LocalIpResolver.getDefault());
+	}
+
+	public CompositeSpanExporter(io.opentelemetry.sdk.trace.export.SpanExporter delegate, List<SpanFilter> filters,
+			LocalIpResolver localIpResolver) {
 		this.delegate = delegate;
-		this.filters = filters;
+		this.filters = filters.toArray(new SpanFilter[0]);
+		this.dropped = new LongAdder[this.filters.length];
+		for (int i = 0; i < this.dropped.length; i++) {
+			this.dropped[i] = new LongAdder();
+		}
+		this.localIpResolver = localIpResolver;
 	}
 
+	/**
+	 * Exports the spans accepted by all filters and reports the batch to the
+	 * {@link ExportListener}, if any.
+	 * @param spans spans to export
+	 * @return result of the delegate export
+	 */
 	@Override
 	public CompletableResultCode export(Collection<SpanData> spans) {
-		return this.delegate.export(spans.stream().filter(this::shouldProcess).collect(Collectors.toList()));
+		Collection<SpanData> accepted = filter(spans);
+		ExportListener listener = this.exportListener;
+		if (listener == null) {
+			return this.delegate.export(accepted);
+		}
+		CompletableResultCode result;
+		try {
+			result = this.delegate.export(accepted);
+		}
+		catch (RuntimeException ex) {
+			listener.onExport(accepted.size(), spans.size() - accepted.size(), CompletableResultCode.ofFailure());
+			throw ex;
+		}
+		listener.onExport(accepted.size(), spans.size() - accepted.size(), result);
+		return result;
+	}
+
+	/**
+	 * Applies the filters to a batch. Each span gets wrapped in a
+	 * {@link OtelFinishedSpan} once and the original collection is returned when no span
+	 * got dropped. The number of spans dropped from this batch is the difference of the
+	 * sizes, even when batches are filtered concurrently.
+	 * @param spans spans to filter
+	 * @return spans accepted by all filters
+	 */
+	private Collection<SpanData> filter(Collection<SpanData> spans) {
+		if (this.filters.length == 0) {
+			return spans;
+		}
+		List<SpanData> accepted = null;
+		int index = 0;
+		for (SpanData span : spans) {
+			if (shouldProcess(span)) {
+				if (accepted != null) {
+					accepted.add(span);
+				}
+			}
+			else if (accepted == null) {
+				accepted = acceptedSoFar(spans, index);
+			}
+			index++;
+		}
+		return accepted != null ? accepted : spans;
+	}
+
+	private List<SpanData> acceptedSoFar(Collection<SpanData> spans, int count) {
+		List<SpanData> accepted = new ArrayList<>(spans.size());
+		Iterator<SpanData> iterator = spans.iterator();
+		for (int i = 0; i < count; i++) {
+			accepted.add(iterator.next());
+		}
+		return accepted;
 	}
 
 	private boolean shouldProcess(SpanData span) {
-		for (SpanFilter exporter : this.filters) {
-			if (!exporter.isExportable(OtelFinishedSpan.fromOtel(span))) {
+		FinishedSpan finishedSpan = OtelFinishedSpan.fromOtel(span, this.localIpResolver);
+		for (int i = 0; i < this.filters.length; i++) {
+			if (!this.filters[i].isExportable(finishedSpan)) {
+				this.dropped[i].increment();
 				return false;
 			}
 		}
 		return true;
 	}
 
+	/**
+	 * Number of spans dropped by each filter. A span is attributed to the first filter
+	 * that rejected it.
+	 * @return dropped span count per filter, in filter order
+	 */
+	public Map<SpanFilter, Long> getDroppedSpans() {
+		Map<SpanFilter, Long> droppedSpans = new LinkedHashMap<>();
+		for (int i = 0; i < this.filters.length; i++) {
+			droppedSpans.put(this.filters[i], this.dropped[i].sum());
+		}
+		return droppedSpans;
+	}
+
+	/**
+	 * @return number of spans dropped by all filters
+	 */
+	public long getTotalDroppedSpans() {
+		long dropped = 0;
+		for (LongAdder adder : this.dropped) {
+			dropped += adder.sum();
+		}
+		return dropped;
+	}
+
+	/**
+	 * @param exportListener listener to report each exported batch to
+	 */
+	public void setExportListener(@Nullable ExportListener exportListener) {
+		this.exportListener = exportListener;
+	}
+
+	/**
+	 * @return exporter receiving the accepted spans
+	 */
+	public io.opentelemetry.sdk.trace.export.SpanExporter getDelegate() {
+		return this.delegate;
+	}
+
 	@Override
 	public CompletableResultCode flush() {
 		return this.delegate.flush();
@@ -67,4 +187,21 @@ public class CompositeSpanExporter implements io.opentelemetry.sdk.trace.export.
 		return this.delegate.shutdown();
 	}
 
+	/**
+	 * Gets notified of each batch passed to {@link #export(Collection)}, on the thread
+	 * calling it.
+	 */
+	public interface ExportListener {
+
+		/**
+		 * @param accepted number of spans of the batch accepted by all filters and
+		 * handed to the delegate
+		 * @param dropped number of spans of the batch dropped by a filter
+		 * @param result result of the delegate export, failed if the delegate threw an
+		 * exception
+		 */
+		void onExport(int accepted, int dropped, CompletableResultCode result);
+
+	}
+
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.List;
+import java.util.function.Function;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextStorage;
+
+/**
+ * {@link ContextStorage} wrapper that notifies {@link ScopeChangeListener}s directly on
+ * scope changes. Contrary to the {@link EventPublishingContextWrapper} no
+ * {@link org.springframework.context.ApplicationEvent} gets created and multicasted.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+public final class ListenerNotifyingContextWrapper implements Function<ContextStorage, ContextStorage> {
+
+	private final ScopeChangeListener[] listeners;
+
+	public ListenerNotifyingContextWrapper(List<ScopeChangeListener> listeners) {
+		this.listeners = listeners.toArray(new ScopeChangeListener[0]);
+	}
+
+	@Override
+	public ContextStorage apply(ContextStorage contextStorage) {
+		return new ContextStorage() {
+			@Override
+			public io.opentelemetry.context.Scope attach(Context context) {
+				Context currentContext = Context.current();
+				io.opentelemetry.context.Scope scope = contextStorage.attach(context);
+				if (scope == io.opentelemetry.context.Scope.noop()) {
+					return scope;
+				}
+				for (ScopeChangeListener listener : listeners) {
+					listener.onScopeAttached(context);
+				}
+				return () -> {
+					scope.close();
+					for (ScopeChangeListener listener : listeners) {
+						listener.onScopeClosed();
+					}
+					for (ScopeChangeListener listener : listeners) {
+						listener.onScopeRestored(currentContext);
+					}
+				};
+			}
+
+			@Override
+			public Context current() {
+				return contextStorage.current();
+			}
+		};
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.io.Closeable;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.util.Enumeration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Resolves the site local IP address of this host. Enumerating the network interfaces is
+ * expensive, so the address gets resolved once and then optionally refreshed in the
+ * background. Reading it never touches the network interfaces.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+public class LocalIpResolver implements Closeable {
+
+	private static final Log log = LogFactory.getLog(LocalIpResolver.class);
+
+	@Nullable
+	private final ScheduledExecutorService executor;
+
+	private volatile String localIp;
+
+	/**
+	 * Resolves the address once, without refreshing it.
+	 */
+	public LocalIpResolver() {
+		this(0);
+	}
+
+	/**
+	 * @param refreshIntervalMillis interval in millis at which the address gets resolved
+	 * again in the background, {@code 0} or less to never refresh it
+	 */
+	public LocalIpResolver(long refreshIntervalMillis) {
+		refresh();
+		if (refreshIntervalMillis > 0) {
+			this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "sleuth-local-ip-resolver");
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.executor.scheduleWithFixedDelay(this::refresh, refreshIntervalMillis, refreshIntervalMillis,
+					TimeUnit.MILLISECONDS);
+		}
+		else {
+			this.executor = null;
+		}
+	}
+
+	/**
+	 * @return resolver shared by the whole process that never refreshes the address
+	 */
+	public static LocalIpResolver getDefault() {
+		return DefaultHolder.INSTANCE;
+	}
+
+	/**
+	 * @return last resolved site local IP address or {@code null} if there's none
+	 */
+	@Nullable
+	public String localIp() {
+		return this.localIp;
+	}
+
+	/**
+	 * Resolves the address again.
+	 */
+	public void refresh() {
+		String resolved = produceLinkLocalIp();
+		if (resolved != null || this.localIp == null) {
+			this.localIp = resolved;
+		}
+	}
+
+	// taken from Brave
+	private static String produceLinkLocalIp() {
+		try {
+			Enumeration<NetworkInterface> nics = NetworkInterface.getNetworkInterfaces();
+			while (nics.hasMoreElements()) {
+				NetworkInterface nic = nics.nextElement();
+				Enumeration<InetAddress> addresses = nic.getInetAddresses();
+				while (addresses.hasMoreElements()) {
+					InetAddress address = addresses.nextElement();
+					if (address.isSiteLocalAddress()) {
+						return address.getHostAddress();
+					}
+				}
+			}
+		}
+		catch (Exception e) {
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to resolve the local IP address", e);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void close() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+		}
+	}
+
+	private static final class DefaultHolder {
+
+		private static final LocalIpResolver INSTANCE = new LocalIpResolver();
+
+	}
+
+}
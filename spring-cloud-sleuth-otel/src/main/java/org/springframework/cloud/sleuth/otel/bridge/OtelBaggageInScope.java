@@ -16,7 +16,6 @@
 
 package org.springframework.cloud.sleuth.otel.bridge;
 
-import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.opentelemetry.api.baggage.Baggage;
@@ -41,17 +40,17 @@ class OtelBaggageInScope implements BaggageInScope {
 
 	private final CurrentTraceContext currentTraceContext;
 
-	private final List<String> tagFields;
+	private final BaggageFields baggageFields;
 
 	private final AtomicReference<Entry> entry = new AtomicReference<>();
 
 	private final AtomicReference<Scope> scope = new AtomicReference<>();
 
 	OtelBaggageInScope(OtelBaggageManager otelBaggageManager, CurrentTraceContext currentTraceContext,
-			List<String> tagFields, Entry entry) {
+			BaggageFields baggageFields, Entry entry) {
 		this.otelBaggageManager = otelBaggageManager;
 		this.currentTraceContext = currentTraceContext;
-		this.tagFields = tagFields;
+		this.baggageFields = baggageFields;
 		this.entry.set(entry);
 	}
 
@@ -101,7 +100,7 @@ class OtelBaggageInScope implements BaggageInScope {
 		}
 		Context withBaggage = current.with(baggage);
 		this.scope.set(withBaggage.makeCurrent());
-		if (this.tagFields.stream().map(String::toLowerCase).anyMatch(s -> s.equals(entry().getKey()))) {
+		if (this.baggageFields.isTagField(entry().getKey())) {
 			currentSpan.setAttribute(entry().getKey(), value);
 		}
 		Entry previous = entry();
@@ -16,12 +16,8 @@
 
 package org.springframework.cloud.sleuth.otel.bridge;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Deque;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -40,10 +36,7 @@ import org.springframework.cloud.sleuth.TraceContext;
 import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.context.ApplicationEventPublisher;
 
-import static java.util.Collections.unmodifiableCollection;
 import static java.util.Collections.unmodifiableMap;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toMap;
 
 /**
  * OpenTelemetry implementation of a {@link BaggageManager}. Doesn't implement an
@@ -56,36 +49,33 @@ public class OtelBaggageManager implements BaggageManager {
 
 	private final CurrentTraceContext currentTraceContext;
 
-	private final List<String> remoteFields;
-
-	private final List<String> tagFields;
+	private final BaggageFields baggageFields;
 
 	private final ApplicationEventPublisher publisher;
 
 	public OtelBaggageManager(CurrentTraceContext currentTraceContext, List<String> remoteFields,
 			List<String> tagFields, ApplicationEventPublisher publisher) {
+		this(currentTraceContext, new BaggageFields(remoteFields, tagFields, Collections.emptyList()), publisher);
+	}
+
+	public OtelBaggageManager(CurrentTraceContext currentTraceContext, BaggageFields baggageFields,
+			ApplicationEventPublisher publisher) {
 		this.currentTraceContext = currentTraceContext;
-		this.remoteFields = remoteFields;
-		this.tagFields = tagFields;
+		this.baggageFields = baggageFields;
 		this.publisher = publisher;
 	}
 
 	@Override
 	public Map<String, String> getAllBaggage() {
 		Map<String, String> baggage = new HashMap<>();
-		currentBaggage().getEntries().forEach(entry -> baggage.put(entry.getKey(), entry.getValue()));
+		currentBaggage().forEach((key, entry) -> baggage.put(key, entry.getValue()));
 		return baggage;
 	}
 
 	CompositeBaggage currentBaggage() {
 		OtelTraceContext traceContext = (OtelTraceContext) currentTraceContext.context();
-		Context context = Context.current();
-		Deque<Context> stack = new ArrayDeque<>();
-		if (traceContext != null) {
-			stack.addFirst(traceContext.context());
-		}
-		stack.addFirst(context);
-		return new CompositeBaggage(stack);
+		Baggage parent = traceContext != null ? Baggage.fromContext(traceContext.context()) : Baggage.empty();
+		return new CompositeBaggage(Baggage.current(), parent);
 	}
 
 	@Override
@@ -101,22 +91,42 @@ public class OtelBaggageManager implements BaggageManager {
 		return otelBaggage(entry);
 	}
 
+	/**
+	 * Looks the entry up by its exact name, then by the spelling of the configured field
+	 * and, as keys are matched case insensitively, by going through the entries.
+	 */
 	private Entry getBaggage(String name, io.opentelemetry.api.baggage.Baggage baggage) {
-		return entryForName(name, baggage);
+		Entry entry = entryForName(name, baggage);
+		if (entry != null) {
+			return entry;
+		}
+		String field = configuredName(name);
+		if (field != null && !field.equals(name)) {
+			entry = entryForName(field, baggage);
+			if (entry != null) {
+				return entry;
+			}
+		}
+		return entryIgnoringCase(name, baggage);
+	}
+
+	private String configuredName(String name) {
+		String field = this.baggageFields.remoteField(name);
+		if (field == null) {
+			field = this.baggageFields.tagField(name);
+		}
+		if (field == null) {
+			field = this.baggageFields.correlationField(name);
+		}
+		return field;
 	}
 
 	@Override
 	public BaggageInScope getBaggage(TraceContext traceContext, String name) {
 		OtelTraceContext context = (OtelTraceContext) traceContext;
-		// TODO: Refactor
-		Deque<Context> stack = new ArrayDeque<>();
-		stack.addFirst(Context.current());
-		stack.addFirst(context.context());
-		Context ctx = removeFirst(stack);
-		Entry entry = null;
-		while (ctx != null && entry == null) {
-			entry = getBaggage(name, Baggage.fromContext(ctx));
-			ctx = removeFirst(stack);
+		Entry entry = getBaggage(name, Baggage.fromContext(context.context()));
+		if (entry == null) {
+			entry = getBaggage(name, Baggage.current());
 		}
 		return createNewEntryIfMissing(name, entry);
 	}
@@ -127,17 +137,22 @@ public class OtelBaggageManager implements BaggageManager {
 		return getBaggage(name, Baggage.fromContext(ctx));
 	}
 
-	Context removeFirst(Deque<Context> stack) {
-		return stack.isEmpty() ? null : stack.removeFirst();
+	private Entry entryForName(String name, io.opentelemetry.api.baggage.Baggage baggage) {
+		if (baggage instanceof CompositeBaggage) {
+			return ((CompositeBaggage) baggage).getEntry(name);
+		}
+		return Entry.of(name, baggage);
 	}
 
-	private Entry entryForName(String name, io.opentelemetry.api.baggage.Baggage baggage) {
-		return Entry.fromBaggage(baggage).stream().filter(e -> e.getKey().toLowerCase().equals(name.toLowerCase()))
-				.findFirst().orElse(null);
+	private Entry entryIgnoringCase(String name, io.opentelemetry.api.baggage.Baggage baggage) {
+		if (baggage instanceof CompositeBaggage) {
+			return ((CompositeBaggage) baggage).getEntryIgnoringCase(name);
+		}
+		return Entry.ofIgnoringCase(name, baggage);
 	}
 
 	private BaggageInScope otelBaggage(Entry entry) {
-		return new OtelBaggageInScope(this, this.currentTraceContext, this.tagFields, entry);
+		return new OtelBaggageInScope(this, this.currentTraceContext, this.baggageFields, entry);
 	}
 
 	@Override
@@ -152,12 +167,10 @@ public class OtelBaggageManager implements BaggageManager {
 	}
 
 	private BaggageInScope baggageWithValue(String name, String value) {
-		List<String> remoteFieldsFields = this.remoteFields;
-		boolean remoteField = remoteFieldsFields.stream().map(String::toLowerCase)
-				.anyMatch(s -> s.equals(name.toLowerCase()));
+		boolean remoteField = this.baggageFields.isRemoteField(name);
 		BaggageEntryMetadata entryMetadata = BaggageEntryMetadata.create(propagationString(remoteField));
 		Entry entry = new Entry(name, value, entryMetadata);
-		return new OtelBaggageInScope(this, this.currentTraceContext, this.tagFields, entry);
+		return new OtelBaggageInScope(this, this.currentTraceContext, this.baggageFields, entry);
 	}
 
 	private String propagationString(boolean remoteField) {
@@ -171,56 +184,90 @@ public class OtelBaggageManager implements BaggageManager {
 
 }
 
+/**
+ * Read-only view of the current baggage on top of the baggage stored in the current
+ * trace context. Entries of the current baggage win. Nothing gets copied unless
+ * {@link #asMap()} is called.
+ */
 class CompositeBaggage implements io.opentelemetry.api.baggage.Baggage {
 
-	// TODO: Try to use a Map of BaggageEntry only: delete the Entry class
-	// (might need a bigger refactor)
-	private final Collection<Entry> entries;
+	private final Baggage baggage;
 
-	private final Map<String, BaggageEntry> baggageEntries;
+	private final Baggage parent;
 
-	CompositeBaggage(Deque<Context> stack) {
-		this.entries = unmodifiableCollection(createEntries(stack));
-		this.baggageEntries = unmodifiableMap(this.entries.stream().collect(toMap(Entry::getKey, identity())));
-	}
+	private Map<String, BaggageEntry> merged;
 
-	private Collection<Entry> createEntries(Deque<Context> stack) {
-		// parent baggage foo=bar
-		// child baggage foo=baz - we want the last one to override the previous one
-		Map<String, Entry> map = new HashMap<>();
-		Iterator<Context> iterator = stack.descendingIterator();
-		while (iterator.hasNext()) {
-			Context next = iterator.next();
-			Baggage baggage = Baggage.fromContext(next);
-			baggage.forEach((key, value) -> map.put(key, new Entry(key, value.getValue(), value.getMetadata())));
-		}
-
-		return map.values();
-	}
-
-	Collection<Entry> getEntries() {
-		return this.entries;
+	CompositeBaggage(Baggage baggage, Baggage parent) {
+		this.baggage = baggage;
+		// the trace context's baggage is often the current one
+		this.parent = parent == baggage ? Baggage.empty() : parent;
 	}
 
 	@Override
 	public int size() {
-		return this.entries.size();
+		if (this.parent.isEmpty()) {
+			return this.baggage.size();
+		}
+		if (this.baggage.isEmpty()) {
+			return this.parent.size();
+		}
+		int[] size = { this.baggage.size() };
+		this.parent.forEach((key, entry) -> {
+			if (this.baggage.getEntryValue(key) == null) {
+				size[0]++;
+			}
+		});
+		return size[0];
 	}
 
 	@Override
 	public void forEach(BiConsumer<? super String, ? super BaggageEntry> consumer) {
-		this.entries.forEach(entry -> consumer.accept(entry.getKey(), entry));
+		this.baggage.forEach(consumer);
+		if (this.parent.isEmpty()) {
+			return;
+		}
+		this.parent.forEach((key, entry) -> {
+			if (this.baggage.getEntryValue(key) == null) {
+				consumer.accept(key, entry);
+			}
+		});
 	}
 
 	@Override
 	public Map<String, BaggageEntry> asMap() {
-		return this.baggageEntries;
+		if (this.merged == null) {
+			Map<String, BaggageEntry> map = new HashMap<>();
+			forEach(map::put);
+			this.merged = unmodifiableMap(map);
+		}
+		return this.merged;
 	}
 
 	@Override
 	public String getEntryValue(String entryKey) {
-		return this.entries.stream().filter(entry -> entryKey.equals(entry.getKey())).map(Entry::getValue).findFirst()
-				.orElse(null);
+		String value = this.baggage.getEntryValue(entryKey);
+		if (value != null) {
+			return value;
+		}
+		return this.parent.getEntryValue(entryKey);
+	}
+
+	/**
+	 * @param entryKey exact key of the entry
+	 * @return entry of the current baggage or, if missing, of the parent one
+	 */
+	Entry getEntry(String entryKey) {
+		Entry entry = Entry.of(entryKey, this.baggage);
+		return entry != null ? entry : Entry.of(entryKey, this.parent);
+	}
+
+	/**
+	 * @param entryKey key of the entry in any case
+	 * @return entry of the current baggage or, if missing, of the parent one
+	 */
+	Entry getEntryIgnoringCase(String entryKey) {
+		Entry entry = Entry.ofIgnoringCase(entryKey, this.baggage);
+		return entry != null ? entry : Entry.ofIgnoringCase(entryKey, this.parent);
 	}
 
 	@Override
@@ -236,12 +283,48 @@ class Entry implements BaggageEntry {
 
 	final String value;
 
-	final BaggageEntryMetadata entryMetadata;
+	private final Baggage source;
+
+	private volatile BaggageEntryMetadata entryMetadata;
 
 	Entry(String key, String value, BaggageEntryMetadata entryMetadata) {
+		this(key, value, entryMetadata, null);
+	}
+
+	private Entry(String key, String value, BaggageEntryMetadata entryMetadata, Baggage source) {
 		this.key = key;
 		this.value = value;
 		this.entryMetadata = entryMetadata;
+		this.source = source;
+	}
+
+	/**
+	 * Looks an entry up by its exact key. Its metadata is only needed when the entry gets
+	 * written back, so it's resolved from the source baggage on first access.
+	 * @param key exact key of the entry
+	 * @param baggage baggage to look the entry up in
+	 * @return entry or {@code null} when the baggage has no such key
+	 */
+	static Entry of(String key, Baggage baggage) {
+		String value = baggage.getEntryValue(key);
+		return value != null ? new Entry(key, value, null, baggage) : null;
+	}
+
+	/**
+	 * Goes through all entries of the baggage, for keys differing from the looked up one
+	 * in case only.
+	 * @param key key of the entry in any case
+	 * @param baggage baggage to look the entry up in
+	 * @return first matching entry or {@code null} when there's none
+	 */
+	static Entry ofIgnoringCase(String key, Baggage baggage) {
+		Entry[] found = new Entry[1];
+		baggage.forEach((entryKey, entry) -> {
+			if (found[0] == null && entryKey.equalsIgnoreCase(key)) {
+				found[0] = new Entry(entryKey, entry.getValue(), entry.getMetadata());
+			}
+		});
+		return found[0];
 	}
 
 	public String getKey() {
@@ -255,7 +338,13 @@ class Entry implements BaggageEntry {
 
 	@Override
 	public BaggageEntryMetadata getMetadata() {
-		return this.entryMetadata;
+		BaggageEntryMetadata metadata = this.entryMetadata;
+		if (metadata == null) {
+			BaggageEntry entry = this.source.asMap().get(this.key);
+			metadata = entry != null ? entry.getMetadata() : BaggageEntryMetadata.empty();
+			this.entryMetadata = metadata;
+		}
+		return metadata;
 	}
 
 	@Override
@@ -268,18 +357,12 @@ class Entry implements BaggageEntry {
 		}
 		Entry entry = (Entry) o;
 		return Objects.equals(this.key, entry.key) && Objects.equals(this.value, entry.value)
-				&& Objects.equals(this.entryMetadata, entry.entryMetadata);
+				&& Objects.equals(getMetadata(), entry.getMetadata());
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.key, this.value, this.entryMetadata);
-	}
-
-	static List<Entry> fromBaggage(Baggage baggage) {
-		List<Entry> list = new ArrayList<>(baggage.size());
-		baggage.forEach((key, value) -> list.add(new Entry(key, value.getValue(), value.getMetadata())));
-		return list;
+		return Objects.hash(this.key, this.value, getMetadata());
 	}
 
 }
@@ -57,35 +57,68 @@ public class OtelCurrentTraceContext implements CurrentTraceContext {
 			return io.opentelemetry.context.Scope::noop;
 		}
 		Context current = Context.current();
+		if (isCurrent(otelTraceContext, current)) {
+			return io.opentelemetry.context.Scope::noop;
+		}
+		return attach(otelTraceContext, current);
+	}
+
+	/**
+	 * Makes the trace context current. The caller has already checked that it isn't.
+	 */
+	private Scope attach(OtelTraceContext otelTraceContext, Context current) {
 		Context old = otelTraceContext.context();
+		Baggage currentBaggage = Baggage.fromContext(current);
+		Baggage oldBaggage = Baggage.fromContext(old);
+		SpanFromSpanContext fromContext = new SpanFromSpanContext(otelTraceContext.span, otelTraceContext.delegate,
+				otelTraceContext);
+		io.opentelemetry.context.Scope attach = old.with(fromContext).with(mergedBaggage(currentBaggage, oldBaggage))
+				.makeCurrent();
+		return attach::close;
+	}
 
+	/**
+	 * Checks whether the span and the baggage of the trace context are the ones in the
+	 * current context. Identity checks go first, most of the time the stored context is
+	 * the current one.
+	 */
+	private boolean isCurrent(OtelTraceContext otelTraceContext, Context current) {
+		Context old = otelTraceContext.context();
 		Span currentSpan = Span.fromContext(current);
-		Span oldSpan = Span.fromContext(otelTraceContext.context());
 		SpanContext spanContext = otelTraceContext.delegate;
-		boolean sameSpan = currentSpan.getSpanContext().equals(oldSpan.getSpanContext())
-				&& currentSpan.getSpanContext().equals(spanContext);
-		SpanFromSpanContext fromContext = new SpanFromSpanContext(((OtelTraceContext) context).span, spanContext,
-				otelTraceContext);
+		if (!sameSpan(currentSpan, spanContext)) {
+			return false;
+		}
+		if (old == current) {
+			return true;
+		}
+		Span oldSpan = Span.fromContext(old);
+		if (oldSpan != currentSpan && !sameSpan(oldSpan, spanContext)) {
+			return false;
+		}
+		return sameBaggage(Baggage.fromContext(current), Baggage.fromContext(old));
+	}
 
-		Baggage currentBaggage = Baggage.fromContext(current);
-		Baggage oldBaggage = Baggage.fromContext(old);
-		boolean sameBaggage = sameBaggage(currentBaggage, oldBaggage);
+	private boolean sameSpan(Span span, SpanContext spanContext) {
+		SpanContext other = span.getSpanContext();
+		return other == spanContext || other.equals(spanContext);
+	}
 
-		if (sameSpan && sameBaggage) {
-			return io.opentelemetry.context.Scope::noop;
+	private Baggage mergedBaggage(Baggage currentBaggage, Baggage oldBaggage) {
+		if (oldBaggage == currentBaggage || oldBaggage.isEmpty()) {
+			return currentBaggage;
+		}
+		if (currentBaggage.isEmpty()) {
+			return oldBaggage;
 		}
-
 		BaggageBuilder baggageBuilder = currentBaggage.toBuilder();
 		oldBaggage.forEach(
 				(key, baggageEntry) -> baggageBuilder.put(key, baggageEntry.getValue(), baggageEntry.getMetadata()));
-		Baggage updatedBaggage = baggageBuilder.build();
-
-		io.opentelemetry.context.Scope attach = old.with(fromContext).with(updatedBaggage).makeCurrent();
-		return attach::close;
+		return baggageBuilder.build();
 	}
 
 	private boolean sameBaggage(Baggage currentBaggage, Baggage oldBaggage) {
-		return currentBaggage.equals(oldBaggage);
+		return currentBaggage == oldBaggage || currentBaggage.equals(oldBaggage);
 	}
 
 	@Override
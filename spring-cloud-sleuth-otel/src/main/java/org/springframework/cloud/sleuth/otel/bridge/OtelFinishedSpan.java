@@ -16,14 +16,15 @@
 
 package org.springframework.cloud.sleuth.otel.bridge;
 
-import java.net.InetAddress;
-import java.net.NetworkInterface;
+import java.util.AbstractList;
 import java.util.AbstractMap;
 import java.util.Collection;
-import java.util.Enumeration;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
@@ -42,20 +43,35 @@ import org.springframework.cloud.sleuth.exporter.FinishedSpan;
  */
 public class OtelFinishedSpan implements FinishedSpan {
 
+	private static final AttributeKey<Long> NET_PEER_PORT = AttributeKey.longKey("net.peer.port");
+
+	private static final AttributeKey<String> PEER_SERVICE = AttributeKey.stringKey("peer.service");
+
 	private final SpanData spanData;
 
-	private final Map<String, String> tags = new HashMap<>();
+	private Map<String, String> tags;
 
-	private volatile String linkLocalIp;
+	private Collection<Map.Entry<Long, String>> events;
+
+	private final LocalIpResolver localIpResolver;
 
 	OtelFinishedSpan(SpanData spanData) {
+		this(spanData, LocalIpResolver.getDefault());
+	}
+
+	OtelFinishedSpan(SpanData spanData, LocalIpResolver localIpResolver) {
 		this.spanData = spanData;
+		this.localIpResolver = localIpResolver;
 	}
 
 	public static FinishedSpan fromOtel(SpanData span) {
 		return new OtelFinishedSpan(span);
 	}
 
+	public static FinishedSpan fromOtel(SpanData span, LocalIpResolver localIpResolver) {
+		return new OtelFinishedSpan(span, localIpResolver);
+	}
+
 	@Override
 	public String getName() {
 		return this.spanData.getName();
@@ -71,18 +87,29 @@ public class OtelFinishedSpan implements FinishedSpan {
 		return this.spanData.getEndEpochNanos();
 	}
 
+	/**
+	 * Returns a read-only view over the span attributes. Values get converted to
+	 * {@link String} only when read.
+	 * @return tags view
+	 */
 	@Override
 	public Map<String, String> getTags() {
-		if (this.tags.isEmpty()) {
-			this.spanData.getAttributes().forEach((key, value) -> tags.put(key.getKey(), String.valueOf(value)));
+		if (this.tags == null) {
+			this.tags = new AttributesView(this.spanData.getAttributes());
 		}
 		return this.tags;
 	}
 
+	/**
+	 * Returns a read-only view over the span events.
+	 * @return events view
+	 */
 	@Override
 	public Collection<Map.Entry<Long, String>> getEvents() {
-		return this.spanData.getEvents().stream()
-				.map(e -> new AbstractMap.SimpleEntry<>(e.getEpochNanos(), e.getName())).collect(Collectors.toList());
+		if (this.events == null) {
+			this.events = new EventsView(this.spanData.getEvents());
+		}
+		return this.events;
 	}
 
 	@Override
@@ -102,42 +129,16 @@ public class OtelFinishedSpan implements FinishedSpan {
 
 	@Override
 	public String getLocalIp() {
-		// taken from Brave
-		// uses synchronized variant of double-checked locking as getting the endpoint can
-		// be expensive
-		if (this.linkLocalIp != null) {
-			return this.linkLocalIp;
-		}
-		synchronized (this) {
-			if (this.linkLocalIp == null) {
-				this.linkLocalIp = produceLinkLocalIp();
-			}
-		}
-		return this.linkLocalIp;
-	}
-
-	private String produceLinkLocalIp() {
-		try {
-			Enumeration<NetworkInterface> nics = NetworkInterface.getNetworkInterfaces();
-			while (nics.hasMoreElements()) {
-				NetworkInterface nic = nics.nextElement();
-				Enumeration<InetAddress> addresses = nic.getInetAddresses();
-				while (addresses.hasMoreElements()) {
-					InetAddress address = addresses.nextElement();
-					if (address.isSiteLocalAddress()) {
-						return address.getHostAddress();
-					}
-				}
-			}
-		}
-		catch (Exception e) {
-		}
-		return null;
+		return this.localIpResolver.localIp();
 	}
 
 	@Override
 	public int getRemotePort() {
-		return Integer.parseInt(getTags().get("net.peer.port"));
+		Long port = this.spanData.getAttributes().get(NET_PEER_PORT);
+		if (port != null) {
+			return port.intValue();
+		}
+		return Integer.parseInt(getTags().get(NET_PEER_PORT.getKey()));
 	}
 
 	@Override
@@ -147,10 +148,12 @@ public class OtelFinishedSpan implements FinishedSpan {
 
 	@Override
 	public Throwable getError() {
-		Attributes attributes = this.spanData.getEvents().stream().filter(e -> e.getName().equals("exception"))
-				.findFirst().map(EventData::getAttributes).orElse(null);
-		if (attributes != null) {
-			return new AssertingThrowable(attributes);
+		List<EventData> events = this.spanData.getEvents();
+		for (int i = 0; i < events.size(); i++) {
+			EventData event = events.get(i);
+			if ("exception".equals(event.getName())) {
+				return new AssertingThrowable(event.getAttributes());
+			}
 		}
 		return null;
 	}
@@ -165,12 +168,109 @@ public class OtelFinishedSpan implements FinishedSpan {
 
 	@Override
 	public String getRemoteServiceName() {
-		return this.spanData.getAttributes().get(AttributeKey.stringKey("peer.service"));
+		return this.spanData.getAttributes().get(PEER_SERVICE);
 	}
 
 	@Override
 	public String toString() {
-		return "SpanDataToReportedSpan{" + "spanData=" + spanData + ", tags=" + tags + '}';
+		return "SpanDataToReportedSpan{" + "spanData=" + this.spanData + ", tags=" + getTags() + '}';
+	}
+
+	/**
+	 * Read-only {@link Map} backed by {@link Attributes}. Single lookups scan the
+	 * attributes without copying them, iteration materializes the converted entries once.
+	 */
+	private static final class AttributesView extends AbstractMap<String, String> {
+
+		private final Attributes attributes;
+
+		private Map<String, String> converted;
+
+		private AttributesView(Attributes attributes) {
+			this.attributes = attributes;
+		}
+
+		@Override
+		public String get(Object key) {
+			if (!(key instanceof String)) {
+				return null;
+			}
+			if (this.converted != null) {
+				return this.converted.get(key);
+			}
+			Lookup lookup = new Lookup((String) key);
+			this.attributes.forEach(lookup);
+			return lookup.value != null ? String.valueOf(lookup.value) : null;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return get(key) != null;
+		}
+
+		@Override
+		public int size() {
+			return this.attributes.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return this.attributes.isEmpty();
+		}
+
+		@Override
+		public Set<Entry<String, String>> entrySet() {
+			if (this.converted == null) {
+				Map<String, String> map = new LinkedHashMap<>(this.attributes.size() * 4 / 3 + 1);
+				this.attributes.forEach((key, value) -> map.put(key.getKey(), String.valueOf(value)));
+				this.converted = Collections.unmodifiableMap(map);
+			}
+			return this.converted.entrySet();
+		}
+
+	}
+
+	private static final class Lookup implements BiConsumer<AttributeKey<?>, Object> {
+
+		private final String name;
+
+		private Object value;
+
+		private Lookup(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public void accept(AttributeKey<?> key, Object value) {
+			if (this.value == null && this.name.equals(key.getKey())) {
+				this.value = value;
+			}
+		}
+
+	}
+
+	/**
+	 * Read-only view over {@link EventData} exposing the timestamp and the name.
+	 */
+	private static final class EventsView extends AbstractList<Map.Entry<Long, String>> {
+
+		private final List<EventData> events;
+
+		private EventsView(List<EventData> events) {
+			this.events = events;
+		}
+
+		@Override
+		public Map.Entry<Long, String> get(int index) {
+			EventData event = this.events.get(index);
+			return new AbstractMap.SimpleImmutableEntry<>(event.getEpochNanos(), event.getName());
+		}
+
+		@Override
+		public int size() {
+			return this.events.size();
+		}
+
 	}
 
 	static class AssertingThrowable extends Throwable {
@@ -17,7 +17,10 @@
 package org.springframework.cloud.sleuth.otel.bridge;
 
 import java.net.URI;
-import java.util.regex.Pattern;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.SpanBuilder;
@@ -45,24 +48,55 @@ public class OtelHttpServerHandler
 		extends HttpServerTracer<HttpServerRequest, HttpServerResponse, HttpServerRequest, HttpServerRequest>
 		implements HttpServerHandler {
 
+	private static final String PARSED_URL_ATTRIBUTE = OtelHttpServerHandler.class.getName() + ".parsedUrl";
+
+	private static final String HEADER_INDEX_ATTRIBUTE = OtelHttpServerHandler.class.getName() + ".headerIndex";
+
+	private static final TextMapGetter<HttpServerRequest> GETTER = new TextMapGetter<HttpServerRequest>() {
+		@Override
+		public Iterable<String> keys(HttpServerRequest carrier) {
+			return carrier.headerNames();
+		}
+
+		@Override
+		public String get(HttpServerRequest carrier, String key) {
+			return carrier.header(key);
+		}
+	};
+
 	private final HttpRequestParser httpServerRequestParser;
 
 	private final HttpResponseParser httpServerResponseParser;
 
-	private final Pattern pattern;
+	private final SkipPathMatcher skipPathMatcher;
+
+	private final TextMapGetter<HttpServerRequest> getter;
 
 	public OtelHttpServerHandler(OpenTelemetry openTelemetry, HttpRequestParser httpServerRequestParser,
 			HttpResponseParser httpServerResponseParser, SkipPatternProvider skipPatternProvider) {
+		this(openTelemetry, httpServerRequestParser, httpServerResponseParser, skipPatternProvider, false);
+	}
+
+	/**
+	 * @param indexHeaders when {@code true} the headers read by the propagators are cached
+	 * per request by their lower case name, each header is then read from the request at
+	 * most once
+	 */
+	public OtelHttpServerHandler(OpenTelemetry openTelemetry, HttpRequestParser httpServerRequestParser,
+			HttpResponseParser httpServerResponseParser, SkipPatternProvider skipPatternProvider,
+			boolean indexHeaders) {
 		super(openTelemetry);
 		this.httpServerRequestParser = httpServerRequestParser;
 		this.httpServerResponseParser = httpServerResponseParser;
-		this.pattern = skipPatternProvider.skipPattern();
+		this.skipPathMatcher = SkipPathMatcher.compile(skipPatternProvider.skipPattern());
+		this.getter = indexHeaders
+				? new HeaderIndexGetter(openTelemetry.getPropagators().getTextMapPropagator().fields()) : GETTER;
 	}
 
 	@Override
 	public Span handleReceive(HttpServerRequest request) {
 		String url = request.path();
-		boolean shouldSkip = !StringUtils.isEmpty(url) && this.pattern.matcher(url).matches();
+		boolean shouldSkip = !StringUtils.isEmpty(url) && this.skipPathMatcher.matches(url);
 		if (shouldSkip) {
 			return OtelSpan.fromOtel(io.opentelemetry.api.trace.Span.getInvalid());
 		}
@@ -120,32 +154,47 @@ public class OtelHttpServerHandler
 
 	@Override
 	protected Integer peerPort(HttpServerRequest request) {
-		return toUri(request).getPort();
+		return parsedUrl(request).port;
 	}
 
 	@Override
 	protected String peerHostIP(HttpServerRequest request) {
-		return toUri(request).getHost();
+		return parsedUrl(request).host;
 	}
 
 	@Override
 	protected String flavor(HttpServerRequest request, HttpServerRequest request2) {
-		return toUri(request).getScheme();
+		return parsedUrl(request).scheme;
+	}
+
+	/**
+	 * The URL is sliced once per request and kept in the request attributes, it's read
+	 * for the port, the host and the scheme.
+	 */
+	private ParsedUrl parsedUrl(HttpServerRequest request) {
+		Object cached = request.getAttribute(PARSED_URL_ATTRIBUTE);
+		if (cached instanceof ParsedUrl) {
+			return (ParsedUrl) cached;
+		}
+		ParsedUrl parsedUrl = ParsedUrl.parse(request.url());
+		request.setAttribute(PARSED_URL_ATTRIBUTE, parsedUrl);
+		return parsedUrl;
+	}
+
+	/**
+	 * @param request server request
+	 * @return URI of the request URL
+	 * @deprecated the peer host, port and scheme are read from the URL sliced once per
+	 * request, this method is no longer called
+	 */
+	@Deprecated
+	protected URI toUri(HttpServerRequest request) {
+		return URI.create(request.url());
 	}
 
 	@Override
 	protected TextMapGetter<HttpServerRequest> getGetter() {
-		return new TextMapGetter<HttpServerRequest>() {
-			@Override
-			public Iterable<String> keys(HttpServerRequest carrier) {
-				return carrier.headerNames();
-			}
-
-			@Override
-			public String get(HttpServerRequest carrier, String key) {
-				return carrier.header(key);
-			}
-		};
+		return this.getter;
 	}
 
 	@Override
@@ -153,10 +202,6 @@ public class OtelHttpServerHandler
 		return request.url();
 	}
 
-	protected URI toUri(HttpServerRequest request) {
-		return URI.create(request.url());
-	}
-
 	@Override
 	protected String method(HttpServerRequest request) {
 		return request.method();
@@ -182,4 +227,60 @@ public class OtelHttpServerHandler
 		return "org.springframework.cloud.sleuth";
 	}
 
+	/**
+	 * Caches the headers read by the propagators in the request attributes, keyed by their
+	 * lower case name. Each header is read from the request at most once, whichever
+	 * propagator asks for it first. Names of the fields declared by the propagators are
+	 * lower cased upfront.
+	 */
+	private static final class HeaderIndexGetter implements TextMapGetter<HttpServerRequest> {
+
+		private static final Object NO_HEADER = new Object();
+
+		private final Map<String, String> lowerCaseFields;
+
+		private HeaderIndexGetter(Collection<String> fields) {
+			this.lowerCaseFields = new HashMap<>();
+			for (String field : fields) {
+				this.lowerCaseFields.put(field, field.toLowerCase(Locale.ROOT));
+			}
+		}
+
+		@Override
+		public Iterable<String> keys(HttpServerRequest carrier) {
+			return carrier.headerNames();
+		}
+
+		@Override
+		public String get(HttpServerRequest carrier, String key) {
+			if (carrier == null || key == null) {
+				return null;
+			}
+			String lowerCaseKey = this.lowerCaseFields.get(key);
+			if (lowerCaseKey == null) {
+				lowerCaseKey = key.toLowerCase(Locale.ROOT);
+			}
+			Map<String, Object> index = index(carrier);
+			Object cached = index.get(lowerCaseKey);
+			if (cached == null) {
+				String value = carrier.header(key);
+				index.put(lowerCaseKey, value != null ? value : NO_HEADER);
+				return value;
+			}
+			return cached != NO_HEADER ? (String) cached : null;
+		}
+
+		@SuppressWarnings("unchecked")
+		private Map<String, Object> index(HttpServerRequest carrier) {
+			Object cached = carrier.getAttribute(HEADER_INDEX_ATTRIBUTE);
+			if (cached instanceof Map) {
+				return (Map<String, Object>) cached;
+			}
+			Map<String, Object> index = new HashMap<>();
+			carrier.setAttribute(HEADER_INDEX_ATTRIBUTE, index);
+			return index;
+		}
+
+	}
+
 }
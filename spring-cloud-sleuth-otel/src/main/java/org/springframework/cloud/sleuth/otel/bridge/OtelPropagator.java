@@ -17,6 +17,8 @@
 package org.springframework.cloud.sleuth.otel.bridge;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 import io.opentelemetry.api.trace.Tracer;
@@ -41,15 +43,17 @@ public class OtelPropagator implements Propagator {
 
 	private final Tracer tracer;
 
+	private final List<String> fields;
+
 	public OtelPropagator(ContextPropagators propagation, Tracer tracer) {
 		this.propagator = propagation.getTextMapPropagator();
 		this.tracer = tracer;
+		this.fields = Collections.unmodifiableList(new ArrayList<>(new LinkedHashSet<>(this.propagator.fields())));
 	}
 
 	@Override
 	public List<String> fields() {
-		// TODO: We should make Propagator::fields returning Collection<String>
-		return new ArrayList<>(this.propagator.fields());
+		return this.fields;
 	}
 
 	@Override
@@ -60,17 +64,8 @@ public class OtelPropagator implements Propagator {
 
 	@Override
 	public <C> Span.Builder extract(C carrier, Getter<C> getter) {
-		Context extracted = this.propagator.extract(Context.current(), carrier, new TextMapGetter<C>() {
-			@Override
-			public Iterable<String> keys(C carrier) {
-				return fields();
-			}
-
-			@Override
-			public String get(C carrier, String key) {
-				return getter.get(carrier, key);
-			}
-		});
+		Context extracted = this.propagator.extract(Context.current(), carrier,
+				new GetterAdapter<>(this.fields, getter));
 		io.opentelemetry.api.trace.Span span = io.opentelemetry.api.trace.Span.fromContextOrNull(extracted);
 		if (span == null || span.equals(io.opentelemetry.api.trace.Span.getInvalid())) {
 			return OtelSpanBuilder.fromOtel(tracer.spanBuilder(""));
@@ -78,4 +73,32 @@ public class OtelPropagator implements Propagator {
 		return OtelSpanBuilder.fromOtel(this.tracer.spanBuilder("").setParent(extracted));
 	}
 
+	/**
+	 * Adapts a Sleuth {@link Getter} without copying the fields on each extraction.
+	 *
+	 * @param <C> carrier type
+	 */
+	private static final class GetterAdapter<C> implements TextMapGetter<C> {
+
+		private final List<String> fields;
+
+		private final Getter<C> getter;
+
+		private GetterAdapter(List<String> fields, Getter<C> getter) {
+			this.fields = fields;
+			this.getter = getter;
+		}
+
+		@Override
+		public Iterable<String> keys(C carrier) {
+			return this.fields;
+		}
+
+		@Override
+		public String get(C carrier, String key) {
+			return this.getter.get(carrier, key);
+		}
+
+	}
+
 }
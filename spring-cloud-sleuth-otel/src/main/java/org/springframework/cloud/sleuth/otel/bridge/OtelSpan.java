@@ -93,25 +93,25 @@ class OtelSpan implements Span {
 	@Override
 	public Span name(String name) {
 		this.delegate.updateName(name);
-		return new OtelSpan(this.delegate);
+		return this;
 	}
 
 	@Override
 	public Span event(String value) {
 		this.delegate.addEvent(value);
-		return new OtelSpan(this.delegate);
+		return this;
 	}
 
 	@Override
 	public Span tag(String key, String value) {
 		this.delegate.setAttribute(key, value);
-		return new OtelSpan(this.delegate);
+		return this;
 	}
 
 	@Override
 	public Span error(Throwable throwable) {
 		this.delegate.recordException(throwable);
-		return new OtelSpan(this.delegate);
+		return this;
 	}
 
 	@Override
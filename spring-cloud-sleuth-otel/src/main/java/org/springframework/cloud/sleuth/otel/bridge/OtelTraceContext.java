@@ -19,6 +19,7 @@ package org.springframework.cloud.sleuth.otel.bridge;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
 
+import io.opentelemetry.api.baggage.Baggage;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
@@ -79,6 +80,17 @@ public class OtelTraceContext implements TraceContext {
 		return Context.current();
 	}
 
+	/**
+	 * @param context trace context
+	 * @return baggage stored along with the trace context, empty when there's none
+	 */
+	public static Baggage baggageOf(@Nullable TraceContext context) {
+		if (context instanceof OtelTraceContext) {
+			return Baggage.fromContext(((OtelTraceContext) context).context());
+		}
+		return Baggage.empty();
+	}
+
 	@Override
 	public String traceId() {
 		return this.delegate.getTraceId();
@@ -87,9 +99,11 @@ public class OtelTraceContext implements TraceContext {
 	@Override
 	@Nullable
 	public String parentId() {
-		if (this.span instanceof ReadableSpan) {
-			ReadableSpan readableSpan = (ReadableSpan) this.span;
-			return readableSpan.toSpanData().getParentSpanId();
+		Span span = this.span instanceof SpanFromSpanContext ? ((SpanFromSpanContext) this.span).span : this.span;
+		if (span instanceof ReadableSpan) {
+			// the SDK keeps the parent span context as a field, no need to snapshot the
+			// whole span via toSpanData()
+			return ((ReadableSpan) span).getParentSpanContext().getSpanId();
 		}
 		return null;
 	}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Scheme, host and port of a URL sliced out of the string without validating it. Unlike
+ * {@link java.net.URI#create(String)} it doesn't throw for malformed URLs, the parts that
+ * can't be found are {@code null} (or {@code -1} for the port).
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+final class ParsedUrl {
+
+	static final ParsedUrl EMPTY = new ParsedUrl(null, null, -1);
+
+	@Nullable
+	final String scheme;
+
+	@Nullable
+	final String host;
+
+	final int port;
+
+	private ParsedUrl(@Nullable String scheme, @Nullable String host, int port) {
+		this.scheme = scheme;
+		this.host = host;
+		this.port = port;
+	}
+
+	static ParsedUrl parse(@Nullable String url) {
+		if (url == null || url.isEmpty()) {
+			return EMPTY;
+		}
+		int schemeEnd = url.indexOf("://");
+		if (schemeEnd <= 0) {
+			return EMPTY;
+		}
+		String scheme = url.substring(0, schemeEnd);
+		int authorityStart = schemeEnd + 3;
+		int authorityEnd = authorityEnd(url, authorityStart);
+		int hostStart = url.lastIndexOf('@', authorityEnd - 1) + 1;
+		if (hostStart < authorityStart) {
+			hostStart = authorityStart;
+		}
+		int hostEnd = authorityEnd;
+		int port = -1;
+		int portSeparator = url.lastIndexOf(':', authorityEnd - 1);
+		// a colon inside an IPv6 literal is not a port separator
+		if (portSeparator >= hostStart && url.lastIndexOf(']', authorityEnd - 1) < portSeparator) {
+			hostEnd = portSeparator;
+			port = port(url, portSeparator + 1, authorityEnd);
+		}
+		String host = hostEnd > hostStart ? url.substring(hostStart, hostEnd) : null;
+		return new ParsedUrl(scheme, host, port);
+	}
+
+	private static int authorityEnd(String url, int authorityStart) {
+		for (int i = authorityStart; i < url.length(); i++) {
+			char c = url.charAt(i);
+			if (c == '/' || c == '?' || c == '#') {
+				return i;
+			}
+		}
+		return url.length();
+	}
+
+	private static int port(String url, int start, int end) {
+		if (start == end || end - start > 5) {
+			return -1;
+		}
+		int port = 0;
+		for (int i = start; i < end; i++) {
+			char c = url.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			port = port * 10 + (c - '0');
+		}
+		return port;
+	}
+
+}
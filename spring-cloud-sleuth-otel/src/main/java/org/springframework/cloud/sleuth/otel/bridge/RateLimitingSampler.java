@@ -0,0 +1,116 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+/**
+ * {@link Sampler} that samples up to a given number of traces per second. Works like a
+ * token bucket with a burst of one second worth of traces.
+ *
+ * The bucket is kept as a single theoretical arrival time that gets moved forward with a
+ * compare-and-set for every sampled trace. Rejecting a trace only reads that value, so
+ * once the limit is reached threads no longer contend with each other.
+ *
+ * This sampler decides for new traces only, it should be wrapped in
+ * {@link Sampler#parentBased(Sampler)} so that child spans follow their parent. Unlike
+ * the trace id ratio based sampler, whose decision only depends on the trace id and so
+ * is the same for every span of a trace, each call takes a permit, which would sample
+ * spans of a single trace independently and use up the rate on child spans.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+public class RateLimitingSampler implements Sampler {
+
+	private static final SamplingResult SAMPLED = SamplingResult.create(SamplingDecision.RECORD_AND_SAMPLE);
+
+	private static final SamplingResult NOT_SAMPLED = SamplingResult.create(SamplingDecision.DROP);
+
+	private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private final int tracesPerSecond;
+
+	private final long intervalNanos;
+
+	private final long burstNanos;
+
+	private final LongSupplier nanoTime;
+
+	private final AtomicLong theoreticalArrivalTime;
+
+	public RateLimitingSampler(int tracesPerSecond) {
+		this(tracesPerSecond, System::nanoTime);
+	}
+
+	RateLimitingSampler(int tracesPerSecond, LongSupplier nanoTime) {
+		if (tracesPerSecond < 0) {
+			throw new IllegalArgumentException("tracesPerSecond < 0");
+		}
+		this.tracesPerSecond = tracesPerSecond;
+		this.intervalNanos = tracesPerSecond == 0 ? ONE_SECOND : Math.max(1, ONE_SECOND / tracesPerSecond);
+		this.burstNanos = ONE_SECOND - this.intervalNanos;
+		this.nanoTime = nanoTime;
+		this.theoreticalArrivalTime = new AtomicLong(nanoTime.getAsLong());
+	}
+
+	@Override
+	public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+			Attributes attributes, List<LinkData> parentLinks) {
+		return tryAcquire() ? SAMPLED : NOT_SAMPLED;
+	}
+
+	boolean tryAcquire() {
+		if (this.tracesPerSecond == 0) {
+			return false;
+		}
+		while (true) {
+			long now = this.nanoTime.getAsLong();
+			long current = this.theoreticalArrivalTime.get();
+			// nanoTime can overflow, compare differences instead of values
+			long arrival = current - now > 0 ? current : now;
+			if (arrival - now > this.burstNanos) {
+				return false;
+			}
+			if (this.theoreticalArrivalTime.compareAndSet(current, arrival + this.intervalNanos)) {
+				return true;
+			}
+		}
+	}
+
+	@Override
+	public String getDescription() {
+		return "RateLimitingSampler{" + this.tracesPerSecond + "}";
+	}
+
+	@Override
+	public String toString() {
+		return getDescription();
+	}
+
+}
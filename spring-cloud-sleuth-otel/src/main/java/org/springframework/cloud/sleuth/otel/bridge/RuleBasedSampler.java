@@ -0,0 +1,213 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link Sampler} that picks a sampling ratio depending on the span name, span kind and
+ * span attributes (e.g. {@code http.path} or {@code http.method}). Rules are evaluated
+ * in order and the first matching one wins. If no rule matches the fallback sampler is
+ * used.
+ *
+ * Rules are grouped per {@link SpanKind} and matching is done against literals (with an
+ * optional trailing {@code *} for prefix matching) so that no regular expression is
+ * evaluated when a span gets started. Spans with a local parent follow the parent's
+ * sampling decision so that a trace doesn't get split by rules with different ratios.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+public class RuleBasedSampler implements Sampler {
+
+	private static final SamplingResult SAMPLED = SamplingResult.create(SamplingDecision.RECORD_AND_SAMPLE);
+
+	private static final SamplingResult NOT_SAMPLED = SamplingResult.create(SamplingDecision.DROP);
+
+	private static final CompiledRule[] NO_RULES = new CompiledRule[0];
+
+	private final List<Rule> rules;
+
+	private final CompiledRule[][] rulesPerKind;
+
+	private final Sampler fallback;
+
+	public RuleBasedSampler(List<Rule> rules, Sampler fallback) {
+		this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+		this.rulesPerKind = compile(this.rules);
+		this.fallback = fallback;
+	}
+
+	private static CompiledRule[][] compile(List<Rule> rules) {
+		SpanKind[] kinds = SpanKind.values();
+		CompiledRule[][] compiled = new CompiledRule[kinds.length][];
+		for (SpanKind kind : kinds) {
+			List<CompiledRule> forKind = new ArrayList<>();
+			for (Rule rule : rules) {
+				if (rule.kind == null || rule.kind == kind) {
+					forKind.add(new CompiledRule(rule));
+				}
+			}
+			compiled[kind.ordinal()] = forKind.isEmpty() ? NO_RULES : forKind.toArray(NO_RULES);
+		}
+		return compiled;
+	}
+
+	@Override
+	public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+			Attributes attributes, List<LinkData> parentLinks) {
+		SpanContext parent = Span.fromContext(parentContext).getSpanContext();
+		if (parent.isValid() && !parent.isRemote()) {
+			return parent.isSampled() ? SAMPLED : NOT_SAMPLED;
+		}
+		CompiledRule[] candidates = this.rulesPerKind[spanKind.ordinal()];
+		for (CompiledRule rule : candidates) {
+			if (rule.matches(name, attributes)) {
+				return rule.sampler.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+			}
+		}
+		return this.fallback.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+	}
+
+	@Override
+	public String getDescription() {
+		return "RuleBasedSampler{rules=" + this.rules + ", fallback=" + this.fallback.getDescription() + "}";
+	}
+
+	@Override
+	public String toString() {
+		return getDescription();
+	}
+
+	/**
+	 * A single sampling rule. A {@code null} span name, {@code null} kind or an empty
+	 * attribute map means that the given criterion matches any span. Values ending with
+	 * {@code *} are matched as prefixes, all other values need to be equal.
+	 */
+	public static class Rule {
+
+		final String spanName;
+
+		final SpanKind kind;
+
+		final Map<String, String> attributes;
+
+		final double ratio;
+
+		public Rule(@Nullable String spanName, @Nullable SpanKind kind, Map<String, String> attributes,
+				double ratio) {
+			this.spanName = spanName;
+			this.kind = kind;
+			this.attributes = Collections.unmodifiableMap(attributes);
+			this.ratio = ratio;
+		}
+
+		@Override
+		public String toString() {
+			return "Rule{" + "spanName='" + this.spanName + '\'' + ", kind=" + this.kind + ", attributes="
+					+ this.attributes + ", ratio=" + this.ratio + '}';
+		}
+
+	}
+
+	private static final class CompiledRule {
+
+		final LiteralMatcher name;
+
+		final AttributeKey<String>[] keys;
+
+		final LiteralMatcher[] values;
+
+		final Sampler sampler;
+
+		@SuppressWarnings("unchecked")
+		CompiledRule(Rule rule) {
+			this.name = rule.spanName != null ? new LiteralMatcher(rule.spanName) : null;
+			this.keys = new AttributeKey[rule.attributes.size()];
+			this.values = new LiteralMatcher[rule.attributes.size()];
+			int i = 0;
+			for (Map.Entry<String, String> entry : rule.attributes.entrySet()) {
+				this.keys[i] = AttributeKey.stringKey(entry.getKey());
+				this.values[i] = new LiteralMatcher(entry.getValue());
+				i++;
+			}
+			this.sampler = Sampler.traceIdRatioBased(rule.ratio);
+		}
+
+		boolean matches(String spanName, Attributes attributes) {
+			if (this.name != null && !this.name.matches(spanName)) {
+				return false;
+			}
+			for (int i = 0; i < this.keys.length; i++) {
+				if (!this.values[i].matches(attributes.get(this.keys[i]))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public String toString() {
+			return "CompiledRule{" + "name=" + this.name + ", keys=" + Arrays.toString(this.keys) + ", values="
+					+ Arrays.toString(this.values) + '}';
+		}
+
+	}
+
+	private static final class LiteralMatcher {
+
+		final String literal;
+
+		final boolean prefix;
+
+		LiteralMatcher(String value) {
+			this.prefix = value.endsWith("*");
+			this.literal = this.prefix ? value.substring(0, value.length() - 1) : value;
+		}
+
+		boolean matches(@Nullable String value) {
+			if (value == null) {
+				return false;
+			}
+			return this.prefix ? value.startsWith(this.literal) : value.equals(this.literal);
+		}
+
+		@Override
+		public String toString() {
+			return this.prefix ? this.literal + "*" : this.literal;
+		}
+
+	}
+
+}
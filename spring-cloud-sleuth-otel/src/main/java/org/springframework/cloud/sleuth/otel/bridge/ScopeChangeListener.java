@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import io.opentelemetry.context.Context;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Gets notified about scope changes by the {@link ListenerNotifyingContextWrapper}.
+ * Mirrors the events published by the {@link EventPublishingContextWrapper} without
+ * creating any event objects.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+public interface ScopeChangeListener {
+
+	/**
+	 * Called when a new scope got attached.
+	 * @param context context corresponding to the attached scope
+	 */
+	default void onScopeAttached(@Nullable Context context) {
+
+	}
+
+	/**
+	 * Called when a scope got closed.
+	 */
+	default void onScopeClosed() {
+
+	}
+
+	/**
+	 * Called when a previous scope got restored after a scope was closed.
+	 * @param context context corresponding to the restored scope
+	 */
+	default void onScopeRestored(@Nullable Context context) {
+
+	}
+
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Matches request paths against a skip pattern. The top level alternatives of the
+ * pattern that are plain literals, literal prefixes ({@code /api-docs.*}) or literal
+ * suffixes ({@code .*\.png}) are matched with tries, the remaining alternatives are
+ * compiled into a smaller residual regex. Patterns that can't be decomposed safely
+ * (flags, back references, quoting) are matched with the original {@link Pattern}.
+ *
+ * Decisions of the regex are kept in a small direct mapped cache, indexed by the hash of
+ * the path, so that recently seen paths don't go through the regex again.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+public final class SkipPathMatcher {
+
+	private static final int CACHE_SIZE = 256;
+
+	private static final String METACHARACTERS = ".[]{}()*+?^$|\\";
+
+	private final Pattern pattern;
+
+	private final Set<String> exact;
+
+	private final Node prefixes;
+
+	private final Node suffixes;
+
+	@Nullable
+	private final Pattern residual;
+
+	private final CachedDecision[] cache = new CachedDecision[CACHE_SIZE];
+
+	private SkipPathMatcher(Pattern pattern, Set<String> exact, Node prefixes, Node suffixes,
+			@Nullable Pattern residual) {
+		this.pattern = pattern;
+		this.exact = exact;
+		this.prefixes = prefixes;
+		this.suffixes = suffixes;
+		this.residual = residual;
+	}
+
+	/**
+	 * @param pattern skip pattern
+	 * @return matcher equivalent to {@code pattern.matcher(path).matches()}
+	 */
+	public static SkipPathMatcher compile(Pattern pattern) {
+		List<String> alternatives = pattern.flags() == 0 ? alternatives(pattern.pattern()) : null;
+		if (alternatives == null) {
+			return new SkipPathMatcher(pattern, new HashSet<>(), new Node(), new Node(), pattern);
+		}
+		Set<String> exact = new HashSet<>();
+		Node prefixes = new Node();
+		Node suffixes = new Node();
+		List<String> residual = new ArrayList<>();
+		for (String alternative : alternatives) {
+			String literal;
+			if (alternative.startsWith(".*") && (literal = literal(alternative.substring(2))) != null
+					&& !literal.isEmpty()) {
+				suffixes.add(new StringBuilder(literal).reverse());
+			}
+			else if (alternative.endsWith(".*")
+					&& (literal = literal(alternative.substring(0, alternative.length() - 2))) != null) {
+				prefixes.add(literal);
+			}
+			else if ((literal = literal(alternative)) != null) {
+				exact.add(literal);
+			}
+			else {
+				residual.add(alternative);
+			}
+		}
+		Pattern residualPattern = residual.isEmpty() ? null : Pattern.compile(String.join("|", residual));
+		return new SkipPathMatcher(pattern, exact, prefixes, suffixes, residualPattern);
+	}
+
+	/**
+	 * @param path request path
+	 * @return {@code true} when the path matches the skip pattern
+	 */
+	public boolean matches(@Nullable String path) {
+		if (path == null) {
+			return false;
+		}
+		if (this.exact.contains(path) || matchesPrefix(path) || matchesSuffix(path)) {
+			return true;
+		}
+		return this.residual != null && matchesResidual(path);
+	}
+
+	/**
+	 * @return the original pattern
+	 */
+	public Pattern pattern() {
+		return this.pattern;
+	}
+
+	private boolean matchesPrefix(String path) {
+		Node node = this.prefixes;
+		for (int i = 0; node != null; i++) {
+			// .* doesn't match line terminators
+			if (node.terminal && !hasLineTerminator(path, i, path.length())) {
+				return true;
+			}
+			if (i == path.length()) {
+				return false;
+			}
+			node = node.child(path.charAt(i));
+		}
+		return false;
+	}
+
+	private boolean matchesSuffix(String path) {
+		Node node = this.suffixes;
+		for (int i = path.length(); node != null; i--) {
+			if (node.terminal && !hasLineTerminator(path, 0, i)) {
+				return true;
+			}
+			if (i == 0) {
+				return false;
+			}
+			node = node.child(path.charAt(i - 1));
+		}
+		return false;
+	}
+
+	private boolean matchesResidual(String path) {
+		int index = path.hashCode() & (CACHE_SIZE - 1);
+		CachedDecision cached = this.cache[index];
+		if (cached != null && cached.path.equals(path)) {
+			return cached.matches;
+		}
+		boolean matches = this.residual.matcher(path).matches();
+		// racy but safe, decisions are immutable and a lost update only costs a match
+		this.cache[index] = new CachedDecision(path, matches);
+		return matches;
+	}
+
+	private static boolean hasLineTerminator(String path, int from, int to) {
+		for (int i = from; i < to; i++) {
+			char c = path.charAt(i);
+			if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Splits the regex on its top level {@code |}.
+	 * @return alternatives or {@code null} if the regex can't be safely decomposed
+	 */
+	@Nullable
+	static List<String> alternatives(String regex) {
+		List<String> alternatives = new ArrayList<>();
+		int depth = 0;
+		boolean inClass = false;
+		int start = 0;
+		for (int i = 0; i < regex.length(); i++) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				if (i + 1 == regex.length()) {
+					return null;
+				}
+				char next = regex.charAt(i + 1);
+				// back references and quoting don't survive splitting
+				if ((next >= '1' && next <= '9') || next == 'k' || next == 'Q') {
+					return null;
+				}
+				i++;
+			}
+			else if (c == '(' && i + 1 < regex.length() && regex.charAt(i + 1) == '?'
+					&& !isGroupConstruct(regex, i + 2)) {
+				// inline flags would apply to the following alternatives too
+				return null;
+			}
+			else if (inClass) {
+				inClass = c != ']';
+			}
+			else if (c == '[') {
+				inClass = true;
+			}
+			else if (c == '(') {
+				depth++;
+			}
+			else if (c == ')') {
+				depth--;
+			}
+			else if (c == '|' && depth == 0) {
+				alternatives.add(regex.substring(start, i));
+				start = i + 1;
+			}
+		}
+		if (depth != 0 || inClass) {
+			return null;
+		}
+		alternatives.add(regex.substring(start));
+		return alternatives;
+	}
+
+	private static boolean isGroupConstruct(String regex, int index) {
+		return index < regex.length() && ":=!<>".indexOf(regex.charAt(index)) >= 0;
+	}
+
+	/**
+	 * @return the string matched by the regex if it's a plain literal, {@code null}
+	 * otherwise
+	 */
+	@Nullable
+	static String literal(String regex) {
+		StringBuilder literal = new StringBuilder(regex.length());
+		for (int i = 0; i < regex.length(); i++) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				if (i + 1 == regex.length()) {
+					return null;
+				}
+				char next = regex.charAt(++i);
+				// escaped letters and digits are classes or special constructs
+				if (Character.isLetterOrDigit(next)) {
+					return null;
+				}
+				literal.append(next);
+			}
+			else if (METACHARACTERS.indexOf(c) >= 0) {
+				return null;
+			}
+			else {
+				literal.append(c);
+			}
+		}
+		return literal.toString();
+	}
+
+	private static final class Node {
+
+		private final Map<Character, Node> children = new HashMap<>();
+
+		private boolean terminal;
+
+		void add(CharSequence literal) {
+			Node node = this;
+			for (int i = 0; i < literal.length(); i++) {
+				node = node.children.computeIfAbsent(literal.charAt(i), c -> new Node());
+			}
+			node.terminal = true;
+		}
+
+		@Nullable
+		Node child(char c) {
+			return this.children.isEmpty() ? null : this.children.get(c);
+		}
+
+	}
+
+	private static final class CachedDecision {
+
+		final String path;
+
+		final boolean matches;
+
+		CachedDecision(String path, boolean matches) {
+			this.path = path;
+			this.matches = matches;
+		}
+
+	}
+
+}
@@ -29,16 +29,16 @@ import org.springframework.cloud.sleuth.http.HttpRequest;
  */
 public class SkipPatternSampler implements SamplerFunction<HttpRequest> {
 
-	private final Pattern pattern;
+	private final SkipPathMatcher skipPathMatcher;
 
 	public SkipPatternSampler(Pattern pattern) {
-		this.pattern = pattern;
+		this.skipPathMatcher = SkipPathMatcher.compile(pattern);
 	}
 
 	@Override
 	public final Boolean trySample(HttpRequest request) {
 		String url = request.path();
-		boolean shouldSkip = this.pattern.matcher(url).matches();
+		boolean shouldSkip = this.skipPathMatcher.matches(url);
 		if (shouldSkip) {
 			return false;
 		}
@@ -17,6 +17,8 @@
 package org.springframework.cloud.sleuth.otel.bridge;
 
 import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.slf4j.MDC;
@@ -24,35 +26,81 @@ import org.slf4j.MDC;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 
-public class Slf4jApplicationListener implements ApplicationListener<ApplicationEvent> {
+public class Slf4jApplicationListener implements ApplicationListener<ApplicationEvent>, ScopeChangeListener {
 
 	private static final Log log = LogFactory.getLog(Slf4jApplicationListener.class);
 
-	private void onScopeAttached(EventPublishingContextWrapper.ScopeAttachedEvent event) {
+	private final boolean skipUnchangedEntries;
+
+	public Slf4jApplicationListener() {
+		this(false);
+	}
+
+	/**
+	 * @param skipUnchangedEntries when {@code true} only MDC entries whose values differ
+	 * from the ones already present in the MDC get written. Closing a scope doesn't clear
+	 * the MDC, the restored scope is compared with the MDC instead.
+	 */
+	public Slf4jApplicationListener(boolean skipUnchangedEntries) {
+		this.skipUnchangedEntries = skipUnchangedEntries;
+	}
+
+	@Override
+	public void onScopeAttached(Context context) {
 		if (log.isTraceEnabled()) {
-			log.trace("Got scope changed event [" + event + "]");
-		}
-		Span span = event.getSpan();
-		if (span != null) {
-			MDC.put("traceId", span.getSpanContext().getTraceId());
-			MDC.put("spanId", span.getSpanContext().getSpanId());
+			log.trace("Got scope changed event for context [" + context + "]");
 		}
+		putSpanIntoMdc(context);
 	}
 
-	private void onScopeRestored(EventPublishingContextWrapper.ScopeRestoredEvent event) {
+	@Override
+	public void onScopeRestored(Context context) {
 		if (log.isTraceEnabled()) {
-			log.trace("Got scope restored event [" + event + "]");
+			log.trace("Got scope restored event for context [" + context + "]");
+		}
+		putSpanIntoMdc(context);
+	}
+
+	private void putSpanIntoMdc(Context context) {
+		Span span = context != null ? Span.fromContextOrNull(context) : null;
+		if (span == null) {
+			if (this.skipUnchangedEntries) {
+				removeIfPresent("traceId");
+				removeIfPresent("spanId");
+			}
+			return;
+		}
+		SpanContext spanContext = span.getSpanContext();
+		if (this.skipUnchangedEntries) {
+			putIfChanged("traceId", spanContext.getTraceId());
+			putIfChanged("spanId", spanContext.getSpanId());
+		}
+		else {
+			MDC.put("traceId", spanContext.getTraceId());
+			MDC.put("spanId", spanContext.getSpanId());
+		}
+	}
+
+	private void putIfChanged(String key, String value) {
+		if (!value.equals(MDC.get(key))) {
+			MDC.put(key, value);
 		}
-		Span span = event.getSpan();
-		if (span != null) {
-			MDC.put("traceId", span.getSpanContext().getTraceId());
-			MDC.put("spanId", span.getSpanContext().getSpanId());
+	}
+
+	private void removeIfPresent(String key) {
+		if (MDC.get(key) != null) {
+			MDC.remove(key);
 		}
 	}
 
-	private void onScopeClosed(EventPublishingContextWrapper.ScopeClosedEvent event) {
+	@Override
+	public void onScopeClosed() {
 		if (log.isTraceEnabled()) {
-			log.trace("Got scope closed event [" + event + "]");
+			log.trace("Got scope closed event");
+		}
+		if (this.skipUnchangedEntries) {
+			// the restored or newly attached scope will update the MDC
+			return;
 		}
 		MDC.remove("traceId");
 		MDC.remove("spanId");
@@ -61,13 +109,13 @@ public class Slf4jApplicationListener implements ApplicationListener<Application
 	@Override
 	public void onApplicationEvent(ApplicationEvent event) {
 		if (event instanceof EventPublishingContextWrapper.ScopeAttachedEvent) {
-			onScopeAttached((EventPublishingContextWrapper.ScopeAttachedEvent) event);
+			onScopeAttached(((EventPublishingContextWrapper.ScopeAttachedEvent) event).context);
 		}
 		else if (event instanceof EventPublishingContextWrapper.ScopeClosedEvent) {
-			onScopeClosed((EventPublishingContextWrapper.ScopeClosedEvent) event);
+			onScopeClosed();
 		}
 		else if (event instanceof EventPublishingContextWrapper.ScopeRestoredEvent) {
-			onScopeRestored((EventPublishingContextWrapper.ScopeRestoredEvent) event);
+			onScopeRestored(((EventPublishingContextWrapper.ScopeRestoredEvent) event).context);
 		}
 	}
 
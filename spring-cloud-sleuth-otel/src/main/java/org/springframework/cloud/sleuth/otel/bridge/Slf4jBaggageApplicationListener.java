@@ -16,10 +16,12 @@
 
 package org.springframework.cloud.sleuth.otel.bridge;
 
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
 
 import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.context.Context;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.slf4j.MDC;
@@ -27,49 +29,120 @@ import org.slf4j.MDC;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 
-public class Slf4jBaggageApplicationListener implements ApplicationListener<ApplicationEvent> {
+public class Slf4jBaggageApplicationListener implements ApplicationListener<ApplicationEvent>, ScopeChangeListener {
 
 	private static final Log log = LogFactory.getLog(Slf4jBaggageApplicationListener.class);
 
-	private final List<String> lowerCaseCorrelationFields;
-
 	private final List<String> correlationFields;
 
+	/**
+	 * Lower case variant of each correlation field, {@code null} when it's the same.
+	 */
+	private final String[] lowerCaseCorrelationFields;
+
+	private final boolean skipUnchangedEntries;
+
 	public Slf4jBaggageApplicationListener(List<String> correlationFields) {
-		this.lowerCaseCorrelationFields = correlationFields.stream().map(String::toLowerCase)
-				.collect(Collectors.toList());
-		this.correlationFields = correlationFields;
+		this(correlationFields, false);
 	}
 
-	private void onScopeAttached(EventPublishingContextWrapper.ScopeAttachedEvent event) {
-		if (log.isTraceEnabled()) {
-			log.trace("Got scope attached event [" + event + "]");
+	/**
+	 * @param correlationFields baggage fields to put into MDC
+	 * @param skipUnchangedEntries when {@code true} only MDC entries whose values differ
+	 * from the ones already present in the MDC get written. Closing a scope doesn't clear
+	 * the MDC, the restored scope is compared with the MDC instead.
+	 */
+	public Slf4jBaggageApplicationListener(List<String> correlationFields, boolean skipUnchangedEntries) {
+		this(new BaggageFields(Collections.emptyList(), Collections.emptyList(), correlationFields),
+				skipUnchangedEntries);
+	}
+
+	/**
+	 * @param baggageFields registry of baggage fields, its correlation fields are put into
+	 * MDC
+	 * @param skipUnchangedEntries when {@code true} only MDC entries whose values differ
+	 * from the ones already present in the MDC get written
+	 */
+	public Slf4jBaggageApplicationListener(BaggageFields baggageFields, boolean skipUnchangedEntries) {
+		this.correlationFields = baggageFields.getCorrelationFields();
+		this.lowerCaseCorrelationFields = new String[this.correlationFields.size()];
+		for (int i = 0; i < this.lowerCaseCorrelationFields.length; i++) {
+			String field = this.correlationFields.get(i);
+			String lowerCase = field.toLowerCase(Locale.ROOT);
+			this.lowerCaseCorrelationFields[i] = lowerCase.equals(field) ? null : lowerCase;
 		}
-		if (event.getBaggage() != null) {
-			putEntriesIntoMdc(event.getBaggage());
+		this.skipUnchangedEntries = skipUnchangedEntries;
+	}
+
+	@Override
+	public void onScopeAttached(Context context) {
+		if (log.isTraceEnabled()) {
+			log.trace("Got scope attached event for context [" + context + "]");
 		}
+		putEntriesIntoMdc(context);
 	}
 
-	private void onScopeRestored(EventPublishingContextWrapper.ScopeRestoredEvent event) {
+	@Override
+	public void onScopeRestored(Context context) {
 		if (log.isTraceEnabled()) {
-			log.trace("Got scope restored event [" + event + "]");
+			log.trace("Got scope restored event for context [" + context + "]");
 		}
-		if (event.getBaggage() != null) {
-			putEntriesIntoMdc(event.getBaggage());
+		putEntriesIntoMdc(context);
+	}
+
+	private void putEntriesIntoMdc(Context context) {
+		Baggage baggage = context != null ? Baggage.fromContextOrNull(context) : null;
+		if (this.skipUnchangedEntries) {
+			updateChangedEntries(baggage);
+			return;
+		}
+		if (baggage == null) {
+			return;
+		}
+		for (int i = 0; i < this.lowerCaseCorrelationFields.length; i++) {
+			String value = valueOf(baggage, i);
+			if (value != null) {
+				MDC.put(this.correlationFields.get(i), value);
+			}
 		}
 	}
 
-	private void putEntriesIntoMdc(Baggage baggage) {
-		baggage.forEach((key, baggageEntry) -> {
-			if (lowerCaseCorrelationFields.contains(key.toLowerCase())) {
-				MDC.put(key, baggageEntry.getValue());
+	private void updateChangedEntries(Baggage baggage) {
+		for (int i = 0; i < this.lowerCaseCorrelationFields.length; i++) {
+			String field = this.correlationFields.get(i);
+			String value = baggage != null ? valueOf(baggage, i) : null;
+			String current = MDC.get(field);
+			if (value == null) {
+				if (current != null) {
+					MDC.remove(field);
+				}
+			}
+			else if (!value.equals(current)) {
+				MDC.put(field, value);
 			}
-		});
+		}
 	}
 
-	private void onScopeClosed(EventPublishingContextWrapper.ScopeClosedEvent event) {
+	/**
+	 * MDC entries are always keyed by the correlation field as configured. The baggage
+	 * entry may use the configured name or its lower case variant.
+	 */
+	private String valueOf(Baggage baggage, int field) {
+		String value = baggage.getEntryValue(this.correlationFields.get(field));
+		if (value != null || this.lowerCaseCorrelationFields[field] == null) {
+			return value;
+		}
+		return baggage.getEntryValue(this.lowerCaseCorrelationFields[field]);
+	}
+
+	@Override
+	public void onScopeClosed() {
 		if (log.isTraceEnabled()) {
-			log.trace("Got scope closed event [" + event + "]");
+			log.trace("Got scope closed event");
+		}
+		if (this.skipUnchangedEntries) {
+			// the restored or newly attached scope will update the MDC
+			return;
 		}
 		correlationFields.forEach(MDC::remove);
 	}
@@ -77,13 +150,13 @@ public class Slf4jBaggageApplicationListener implements ApplicationListener<Appl
 	@Override
 	public void onApplicationEvent(ApplicationEvent event) {
 		if (event instanceof EventPublishingContextWrapper.ScopeAttachedEvent) {
-			onScopeAttached((EventPublishingContextWrapper.ScopeAttachedEvent) event);
+			onScopeAttached(((EventPublishingContextWrapper.ScopeAttachedEvent) event).context);
 		}
 		else if (event instanceof EventPublishingContextWrapper.ScopeClosedEvent) {
-			onScopeClosed((EventPublishingContextWrapper.ScopeClosedEvent) event);
+			onScopeClosed();
 		}
 		else if (event instanceof EventPublishingContextWrapper.ScopeRestoredEvent) {
-			onScopeRestored((EventPublishingContextWrapper.ScopeRestoredEvent) event);
+			onScopeRestored(((EventPublishingContextWrapper.ScopeRestoredEvent) event).context);
 		}
 	}
 
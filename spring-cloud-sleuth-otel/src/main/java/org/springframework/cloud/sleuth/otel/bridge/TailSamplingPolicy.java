@@ -0,0 +1,125 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * Decides whether the locally buffered spans of a trace get exported by the
+ * {@link TailSamplingSpanProcessor}.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface TailSamplingPolicy {
+
+	/**
+	 * @param spans ended spans of a single trace
+	 * @return {@code true} to export the spans
+	 */
+	boolean shouldSample(List<SpanData> spans);
+
+	/**
+	 * @return policy keeping traces with at least one span with an error status or a
+	 * recorded exception, which is how {@code Span#error(Throwable)} reports errors
+	 */
+	static TailSamplingPolicy error() {
+		return spans -> {
+			for (SpanData span : spans) {
+				if (span.getStatus().getStatusCode() == StatusCode.ERROR) {
+					return true;
+				}
+				// same check as OtelFinishedSpan#getError()
+				List<EventData> events = span.getEvents();
+				for (int i = 0; i < events.size(); i++) {
+					if ("exception".equals(events.get(i).getName())) {
+						return true;
+					}
+				}
+			}
+			return false;
+		};
+	}
+
+	/**
+	 * @param thresholdMillis min span duration in millis
+	 * @return policy keeping traces with at least one span lasting at least the threshold
+	 */
+	static TailSamplingPolicy latency(long thresholdMillis) {
+		long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+		return spans -> {
+			for (SpanData span : spans) {
+				if (span.getEndEpochNanos() - span.getStartEpochNanos() >= thresholdNanos) {
+					return true;
+				}
+			}
+			return false;
+		};
+	}
+
+	/**
+	 * @param key attribute key
+	 * @param value expected attribute value
+	 * @return policy keeping traces with at least one span having the attribute value
+	 */
+	static TailSamplingPolicy attribute(String key, String value) {
+		return spans -> {
+			for (SpanData span : spans) {
+				Object[] found = new Object[1];
+				span.getAttributes().forEach((attributeKey, attributeValue) -> {
+					if (found[0] == null && key.equals(attributeKey.getKey())) {
+						found[0] = attributeValue;
+					}
+				});
+				if (found[0] != null && Objects.equals(value, String.valueOf(found[0]))) {
+					return true;
+				}
+			}
+			return false;
+		};
+	}
+
+	/**
+	 * @param ratio share of traces to keep, between 0 and 1
+	 * @return policy keeping the given share of traces, consistently by trace id
+	 */
+	static TailSamplingPolicy probabilistic(double ratio) {
+		if (ratio <= 0) {
+			return spans -> false;
+		}
+		if (ratio >= 1) {
+			return spans -> true;
+		}
+		long bound = (long) (ratio * Long.MAX_VALUE);
+		return spans -> {
+			if (spans.isEmpty()) {
+				return false;
+			}
+			String traceId = spans.get(0).getTraceId();
+			long random = Long.parseUnsignedLong(traceId.substring(traceId.length() - 16), 16);
+			return (random & Long.MAX_VALUE) < bound;
+		};
+	}
+
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * {@link SpanProcessor} buffering ended spans per trace id and passing them to its
+ * delegate only when one of the {@link TailSamplingPolicy policies} keeps the trace. A
+ * trace gets decided once no span of it ended for the completion timeout, or earlier
+ * when the buffer is full, oldest trace first. Spans ending after their trace got
+ * decided follow the previous decision. Only spans sampled by the head sampler reach
+ * this processor.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.0.0
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+	private static final Log log = LogFactory.getLog(TailSamplingSpanProcessor.class);
+
+	private final SpanProcessor delegate;
+
+	private final List<TailSamplingPolicy> policies;
+
+	private final int maxBufferedSpans;
+
+	private final long completionTimeoutNanos;
+
+	private final Map<String, TraceBuffer> traces = new ConcurrentHashMap<>();
+
+	// trace ids in order of their first span, used to evict the oldest trace
+	private final Queue<String> arrivals = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger bufferedSpans = new AtomicInteger();
+
+	private final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+	private final Queue<String> decisionOrder = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger decisionCount = new AtomicInteger();
+
+	private final LongAdder sampledTraces = new LongAdder();
+
+	private final LongAdder droppedTraces = new LongAdder();
+
+	private final ScheduledExecutorService executor;
+
+	/**
+	 * @param delegate processor receiving the spans of kept traces
+	 * @param policies policies deciding whether a trace is kept, any of them is enough
+	 * @param maxBufferedSpans max number of spans kept in memory
+	 * @param completionTimeoutMillis time in millis after the last ended span of a trace
+	 * at which the trace is considered complete
+	 */
+	public TailSamplingSpanProcessor(SpanProcessor delegate, List<TailSamplingPolicy> policies, int maxBufferedSpans,
+			long completionTimeoutMillis) {
+		this.delegate = delegate;
+		this.policies = new ArrayList<>(policies);
+		this.maxBufferedSpans = maxBufferedSpans;
+		this.completionTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(completionTimeoutMillis);
+		this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "sleuth-tail-sampling");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long sweepInterval = Math.max(completionTimeoutMillis / 2, 10);
+		this.executor.scheduleWithFixedDelay(this::decideCompleted, sweepInterval, sweepInterval,
+				TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void onStart(Context parentContext, ReadWriteSpan span) {
+		this.delegate.onStart(parentContext, span);
+	}
+
+	@Override
+	public boolean isStartRequired() {
+		return this.delegate.isStartRequired();
+	}
+
+	@Override
+	public void onEnd(ReadableSpan span) {
+		if (!span.getSpanContext().isSampled()) {
+			return;
+		}
+		String traceId = span.getSpanContext().getTraceId();
+		Boolean decision = this.decisions.get(traceId);
+		if (decision != null) {
+			if (decision) {
+				this.delegate.onEnd(span);
+			}
+			return;
+		}
+		while (this.bufferedSpans.get() >= this.maxBufferedSpans && decideOldest()) {
+			// making room
+		}
+		long now = System.nanoTime();
+		Boolean[] lateDecision = new Boolean[1];
+		this.traces.compute(traceId, (id, buffer) -> {
+			if (buffer == null) {
+				// decide() remembers the decision while holding the trace, so a trace
+				// decided since the check above gets no new buffer
+				lateDecision[0] = this.decisions.get(id);
+				if (lateDecision[0] != null) {
+					return null;
+				}
+				buffer = new TraceBuffer();
+				this.arrivals.add(id);
+			}
+			buffer.spans.add(span);
+			buffer.lastUpdateNanos = now;
+			// counted together with the add, decide() subtracts once it removed the buffer
+			this.bufferedSpans.incrementAndGet();
+			return buffer;
+		});
+		if (Boolean.TRUE.equals(lateDecision[0])) {
+			this.delegate.onEnd(span);
+		}
+	}
+
+	@Override
+	public boolean isEndRequired() {
+		return true;
+	}
+
+	private boolean decideOldest() {
+		String traceId;
+		while ((traceId = this.arrivals.poll()) != null) {
+			if (decide(traceId)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void decideCompleted() {
+		try {
+			long now = System.nanoTime();
+			for (Map.Entry<String, TraceBuffer> entry : this.traces.entrySet()) {
+				if (now - entry.getValue().lastUpdateNanos >= this.completionTimeoutNanos) {
+					decide(entry.getKey());
+				}
+			}
+			String traceId;
+			while ((traceId = this.arrivals.peek()) != null && !this.traces.containsKey(traceId)) {
+				this.arrivals.remove(traceId);
+			}
+		}
+		catch (RuntimeException ex) {
+			log.warn("Failed to decide completed traces", ex);
+		}
+	}
+
+	private void decideAll() {
+		// each buffered trace has its id queued, ids of traces arriving meanwhile stay
+		// queued for their own decision
+		for (int i = this.arrivals.size(); i > 0; i--) {
+			String traceId = this.arrivals.poll();
+			if (traceId == null) {
+				return;
+			}
+			decide(traceId);
+		}
+	}
+
+	private boolean decide(String traceId) {
+		TraceBuffer[] decided = new TraceBuffer[1];
+		// removing the buffer and remembering the decision at once, spans of the trace
+		// ending meanwhile either make it into the buffer or follow the decision
+		this.traces.computeIfPresent(traceId, (id, buffer) -> {
+			buffer.sample = shouldSample(buffer.spans);
+			remember(id, buffer.sample);
+			decided[0] = buffer;
+			return null;
+		});
+		TraceBuffer buffer = decided[0];
+		if (buffer == null) {
+			return false;
+		}
+		List<ReadableSpan> spans = buffer.spans;
+		this.bufferedSpans.addAndGet(-spans.size());
+		if (buffer.sample) {
+			this.sampledTraces.increment();
+			for (ReadableSpan span : spans) {
+				this.delegate.onEnd(span);
+			}
+		}
+		else {
+			this.droppedTraces.increment();
+		}
+		return true;
+	}
+
+	private boolean shouldSample(List<ReadableSpan> spans) {
+		List<SpanData> spanData = new ArrayList<>(spans.size());
+		for (ReadableSpan span : spans) {
+			spanData.add(span.toSpanData());
+		}
+		for (TailSamplingPolicy policy : this.policies) {
+			if (policy.shouldSample(spanData)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void remember(String traceId, boolean sample) {
+		if (this.decisions.put(traceId, sample) == null) {
+			this.decisionOrder.add(traceId);
+			if (this.decisionCount.incrementAndGet() > this.maxBufferedSpans) {
+				String oldest = this.decisionOrder.poll();
+				if (oldest != null) {
+					this.decisions.remove(oldest);
+					this.decisionCount.decrementAndGet();
+				}
+			}
+		}
+	}
+
+	@Override
+	public CompletableResultCode shutdown() {
+		this.executor.shutdownNow();
+		decideAll();
+		return this.delegate.shutdown();
+	}
+
+	@Override
+	public CompletableResultCode forceFlush() {
+		decideAll();
+		return this.delegate.forceFlush();
+	}
+
+	/**
+	 * @return number of spans waiting for their trace to be decided
+	 */
+	public int getBufferedSpans() {
+		return this.bufferedSpans.get();
+	}
+
+	/**
+	 * @return number of traces waiting to be decided
+	 */
+	public int getBufferedTraces() {
+		return this.traces.size();
+	}
+
+	/**
+	 * @return number of traces passed to the delegate
+	 */
+	public long getSampledTraces() {
+		return this.sampledTraces.sum();
+	}
+
+	/**
+	 * @return number of traces no policy kept
+	 */
+	public long getDroppedTraces() {
+		return this.droppedTraces.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "TailSamplingSpanProcessor{" + "delegate=" + this.delegate + ", policies=" + this.policies + '}';
+	}
+
+	private static final class TraceBuffer {
+
+		private final List<ReadableSpan> spans = new ArrayList<>(4);
+
+		private volatile long lastUpdateNanos;
+
+		private boolean sample;
+
+	}
+
+}
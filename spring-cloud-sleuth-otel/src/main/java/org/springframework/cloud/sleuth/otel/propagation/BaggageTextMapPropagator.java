@@ -16,10 +16,8 @@
 
 package org.springframework.cloud.sleuth.otel.propagation;
 
-import java.util.AbstractMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 import io.opentelemetry.api.baggage.Baggage;
 import io.opentelemetry.api.baggage.BaggageBuilder;
@@ -32,6 +30,10 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.cloud.sleuth.BaggageManager;
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
+import org.springframework.cloud.sleuth.otel.bridge.OtelTraceContext;
+import org.springframework.lang.Nullable;
 
 /**
  * {@link TextMapPropagator} that adds Sleuth compatible baggage entries (name of the
@@ -44,12 +46,47 @@ public class BaggageTextMapPropagator implements TextMapPropagator {
 
 	private static final Log log = LogFactory.getLog(BaggageTextMapPropagator.class);
 
+	// TODO: [OTEL] magic string
+	private static final BaggageEntryMetadata PROPAGATION_UNLIMITED = BaggageEntryMetadata
+			.create("propagation=unlimited");
+
+	private final BaggageFields baggageFields;
+
 	private final List<String> remoteFields;
 
+	@Nullable
+	private final CurrentTraceContext currentTraceContext;
+
+	@Nullable
 	private final BaggageManager baggageManager;
 
+	/**
+	 * @param remoteFields remote fields
+	 * @param baggageManager baggage manager, all of its baggage gets injected along with
+	 * the baggage of the context
+	 * @deprecated use {@link #BaggageTextMapPropagator(BaggageFields, CurrentTraceContext)},
+	 * which reads the baggage straight from the contexts instead of copying all of it
+	 */
+	@Deprecated
 	public BaggageTextMapPropagator(List<String> remoteFields, BaggageManager baggageManager) {
-		this.remoteFields = remoteFields;
+		this(new BaggageFields(remoteFields, Collections.emptyList(), Collections.emptyList()), null,
+				baggageManager);
+	}
+
+	/**
+	 * @param baggageFields baggage fields
+	 * @param currentTraceContext current trace context, its baggage gets injected along
+	 * with the baggage of the context and the current one
+	 */
+	public BaggageTextMapPropagator(BaggageFields baggageFields, @Nullable CurrentTraceContext currentTraceContext) {
+		this(baggageFields, currentTraceContext, null);
+	}
+
+	private BaggageTextMapPropagator(BaggageFields baggageFields, @Nullable CurrentTraceContext currentTraceContext,
+			@Nullable BaggageManager baggageManager) {
+		this.baggageFields = baggageFields;
+		this.remoteFields = baggageFields.getRemoteFields();
+		this.currentTraceContext = currentTraceContext;
 		this.baggageManager = baggageManager;
 	}
 
@@ -60,32 +97,71 @@ public class BaggageTextMapPropagator implements TextMapPropagator {
 
 	@Override
 	public <C> void inject(Context context, C c, TextMapSetter<C> setter) {
-		List<Map.Entry<String, String>> baggageEntries = applicableBaggageEntries(c);
-		baggageEntries.forEach(e -> setter.set(c, e.getKey(), e.getValue()));
+		if (this.remoteFields.isEmpty()) {
+			return;
+		}
+		Baggage baggage = Baggage.fromContext(context);
+		baggage.forEach((key, entry) -> {
+			if (this.baggageFields.isRemoteField(key)) {
+				setter.set(c, key, entry.getValue());
+			}
+		});
+		// then the current baggage and the baggage of the current trace context, as the
+		// baggage manager resolves them
+		Baggage current = Baggage.current();
+		if (current != baggage) {
+			injectMissing(current, baggage, Baggage.empty(), c, setter);
+		}
+		Baggage traceContextBaggage = this.currentTraceContext != null
+				? OtelTraceContext.baggageOf(this.currentTraceContext.context()) : Baggage.empty();
+		if (traceContextBaggage != baggage && traceContextBaggage != current) {
+			injectMissing(traceContextBaggage, baggage, current, c, setter);
+		}
+		if (this.baggageManager != null) {
+			this.baggageManager.getAllBaggage().forEach((key, value) -> {
+				if (this.baggageFields.isRemoteField(key) && baggage.getEntryValue(key) == null
+						&& current.getEntryValue(key) == null) {
+					setter.set(c, key, value);
+				}
+			});
+		}
 	}
 
-	private <C> List<Map.Entry<String, String>> applicableBaggageEntries(C c) {
-		Map<String, String> allBaggage = this.baggageManager.getAllBaggage();
-		List<String> lowerCaseKeys = this.remoteFields.stream().map(String::toLowerCase).collect(Collectors.toList());
-		return allBaggage.entrySet().stream().filter(e -> lowerCaseKeys.contains(e.getKey().toLowerCase()))
-				.collect(Collectors.toList());
+	/**
+	 * Injects the remote entries of the source that neither of the other baggage
+	 * overrides.
+	 */
+	private <C> void injectMissing(Baggage source, Baggage first, Baggage second, C c, TextMapSetter<C> setter) {
+		if (source.isEmpty()) {
+			return;
+		}
+		source.forEach((key, entry) -> {
+			if (this.baggageFields.isRemoteField(key) && first.getEntryValue(key) == null
+					&& second.getEntryValue(key) == null) {
+				setter.set(c, key, entry.getValue());
+			}
+		});
 	}
 
 	@Override
 	public <C> Context extract(Context context, C c, TextMapGetter<C> getter) {
-		Map<String, String> baggageEntries = this.remoteFields.stream()
-				.map(s -> new AbstractMap.SimpleEntry<>(s, getter.get(c, s))).filter(e -> e.getValue() != null)
-				.collect(Collectors.toMap((e) -> e.getKey(), (e) -> e.getValue()));
-		BaggageBuilder builder = Baggage.current().toBuilder();
-		// TODO: [OTEL] magic string
-		baggageEntries
-				.forEach((key, value) -> builder.put(key, value, BaggageEntryMetadata.create("propagation=unlimited")));
-		Baggage baggage = builder.build();
-		Context withBaggage = context.with(baggage);
+		Baggage current = Baggage.current();
+		BaggageBuilder builder = null;
+		for (String field : this.remoteFields) {
+			String value = getter.get(c, field);
+			if (value == null) {
+				continue;
+			}
+			if (builder == null) {
+				builder = current.toBuilder();
+			}
+			builder.put(field, value, PROPAGATION_UNLIMITED);
+		}
+		Baggage baggage = builder != null ? builder.build() : current;
 		if (log.isDebugEnabled()) {
-			log.debug("Will propagate new baggage context for entries " + baggageEntries);
+			log.debug("Will propagate new baggage context for entries " + baggage.asMap());
 		}
-		return withBaggage;
+		return context.with(baggage);
 	}
 
 }
@@ -16,11 +16,14 @@
 
 package org.springframework.cloud.sleuth.otel.propagation;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import io.opentelemetry.api.baggage.Baggage;
 import io.opentelemetry.api.baggage.propagation.W3CBaggagePropagator;
@@ -55,9 +58,32 @@ public class CompositeTextMapPropagator implements TextMapPropagator {
 
 	private final List<PropagationType> types;
 
+	private final TextMapPropagator[] injectors;
+
+	private final TextMapPropagator[] extractors;
+
+	private final List<String> fields;
+
+	private final Map<String, Integer> fieldIndex;
+
+	private final boolean singlePassExtraction;
+
 	public CompositeTextMapPropagator(BeanFactory beanFactory, List<PropagationType> types) {
+		this(beanFactory, types, false);
+	}
+
+	/**
+	 * @param beanFactory bean factory
+	 * @param types propagation types in the order in which they're applied
+	 * @param singlePassExtraction when {@code true} the carrier is wrapped in a snapshot
+	 * for extraction, so that every header gets read once even if multiple propagators
+	 * look it up
+	 */
+	public CompositeTextMapPropagator(BeanFactory beanFactory, List<PropagationType> types,
+			boolean singlePassExtraction) {
 		this.types = types;
-		if (isOnClasspath("io.opentelemetry.extension.trace.propagation.AwsXRayPropagator")) {
+		this.singlePassExtraction = singlePassExtraction;
+		if (isOnClasspath("io.opentelemetry.extension.aws.AwsXrayPropagator")) {
 			this.mapping.put(PropagationType.AWS, beanFactory.getBeanProvider(AwsXrayPropagator.class)
 					.getIfAvailable(AwsXrayPropagator::getInstance));
 		}
@@ -69,7 +95,7 @@ public class CompositeTextMapPropagator implements TextMapPropagator {
 			this.mapping.put(PropagationType.JAEGER,
 					beanFactory.getBeanProvider(JaegerPropagator.class).getIfAvailable(JaegerPropagator::getInstance));
 		}
-		if (isOnClasspath("io.opentelemetry.extension.trace.propagation.OtTracerPropagator")) {
+		if (isOnClasspath("io.opentelemetry.extension.trace.propagation.OtTracePropagator")) {
 			this.mapping.put(PropagationType.OT_TRACER, beanFactory.getBeanProvider(OtTracePropagator.class)
 					.getIfAvailable(OtTracePropagator::getInstance));
 		}
@@ -79,6 +105,20 @@ public class CompositeTextMapPropagator implements TextMapPropagator {
 		if (log.isDebugEnabled()) {
 			log.debug("Registered the following context propagation types " + this.mapping.keySet());
 		}
+		this.injectors = this.types.stream()
+				.map(key -> this.mapping.getOrDefault(key, NoopTextMapPropagator.INSTANCE))
+				.toArray(TextMapPropagator[]::new);
+		this.extractors = this.types.stream().map(this.mapping::get)
+				.filter(p -> p != null && p != NoopTextMapPropagator.INSTANCE).toArray(TextMapPropagator[]::new);
+		Set<String> fields = new LinkedHashSet<>();
+		for (TextMapPropagator injector : this.injectors) {
+			fields.addAll(injector.fields());
+		}
+		this.fields = Collections.unmodifiableList(new ArrayList<>(fields));
+		this.fieldIndex = new HashMap<>();
+		for (int i = 0; i < this.fields.size(); i++) {
+			this.fieldIndex.put(this.fields.get(i), i);
+		}
 	}
 
 	private boolean isOnClasspath(String clazz) {
@@ -87,23 +127,27 @@ public class CompositeTextMapPropagator implements TextMapPropagator {
 
 	@Override
 	public List<String> fields() {
-		return this.types.stream().map(key -> this.mapping.getOrDefault(key, NoopTextMapPropagator.INSTANCE))
-				.flatMap(p -> p.fields().stream()).collect(Collectors.toList());
+		return this.fields;
 	}
 
 	@Override
 	public <C> void inject(Context context, C carrier, TextMapSetter<C> setter) {
-		this.types.stream().map(key -> this.mapping.getOrDefault(key, NoopTextMapPropagator.INSTANCE))
-				.forEach(p -> p.inject(context, carrier, setter));
+		for (TextMapPropagator injector : this.injectors) {
+			injector.inject(context, carrier, setter);
+		}
 	}
 
 	@Override
 	public <C> Context extract(Context context, C carrier, TextMapGetter<C> getter) {
-		for (PropagationType type : this.types) {
-			TextMapPropagator propagator = this.mapping.get(type);
-			if (propagator == null || propagator == NoopTextMapPropagator.INSTANCE) {
-				continue;
-			}
+		if (this.singlePassExtraction && carrier != null && this.extractors.length > 1) {
+			return doExtract(context, new CarrierSnapshot<>(carrier, getter, this.fieldIndex),
+					CarrierSnapshot.getter());
+		}
+		return doExtract(context, carrier, getter);
+	}
+
+	private <C> Context doExtract(Context context, C carrier, TextMapGetter<C> getter) {
+		for (TextMapPropagator propagator : this.extractors) {
 			Context extractedContext = propagator.extract(context, carrier, getter);
 			Span span = Span.fromContextOrNull(extractedContext);
 			Baggage baggage = Baggage.fromContextOrNull(extractedContext);
@@ -114,6 +158,72 @@ public class CompositeTextMapPropagator implements TextMapPropagator {
 		return context;
 	}
 
+	/**
+	 * Carrier that reads each of the declared fields from the original carrier at most
+	 * once. Other keys are read from the original carrier.
+	 *
+	 * @param <C> type of the original carrier
+	 */
+	static final class CarrierSnapshot<C> {
+
+		private static final Object UNREAD = new Object();
+
+		private final C carrier;
+
+		private final TextMapGetter<C> getter;
+
+		private final Map<String, Integer> fieldIndex;
+
+		private final Object[] values;
+
+		CarrierSnapshot(C carrier, TextMapGetter<C> getter, Map<String, Integer> fieldIndex) {
+			this.carrier = carrier;
+			this.getter = getter;
+			this.fieldIndex = fieldIndex;
+			this.values = new Object[fieldIndex.size()];
+			Arrays.fill(this.values, UNREAD);
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		static <C> TextMapGetter<CarrierSnapshot<C>> getter() {
+			return (TextMapGetter) SnapshotGetter.INSTANCE;
+		}
+
+		String get(String key) {
+			Integer index = key != null ? this.fieldIndex.get(key) : null;
+			if (index == null) {
+				return this.getter.get(this.carrier, key);
+			}
+			Object value = this.values[index];
+			if (value == UNREAD) {
+				value = this.getter.get(this.carrier, key);
+				this.values[index] = value;
+			}
+			return (String) value;
+		}
+
+		Iterable<String> keys() {
+			return this.getter.keys(this.carrier);
+		}
+
+	}
+
+	private static final class SnapshotGetter implements TextMapGetter<CarrierSnapshot<Object>> {
+
+		private static final SnapshotGetter INSTANCE = new SnapshotGetter();
+
+		@Override
+		public Iterable<String> keys(CarrierSnapshot<Object> carrier) {
+			return carrier.keys();
+		}
+
+		@Override
+		public String get(CarrierSnapshot<Object> carrier, String key) {
+			return carrier.get(key);
+		}
+
+	}
+
 	private static final class NoopTextMapPropagator implements TextMapPropagator {
 
 		private static final NoopTextMapPropagator INSTANCE = new NoopTextMapPropagator();
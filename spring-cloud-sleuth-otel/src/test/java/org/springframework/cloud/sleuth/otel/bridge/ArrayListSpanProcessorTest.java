@@ -0,0 +1,73 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArrayListSpanProcessorTest {
+
+	@Test
+	void should_overwrite_oldest_span_when_full() {
+		ArrayListSpanProcessor processor = new ArrayListSpanProcessor(2,
+				ArrayListSpanProcessor.OverflowPolicy.OVERWRITE_OLDEST);
+
+		endSpans(processor, "a", "b", "c");
+
+		assertThat(processor.spans()).extracting(SpanData::getName).containsExactly("b", "c");
+		assertThat(processor.getDroppedSpans()).isEqualTo(1);
+	}
+
+	@Test
+	void should_drop_newest_span_when_full() {
+		ArrayListSpanProcessor processor = new ArrayListSpanProcessor(2,
+				ArrayListSpanProcessor.OverflowPolicy.DROP_NEWEST);
+
+		endSpans(processor, "a", "b", "c");
+
+		assertThat(processor.spans()).extracting(SpanData::getName).containsExactly("a", "b");
+		assertThat(processor.getDroppedSpans()).isEqualTo(1);
+	}
+
+	@Test
+	void should_drain_spans() {
+		ArrayListSpanProcessor processor = new ArrayListSpanProcessor();
+		endSpans(processor, "a", "b", "c");
+		List<SpanData> drained = new ArrayList<>();
+
+		assertThat(processor.drainTo(drained, 2)).isEqualTo(2);
+		assertThat(processor.drainTo(drained)).isEqualTo(1);
+
+		assertThat(drained).extracting(SpanData::getName).containsExactly("a", "b", "c");
+		assertThat(processor.spans()).isEmpty();
+		assertThat(processor.takeLocalSpan()).isNull();
+	}
+
+	private void endSpans(ArrayListSpanProcessor processor, String... names) {
+		SdkTracerProvider tracerProvider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+		for (String name : names) {
+			tracerProvider.get("test").spanBuilder(name).startSpan().end();
+		}
+	}
+
+}
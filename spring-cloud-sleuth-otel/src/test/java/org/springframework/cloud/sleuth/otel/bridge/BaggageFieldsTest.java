@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaggageFieldsTest {
+
+	BaggageFields baggageFields = new BaggageFields(Arrays.asList("Country-Code", "user-id"),
+			Collections.singletonList("TAG"), Collections.emptyList());
+
+	@Test
+	void should_look_up_fields_ignoring_case() {
+		assertThat(this.baggageFields.remoteField("country-code")).isEqualTo("Country-Code");
+		assertThat(this.baggageFields.isRemoteField("USER-ID")).isTrue();
+		assertThat(this.baggageFields.tagField("tag")).isEqualTo("TAG");
+	}
+
+	@Test
+	void should_not_match_fields_of_other_kinds() {
+		assertThat(this.baggageFields.isTagField("user-id")).isFalse();
+		assertThat(this.baggageFields.isCorrelationField("tag")).isFalse();
+		assertThat(this.baggageFields.remoteField("unknown")).isNull();
+	}
+
+	@Test
+	void should_not_be_affected_by_changes_to_the_given_lists() {
+		List<String> remoteFields = new ArrayList<>(Collections.singletonList("user-id"));
+		BaggageFields fields = new BaggageFields(remoteFields, Collections.emptyList(), Collections.emptyList());
+
+		remoteFields.add("country-code");
+
+		assertThat(fields.getRemoteFields()).containsExactly("user-id");
+		assertThat(fields.isRemoteField("country-code")).isFalse();
+	}
+
+	@Test
+	void should_look_up_fields_spelled_as_configured() {
+		assertThat(this.baggageFields.remoteField("Country-Code")).isEqualTo("Country-Code");
+		assertThat(this.baggageFields.tagField("TAG")).isEqualTo("TAG");
+	}
+
+}
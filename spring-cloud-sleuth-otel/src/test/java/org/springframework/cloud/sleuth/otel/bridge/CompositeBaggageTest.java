@@ -0,0 +1,123 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.baggage.BaggageEntryMetadata;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.sleuth.BaggageInScope;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class CompositeBaggageTest {
+
+	Baggage current = Baggage.builder().put("shared", "current").put("current-only", "1").build();
+
+	Baggage parent = Baggage.builder().put("shared", "parent", BaggageEntryMetadata.create("parent-metadata"))
+			.put("parent-only", "2", BaggageEntryMetadata.create("propagation=unlimited")).build();
+
+	CompositeBaggage baggage = new CompositeBaggage(this.current, this.parent);
+
+	@Test
+	void should_let_current_entries_override_parent_ones() {
+		Map<String, String> entries = new LinkedHashMap<>();
+		this.baggage.forEach((key, entry) -> entries.put(key, entry.getValue()));
+
+		assertThat(this.baggage.getEntryValue("shared")).isEqualTo("current");
+		assertThat(this.baggage.getEntryValue("parent-only")).isEqualTo("2");
+		assertThat(this.baggage.size()).isEqualTo(3);
+		assertThat(entries).containsOnly(entry("shared", "current"), entry("current-only", "1"),
+				entry("parent-only", "2"));
+		assertThat(this.baggage.asMap()).containsOnlyKeys("shared", "current-only", "parent-only");
+	}
+
+	@Test
+	void should_not_count_the_same_baggage_twice() {
+		CompositeBaggage same = new CompositeBaggage(this.current, this.current);
+
+		assertThat(same.size()).isEqualTo(2);
+		assertThat(same.asMap()).containsOnlyKeys("shared", "current-only");
+	}
+
+	@Test
+	void should_look_entries_up_layer_by_layer() {
+		Entry shared = this.baggage.getEntry("shared");
+		Entry parentOnly = this.baggage.getEntry("parent-only");
+
+		assertThat(shared.getValue()).isEqualTo("current");
+		assertThat(shared.getMetadata().getValue()).isEmpty();
+		assertThat(parentOnly.getValue()).isEqualTo("2");
+		assertThat(parentOnly.getMetadata().getValue()).isEqualTo("propagation=unlimited");
+		assertThat(this.baggage.getEntry("missing")).isNull();
+	}
+
+	@Test
+	void should_find_baggage_of_the_current_context_by_exact_or_configured_name() {
+		OtelBaggageManager manager = new OtelBaggageManager(new OtelCurrentTraceContext(),
+				Collections.singletonList("Country-Code"), Collections.emptyList(), event -> {
+				});
+
+		try (Scope scope = Baggage.builder().put("Country-Code", "FO").put("user", "alice").build()
+				.makeCurrent()) {
+			assertThat(manager.getBaggage("user").get()).isEqualTo("alice");
+			assertThat(manager.getBaggage("country-code").name()).isEqualTo("Country-Code");
+			assertThat(manager.getBaggage("country-code").get()).isEqualTo("FO");
+		}
+	}
+
+	@Test
+	void should_find_baggage_whose_key_differs_in_case_only() {
+		OtelBaggageManager manager = new OtelBaggageManager(new OtelCurrentTraceContext(),
+				Collections.singletonList("Country-Code"), Collections.emptyList(), event -> {
+				});
+
+		try (Scope scope = Baggage.builder().put("country-code", "FO").put("user-id", "alice").build()
+				.makeCurrent()) {
+			assertThat(manager.getBaggage("Country-Code").name()).isEqualTo("country-code");
+			assertThat(manager.getBaggage("Country-Code").get()).isEqualTo("FO");
+			assertThat(manager.getBaggage("User-Id").get()).isEqualTo("alice");
+			assertThat(manager.getAllBaggage()).containsOnlyKeys("country-code", "user-id");
+		}
+	}
+
+	@Test
+	void should_prefer_baggage_of_the_given_trace_context() {
+		OtelBaggageManager manager = new OtelBaggageManager(new OtelCurrentTraceContext(),
+				Collections.emptyList(), Collections.emptyList(), event -> {
+				});
+		Context context = Context.root().with(Baggage.builder().put("user", "bob").build());
+		OtelTraceContext traceContext = new OtelTraceContext(context, SpanContext.getInvalid(), null);
+
+		try (Scope scope = Baggage.builder().put("user", "alice").put("tenant", "acme").build().makeCurrent()) {
+			BaggageInScope user = manager.getBaggage(traceContext, "user");
+			BaggageInScope tenant = manager.getBaggage(traceContext, "tenant");
+
+			assertThat(user.get(traceContext)).isEqualTo("bob");
+			assertThat(tenant.get()).isEqualTo("acme");
+		}
+	}
+
+}
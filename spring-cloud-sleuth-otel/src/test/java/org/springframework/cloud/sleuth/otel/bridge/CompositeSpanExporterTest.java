@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.sleuth.exporter.SpanFilter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompositeSpanExporterTest {
+
+	SdkTracerProvider tracerProvider = SdkTracerProvider.builder().build();
+
+	RecordingSpanExporter delegate = new RecordingSpanExporter();
+
+	@Test
+	void should_pass_original_collection_when_nothing_dropped() {
+		List<SpanData> spans = Arrays.asList(span("a"), span("b"));
+		SpanFilter filter = span -> true;
+
+		new CompositeSpanExporter(this.delegate, Collections.singletonList(filter)).export(spans);
+
+		assertThat(this.delegate.exported).isSameAs(spans);
+	}
+
+	@Test
+	void should_drop_spans_and_count_per_filter() {
+		List<SpanData> spans = Arrays.asList(span("a"), span("b"), span("c"), span("d"));
+		SpanFilter dropB = span -> !"b".equals(span.getName());
+		SpanFilter dropD = span -> !"d".equals(span.getName());
+		CompositeSpanExporter exporter = new CompositeSpanExporter(this.delegate, Arrays.asList(dropB, dropD));
+
+		exporter.export(spans);
+		exporter.export(spans);
+
+		assertThat(this.delegate.exported).extracting(SpanData::getName).containsExactly("a", "c");
+		assertThat(exporter.getDroppedSpans()).containsEntry(dropB, 2L).containsEntry(dropD, 2L);
+	}
+
+	@Test
+	void should_attribute_drop_to_first_rejecting_filter() {
+		SpanFilter first = span -> false;
+		SpanFilter second = span -> false;
+		CompositeSpanExporter exporter = new CompositeSpanExporter(this.delegate, Arrays.asList(first, second));
+
+		exporter.export(Collections.singletonList(span("a")));
+
+		assertThat(this.delegate.exported).isEmpty();
+		assertThat(exporter.getDroppedSpans()).containsEntry(first, 1L).containsEntry(second, 0L);
+	}
+
+	@Test
+	void should_report_accepted_and_dropped_spans_of_each_batch() {
+		SpanFilter dropB = span -> !"b".equals(span.getName());
+		CompositeSpanExporter exporter = new CompositeSpanExporter(this.delegate, Collections.singletonList(dropB));
+		List<String> batches = new ArrayList<>();
+		exporter.setExportListener(
+				(accepted, dropped, result) -> batches.add(accepted + "/" + dropped + "/" + result.isSuccess()));
+
+		exporter.export(Arrays.asList(span("a"), span("b"), span("c")));
+		exporter.export(Collections.singletonList(span("b")));
+
+		assertThat(batches).containsExactly("2/1/true", "0/1/true");
+	}
+
+	@Test
+	void should_report_failed_batch_when_delegate_throws() {
+		CompositeSpanExporter exporter = new CompositeSpanExporter(new RecordingSpanExporter() {
+			@Override
+			public CompletableResultCode export(Collection<SpanData> spans) {
+				throw new IllegalStateException("boom");
+			}
+		}, Collections.emptyList());
+		List<String> batches = new ArrayList<>();
+		exporter.setExportListener(
+				(accepted, dropped, result) -> batches.add(accepted + "/" + dropped + "/" + result.isSuccess()));
+
+		assertThatThrownBy(() -> exporter.export(Collections.singletonList(span("a"))))
+				.isInstanceOf(IllegalStateException.class);
+		assertThat(batches).containsExactly("1/0/false");
+	}
+
+	private SpanData span(String name) {
+		Span span = this.tracerProvider.get("test").spanBuilder(name).startSpan();
+		span.end();
+		return ((ReadableSpan) span).toSpanData();
+	}
+
+	static class RecordingSpanExporter implements SpanExporter {
+
+		Collection<SpanData> exported = new ArrayList<>();
+
+		@Override
+		public CompletableResultCode export(Collection<SpanData> spans) {
+			this.exported = spans;
+			return CompletableResultCode.ofSuccess();
+		}
+
+		@Override
+		public CompletableResultCode flush() {
+			return CompletableResultCode.ofSuccess();
+		}
+
+		@Override
+		public CompletableResultCode shutdown() {
+			return CompletableResultCode.ofSuccess();
+		}
+
+	}
+
+}
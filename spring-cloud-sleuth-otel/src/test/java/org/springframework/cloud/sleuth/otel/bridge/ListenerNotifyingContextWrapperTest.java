@@ -0,0 +1,133 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.ContextStorage;
+import io.opentelemetry.context.Scope;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListenerNotifyingContextWrapperTest {
+
+	static final ContextKey<String> KEY = ContextKey.named("test");
+
+	List<String> notifications = new ArrayList<>();
+
+	@Test
+	void should_notify_listeners_in_order_on_attach_and_close() {
+		ContextStorage storage = new ListenerNotifyingContextWrapper(
+				Arrays.asList(new RecordingListener("first"), new RecordingListener("second")))
+						.apply(ContextStorage.defaultStorage());
+
+		try (Scope outer = storage.attach(Context.root().with(KEY, "outer"))) {
+			try (Scope inner = storage.attach(Context.root().with(KEY, "inner"))) {
+				assertThat(storage.current().get(KEY)).isEqualTo("inner");
+			}
+			assertThat(storage.current().get(KEY)).isEqualTo("outer");
+		}
+
+		assertThat(this.notifications).containsExactly("first attached outer", "second attached outer",
+				"first attached inner", "second attached inner", "first closed", "second closed",
+				"first restored outer", "second restored outer", "first closed", "second closed",
+				"first restored null", "second restored null");
+	}
+
+	@Test
+	void should_notify_in_the_same_order_as_the_event_publishing_wrapper() {
+		List<String> events = new ArrayList<>();
+		ContextStorage publishing = new EventPublishingContextWrapper(event -> events.add(describe(event)))
+				.apply(ContextStorage.defaultStorage());
+		ContextStorage notifying = new ListenerNotifyingContextWrapper(
+				Arrays.asList(new RecordingListener("event"))).apply(ContextStorage.defaultStorage());
+
+		attachNestedScopes(publishing);
+		attachNestedScopes(notifying);
+
+		assertThat(this.notifications).isEqualTo(events).isNotEmpty();
+	}
+
+	@Test
+	void should_not_notify_when_the_context_is_already_current() {
+		ContextStorage storage = new ListenerNotifyingContextWrapper(
+				Arrays.asList(new RecordingListener("first"))).apply(ContextStorage.defaultStorage());
+		Context context = Context.root().with(KEY, "value");
+
+		try (Scope scope = storage.attach(context)) {
+			this.notifications.clear();
+
+			try (Scope same = storage.attach(context)) {
+				assertThat(same).isSameAs(Scope.noop());
+			}
+			assertThat(this.notifications).isEmpty();
+		}
+	}
+
+	private void attachNestedScopes(ContextStorage storage) {
+		try (Scope outer = storage.attach(Context.root().with(KEY, "outer"))) {
+			try (Scope inner = storage.attach(Context.root().with(KEY, "inner"))) {
+				storage.attach(storage.current()).close();
+			}
+		}
+	}
+
+	private static String describe(Object event) {
+		if (event instanceof EventPublishingContextWrapper.ScopeAttachedEvent) {
+			return "event attached " + value(((EventPublishingContextWrapper.ScopeAttachedEvent) event).context);
+		}
+		if (event instanceof EventPublishingContextWrapper.ScopeRestoredEvent) {
+			return "event restored " + value(((EventPublishingContextWrapper.ScopeRestoredEvent) event).context);
+		}
+		return "event closed";
+	}
+
+	private static String value(Context context) {
+		return context != null ? context.get(KEY) : null;
+	}
+
+	class RecordingListener implements ScopeChangeListener {
+
+		private final String name;
+
+		RecordingListener(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public void onScopeAttached(Context context) {
+			notifications.add(this.name + " attached " + value(context));
+		}
+
+		@Override
+		public void onScopeClosed() {
+			notifications.add(this.name + " closed");
+		}
+
+		@Override
+		public void onScopeRestored(Context context) {
+			notifications.add(this.name + " restored " + value(context));
+		}
+
+	}
+
+}
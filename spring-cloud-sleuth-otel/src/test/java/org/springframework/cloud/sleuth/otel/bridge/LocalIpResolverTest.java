@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalIpResolverTest {
+
+	@Test
+	void should_share_the_default_resolver() {
+		assertThat(LocalIpResolver.getDefault()).isSameAs(LocalIpResolver.getDefault());
+	}
+
+	@Test
+	void should_keep_the_resolved_address_across_refreshes() {
+		try (LocalIpResolver resolver = new LocalIpResolver(50)) {
+			String resolved = resolver.localIp();
+
+			resolver.refresh();
+
+			assertThat(resolver.localIp()).isEqualTo(resolved);
+		}
+	}
+
+}
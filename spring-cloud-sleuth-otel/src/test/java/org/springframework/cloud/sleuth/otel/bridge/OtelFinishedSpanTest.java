@@ -0,0 +1,94 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.Map;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.sleuth.exporter.FinishedSpan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OtelFinishedSpanTest {
+
+	SdkTracerProvider tracerProvider = SdkTracerProvider.builder().build();
+
+	@Test
+	void should_read_tags_from_attributes() {
+		Span span = span();
+		span.setAttribute("http.method", "GET");
+		span.setAttribute("net.peer.port", 8080L);
+		span.setAttribute("error", true);
+
+		FinishedSpan finishedSpan = finish(span);
+
+		assertThat(finishedSpan.getTags().get("http.method")).isEqualTo("GET");
+		assertThat(finishedSpan.getTags().get("error")).isEqualTo("true");
+		assertThat(finishedSpan.getTags().get("missing")).isNull();
+		assertThat(finishedSpan.getTags()).hasSize(3).containsEntry("net.peer.port", "8080");
+		assertThat(finishedSpan.getRemotePort()).isEqualTo(8080);
+	}
+
+	@Test
+	void should_return_read_only_views() {
+		Span span = span();
+		span.setAttribute("foo", "bar");
+		span.addEvent("event");
+
+		FinishedSpan finishedSpan = finish(span);
+
+		assertThatThrownBy(() -> finishedSpan.getTags().put("foo", "baz"))
+				.isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> finishedSpan.getEvents().clear()).isInstanceOf(UnsupportedOperationException.class);
+		assertThat(finishedSpan.getEvents()).extracting(Map.Entry::getValue).containsExactly("event");
+	}
+
+	@Test
+	void should_return_first_exception_as_error() {
+		Span span = span();
+		span.addEvent("event");
+		span.addEvent("exception", Attributes.builder().put("exception.message", "boom").build());
+		span.addEvent("exception", Attributes.builder().put("exception.message", "other").build());
+
+		Throwable error = finish(span).getError();
+
+		assertThat(error).isInstanceOf(OtelFinishedSpan.AssertingThrowable.class).hasMessage("boom");
+	}
+
+	@Test
+	void should_return_no_error_when_no_exception_event() {
+		assertThat(finish(span()).getError()).isNull();
+	}
+
+	private Span span() {
+		return this.tracerProvider.get("test").spanBuilder("span").startSpan();
+	}
+
+	private FinishedSpan finish(Span span) {
+		span.end();
+		SpanData spanData = ((ReadableSpan) span).toSpanData();
+		return OtelFinishedSpan.fromOtel(spanData);
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.sleuth.http.HttpServerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OtelHttpServerHandlerTest {
+
+	static final String TRACEPARENT = "00-463ac35c9f6413ad48485a3953bb6124-a2fb4a1d1a96d312-01";
+
+	HttpServerRequest request = mock(HttpServerRequest.class);
+
+	Map<String, Object> attributes = new HashMap<>();
+
+	TextMapGetter<HttpServerRequest> getter = new OtelHttpServerHandler(
+			OpenTelemetrySdk.builder()
+					.setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance())).build(),
+			null, null, () -> Pattern.compile(""), true).getGetter();
+
+	@BeforeEach
+	void setup() {
+		given(this.request.headerNames()).willReturn(Arrays.asList("traceparent", "X-Custom-Header"));
+		given(this.request.header("traceparent")).willReturn(TRACEPARENT);
+		given(this.request.header("TraceParent")).willReturn(TRACEPARENT);
+		given(this.request.getAttribute(anyString())).willAnswer(i -> this.attributes.get(i.<String>getArgument(0)));
+		willAnswer(i -> this.attributes.put(i.getArgument(0), i.getArgument(1))).given(this.request)
+				.setAttribute(anyString(), any());
+	}
+
+	@Test
+	void should_read_each_requested_header_once_per_request() {
+		assertThat(this.getter.get(this.request, "traceparent")).isEqualTo(TRACEPARENT);
+		assertThat(this.getter.get(this.request, "traceparent")).isEqualTo(TRACEPARENT);
+		assertThat(this.getter.get(this.request, "TraceParent")).isEqualTo(TRACEPARENT);
+
+		verify(this.request, times(1)).header("traceparent");
+		verify(this.request, never()).header("TraceParent");
+	}
+
+	@Test
+	void should_only_read_the_requested_headers() {
+		this.getter.get(this.request, "traceparent");
+
+		verify(this.request, never()).headerNames();
+		verify(this.request, never()).header("X-Custom-Header");
+	}
+
+	@Test
+	void should_remember_missing_headers() {
+		assertThat(this.getter.get(this.request, "tracestate")).isNull();
+		assertThat(this.getter.get(this.request, "tracestate")).isNull();
+
+		verify(this.request, times(1)).header("tracestate");
+	}
+
+	@Test
+	void should_list_header_names_of_the_request() {
+		assertThat(this.getter.keys(this.request)).containsExactly("traceparent", "X-Custom-Header");
+	}
+
+}
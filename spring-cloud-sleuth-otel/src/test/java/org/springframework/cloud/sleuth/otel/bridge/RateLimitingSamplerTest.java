@@ -0,0 +1,137 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitingSamplerTest {
+
+	private static final String TRACE_ID = "ff000000000000000000000000000041";
+
+	AtomicLong nanoTime = new AtomicLong(TimeUnit.SECONDS.toNanos(5));
+
+	@Test
+	void should_sample_a_burst_of_one_second_worth_of_traces() {
+		RateLimitingSampler sampler = new RateLimitingSampler(10, this.nanoTime::get);
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(sampler.tryAcquire()).as("trace %s", i).isTrue();
+		}
+		assertThat(sampler.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void should_sample_at_steady_rate_once_burst_is_used() {
+		RateLimitingSampler sampler = new RateLimitingSampler(10, this.nanoTime::get);
+		while (sampler.tryAcquire()) {
+			// using up the burst
+		}
+
+		advance(50);
+		assertThat(sampler.tryAcquire()).isFalse();
+		advance(50);
+		assertThat(sampler.tryAcquire()).isTrue();
+		assertThat(sampler.tryAcquire()).isFalse();
+		advance(300);
+		assertThat(sampler.tryAcquire()).isTrue();
+		assertThat(sampler.tryAcquire()).isTrue();
+		assertThat(sampler.tryAcquire()).isTrue();
+		assertThat(sampler.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void should_not_accumulate_more_than_the_burst_when_idle() {
+		RateLimitingSampler sampler = new RateLimitingSampler(10, this.nanoTime::get);
+
+		advance(60_000);
+
+		int sampled = 0;
+		while (sampler.tryAcquire()) {
+			sampled++;
+		}
+		assertThat(sampled).isEqualTo(10);
+	}
+
+	@Test
+	void should_handle_nano_time_overflow() {
+		this.nanoTime.set(Long.MAX_VALUE - TimeUnit.MILLISECONDS.toNanos(50));
+		RateLimitingSampler sampler = new RateLimitingSampler(10, this.nanoTime::get);
+		while (sampler.tryAcquire()) {
+			// using up the burst
+		}
+
+		advance(100);
+
+		assertThat(sampler.tryAcquire()).isTrue();
+		assertThat(sampler.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void should_never_sample_with_zero_rate() {
+		RateLimitingSampler sampler = new RateLimitingSampler(0, this.nanoTime::get);
+
+		assertThat(sampler.tryAcquire()).isFalse();
+		advance(10_000);
+		assertThat(sampler.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void should_follow_parent_without_taking_permits_when_parent_based() {
+		RateLimitingSampler rateLimiter = new RateLimitingSampler(1, this.nanoTime::get);
+		Sampler sampler = Sampler.parentBased(rateLimiter);
+
+		assertThat(decision(sampler, Context.root())).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+		assertThat(decision(sampler, Context.root())).isEqualTo(SamplingDecision.DROP);
+		assertThat(decision(sampler, parent(TraceFlags.getSampled()))).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+		assertThat(decision(sampler, parent(TraceFlags.getDefault()))).isEqualTo(SamplingDecision.DROP);
+
+		advance(1000);
+		assertThat(decision(sampler, parent(TraceFlags.getSampled()))).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+		// the child spans didn't use up the permit of the next root span
+		assertThat(decision(sampler, Context.root())).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+	}
+
+	private void advance(long millis) {
+		this.nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+	}
+
+	private static Context parent(TraceFlags traceFlags) {
+		SpanContext parent = SpanContext.create(TRACE_ID, "ff00000000000041", traceFlags, TraceState.getDefault());
+		return Context.root().with(Span.wrap(parent));
+	}
+
+	private static SamplingDecision decision(Sampler sampler, Context context) {
+		return sampler.shouldSample(context, TRACE_ID, "span", SpanKind.SERVER, Attributes.empty(),
+				Collections.emptyList()).getDecision();
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuleBasedSamplerTest {
+
+	private static final String TRACE_ID = "ff000000000000000000000000000041";
+
+	RuleBasedSampler sampler = new RuleBasedSampler(Arrays.asList(
+			new RuleBasedSampler.Rule(null, SpanKind.SERVER, Collections.singletonMap("http.path", "/health*"), 0.0),
+			new RuleBasedSampler.Rule("expensive", null, Collections.emptyMap(), 1.0)), Sampler.alwaysOff());
+
+	@Test
+	void should_use_first_matching_rule() {
+		assertThat(decision("foo", SpanKind.SERVER,
+				Attributes.of(AttributeKey.stringKey("http.path"), "/health/liveness")))
+						.isEqualTo(SamplingDecision.DROP);
+		assertThat(decision("expensive", SpanKind.CLIENT, Attributes.empty()))
+				.isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+	}
+
+	@Test
+	void should_fall_back_when_no_rule_matches() {
+		assertThat(decision("foo", SpanKind.CLIENT, Attributes.of(AttributeKey.stringKey("http.path"), "/health")))
+				.isEqualTo(SamplingDecision.DROP);
+	}
+
+	@Test
+	void should_follow_local_parent_decision() {
+		SpanContext parent = SpanContext.create(TRACE_ID, "ff00000000000041", TraceFlags.getSampled(),
+				TraceState.getDefault());
+		Context context = Context.root().with(Span.wrap(parent));
+
+		assertThat(this.sampler.shouldSample(context, TRACE_ID, "foo", SpanKind.SERVER,
+				Attributes.of(AttributeKey.stringKey("http.path"), "/health"), Collections.emptyList()).getDecision())
+						.isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+	}
+
+	private SamplingDecision decision(String name, SpanKind kind, Attributes attributes) {
+		return this.sampler.shouldSample(Context.root(), TRACE_ID, name, kind, attributes, Collections.emptyList())
+				.getDecision();
+	}
+
+}
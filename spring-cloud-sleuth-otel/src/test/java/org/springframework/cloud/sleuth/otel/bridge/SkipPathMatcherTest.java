@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkipPathMatcherTest {
+
+	Pattern pattern = Pattern.compile("/api-docs.*|/swagger.*|.*\\.png|.*\\.css|/favicon.ico|/hystrix.stream"
+			+ "|/actuator(/|/(health|health/.*|info))?");
+
+	SkipPathMatcher matcher = SkipPathMatcher.compile(this.pattern);
+
+	@Test
+	void should_match_like_the_pattern() {
+		for (String path : new String[] { "/api-docs", "/swagger-ui.html", "/img/logo.png", "/a.pngx",
+				"/favicon.ico", "/faviconXico", "/hystrix.stream", "/actuator", "/actuator/health/db", "/actuator/env",
+				"/orders/1", "a\nb.png", "", ".png" }) {
+			// twice to go through the cached decisions
+			assertThat(this.matcher.matches(path)).as(path).isEqualTo(this.pattern.matcher(path).matches());
+			assertThat(this.matcher.matches(path)).as(path).isEqualTo(this.pattern.matcher(path).matches());
+		}
+	}
+
+	@Test
+	void should_fall_back_to_pattern_for_inline_flags() {
+		SkipPathMatcher matcher = SkipPathMatcher.compile(Pattern.compile("(?i)/a|/b"));
+
+		assertThat(matcher.matches("/B")).isTrue();
+		assertThat(SkipPathMatcher.alternatives("(?i)/a|/b")).isNull();
+	}
+
+	@Test
+	void should_not_match_null_path() {
+		assertThat(this.matcher.matches(null)).isFalse();
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.Arrays;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.context.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Slf4jBaggageApplicationListenerTest {
+
+	@AfterEach
+	void clear() {
+		MDC.clear();
+	}
+
+	@Test
+	void should_key_mdc_entries_by_the_configured_field_in_both_modes() {
+		Context context = context(Baggage.builder().put("country-code", "FO").put("User-Id", "alice").build());
+
+		for (boolean skipUnchangedEntries : new boolean[] { false, true }) {
+			Slf4jBaggageApplicationListener listener = listener(skipUnchangedEntries);
+
+			listener.onScopeAttached(context);
+
+			assertThat(MDC.getCopyOfContextMap()).containsOnlyKeys("Country-Code", "User-Id");
+			assertThat(MDC.get("Country-Code")).isEqualTo("FO");
+			MDC.clear();
+		}
+	}
+
+	@Test
+	void should_remove_correlation_fields_when_scope_is_closed() {
+		Slf4jBaggageApplicationListener listener = listener(false);
+		listener.onScopeAttached(context(Baggage.builder().put("Country-Code", "FO").build()));
+		MDC.put("other", "value");
+
+		listener.onScopeClosed();
+
+		assertThat(MDC.getCopyOfContextMap()).containsOnlyKeys("other");
+	}
+
+	@Test
+	void should_only_write_changed_entries_and_remove_missing_ones() {
+		Slf4jBaggageApplicationListener listener = listener(true);
+		listener.onScopeAttached(context(Baggage.builder().put("Country-Code", "FO").put("User-Id", "alice").build()));
+		String written = MDC.get("Country-Code");
+
+		listener.onScopeClosed();
+		assertThat(MDC.get("Country-Code")).as("closing leaves the MDC to the restored scope").isEqualTo("FO");
+
+		listener.onScopeRestored(context(Baggage.builder().put("Country-Code", new String("FO")).build()));
+
+		assertThat(MDC.get("Country-Code")).as("unchanged entry isn't written again").isSameAs(written);
+		assertThat(MDC.get("User-Id")).isNull();
+
+		listener.onScopeRestored(context(Baggage.builder().put("Country-Code", "PL").build()));
+
+		assertThat(MDC.get("Country-Code")).isEqualTo("PL");
+
+		listener.onScopeRestored(null);
+
+		assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+	}
+
+	private Slf4jBaggageApplicationListener listener(boolean skipUnchangedEntries) {
+		return new Slf4jBaggageApplicationListener(Arrays.asList("Country-Code", "User-Id"), skipUnchangedEntries);
+	}
+
+	private Context context(Baggage baggage) {
+		return Context.root().with(baggage);
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailSamplingSpanProcessorTest {
+
+	ArrayListSpanProcessor exported = new ArrayListSpanProcessor();
+
+	TailSamplingSpanProcessor processor;
+
+	@AfterEach
+	void close() {
+		this.processor.shutdown();
+	}
+
+	@Test
+	void should_keep_whole_error_traces_only() {
+		Tracer tracer = tracer(Arrays.asList(TailSamplingPolicy.error(), TailSamplingPolicy.probabilistic(0)), 100);
+
+		Span root = tracer.spanBuilder("error-root").startSpan();
+		Span child = tracer.spanBuilder("error-child").setParent(Context.current().with(root)).startSpan();
+		child.setStatus(StatusCode.ERROR);
+		child.end();
+		root.end();
+		tracer.spanBuilder("ok").startSpan().end();
+
+		assertThat(this.exported.spans()).isEmpty();
+		assertThat(this.processor.getBufferedSpans()).isEqualTo(3);
+
+		this.processor.forceFlush();
+
+		assertThat(this.exported.spans()).extracting(SpanData::getName).containsExactly("error-child", "error-root");
+		assertThat(this.processor.getSampledTraces()).isEqualTo(1);
+		assertThat(this.processor.getDroppedTraces()).isEqualTo(1);
+		assertThat(this.processor.getBufferedSpans()).isZero();
+	}
+
+	@Test
+	void should_keep_traces_with_recorded_exceptions() {
+		Tracer tracer = tracer(Collections.singletonList(TailSamplingPolicy.error()), 100);
+		Span span = tracer.spanBuilder("exception").startSpan();
+		// what OtelSpan#error(Throwable) does, the status stays unset
+		span.recordException(new IllegalStateException("boom"));
+		span.end();
+		tracer.spanBuilder("ok").startSpan().end();
+
+		this.processor.forceFlush();
+
+		assertThat(this.exported.spans()).extracting(SpanData::getName).containsExactly("exception");
+	}
+
+	@Test
+	void should_decide_oldest_trace_when_buffer_is_full() {
+		Tracer tracer = tracer(Collections.singletonList(TailSamplingPolicy.probabilistic(1)), 2);
+
+		tracer.spanBuilder("first").startSpan().end();
+		tracer.spanBuilder("second").startSpan().end();
+		tracer.spanBuilder("third").startSpan().end();
+
+		assertThat(this.exported.spans()).extracting(SpanData::getName).containsExactly("first");
+		assertThat(this.processor.getBufferedSpans()).isEqualTo(2);
+	}
+
+	@Test
+	void should_apply_previous_decision_to_late_spans() {
+		Tracer tracer = tracer(Collections.singletonList(TailSamplingPolicy.probabilistic(1)), 100);
+		Span root = tracer.spanBuilder("root").startSpan();
+		Span late = tracer.spanBuilder("late").setParent(Context.current().with(root)).startSpan();
+		root.end();
+		this.processor.forceFlush();
+
+		late.end();
+
+		assertThat(this.exported.spans()).extracting(SpanData::getName).containsExactly("root", "late");
+		assertThat(this.processor.getBufferedSpans()).isZero();
+	}
+
+	@Test
+	void should_apply_decision_to_spans_ending_while_their_trace_is_decided() throws Exception {
+		CountDownLatch deciding = new CountDownLatch(1);
+		CountDownLatch decide = new CountDownLatch(1);
+		Tracer tracer = tracer(Collections.singletonList(spans -> {
+			deciding.countDown();
+			try {
+				return decide.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}), 100);
+		Span root = tracer.spanBuilder("root").startSpan();
+		Span late = tracer.spanBuilder("late").setParent(Context.current().with(root)).startSpan();
+		root.end();
+		Thread flush = new Thread(() -> this.processor.forceFlush());
+		flush.start();
+		assertThat(deciding.await(5, TimeUnit.SECONDS)).isTrue();
+
+		Thread ending = new Thread(late::end);
+		ending.start();
+		// gives the late span a chance to end before the decision is made
+		Thread.sleep(100);
+		decide.countDown();
+		flush.join(5000);
+		ending.join(5000);
+
+		assertThat(this.exported.spans()).extracting(SpanData::getName).containsExactlyInAnyOrder("root", "late");
+		assertThat(this.processor.getBufferedTraces()).isZero();
+		assertThat(this.processor.getSampledTraces()).isEqualTo(1);
+	}
+
+	@Test
+	void should_keep_evicting_traces_arriving_during_flush() {
+		Tracer[] tracer = new Tracer[1];
+		// ends a span of another trace while the flush hands this one over
+		ArrayListSpanProcessor delegate = new ArrayListSpanProcessor() {
+			@Override
+			public void onEnd(ReadableSpan span) {
+				super.onEnd(span);
+				if ("flushed".equals(span.getName())) {
+					tracer[0].spanBuilder("arrived").startSpan().end();
+				}
+			}
+		};
+		this.processor = new TailSamplingSpanProcessor(delegate,
+				Collections.singletonList(TailSamplingPolicy.probabilistic(1)), 2, 60_000);
+		tracer[0] = SdkTracerProvider.builder().addSpanProcessor(this.processor).build().get("test");
+		tracer[0].spanBuilder("flushed").startSpan().end();
+		this.processor.forceFlush();
+
+		tracer[0].spanBuilder("next").startSpan().end();
+		tracer[0].spanBuilder("last").startSpan().end();
+
+		assertThat(delegate.spans()).extracting(SpanData::getName).containsExactly("flushed", "arrived");
+		assertThat(this.processor.getBufferedSpans()).isEqualTo(2);
+	}
+
+	private Tracer tracer(List<TailSamplingPolicy> policies, int maxBufferedSpans) {
+		this.processor = new TailSamplingSpanProcessor(this.exported, policies, maxBufferedSpans, 60_000);
+		return SdkTracerProvider.builder().addSpanProcessor(this.processor).build().get("test");
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.propagation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.sleuth.BaggageManager;
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.cloud.sleuth.TraceContext;
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
+import org.springframework.cloud.sleuth.otel.bridge.OtelTraceContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class BaggageTextMapPropagatorTest {
+
+	CurrentTraceContext currentTraceContext = mock(CurrentTraceContext.class);
+
+	BaggageTextMapPropagator propagator = new BaggageTextMapPropagator(
+			new BaggageFields(Arrays.asList("country-code", "user-id", "tenant"), Collections.emptyList(),
+					Collections.emptyList()),
+			this.currentTraceContext);
+
+	Map<String, String> carrier = new HashMap<>();
+
+	@Test
+	void inject_remoteFieldsOfTheContext() {
+		Context context = Context.root()
+				.with(Baggage.builder().put("country-code", "FO").put("local-only", "value").build());
+
+		this.propagator.inject(context, this.carrier, Map::put);
+
+		assertThat(this.carrier).containsOnly(entry("country-code", "FO"));
+	}
+
+	@Test
+	void inject_currentAndTraceContextBaggageNotOverriddenByTheContext() {
+		TraceContext traceContext;
+		try (Scope scope = Baggage.builder().put("tenant", "from-trace-context").put("user-id", "from-trace-context")
+				.build().makeCurrent()) {
+			traceContext = OtelTraceContext.fromOtel(SpanContext.getInvalid());
+		}
+		given(this.currentTraceContext.context()).willReturn(traceContext);
+		Context context = Context.root().with(Baggage.builder().put("country-code", "FO").build());
+
+		try (Scope scope = Baggage.builder().put("country-code", "PL").put("user-id", "alice").build()
+				.makeCurrent()) {
+			this.propagator.inject(context, this.carrier, Map::put);
+		}
+
+		assertThat(this.carrier).containsOnly(entry("country-code", "FO"), entry("user-id", "alice"),
+				entry("tenant", "from-trace-context"));
+	}
+
+	@Test
+	void inject_withoutCurrentTraceContext() {
+		Context context = Context.root().with(Baggage.builder().put("country-code", "FO").build());
+
+		try (Scope scope = Baggage.builder().put("user-id", "alice").build().makeCurrent()) {
+			new BaggageTextMapPropagator(
+					new BaggageFields(Arrays.asList("country-code", "user-id"), Collections.emptyList(),
+							Collections.emptyList()),
+					null).inject(context, this.carrier, Map::put);
+		}
+
+		assertThat(this.carrier).containsOnly(entry("country-code", "FO"), entry("user-id", "alice"));
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	void inject_baggageOfTheBaggageManagerWhenCreatedWithIt() {
+		BaggageManager baggageManager = mock(BaggageManager.class);
+		Map<String, String> allBaggage = new HashMap<>();
+		allBaggage.put("country-code", "PL");
+		allBaggage.put("user-id", "from-baggage-manager");
+		allBaggage.put("local-only", "value");
+		given(baggageManager.getAllBaggage()).willReturn(allBaggage);
+		Context context = Context.root().with(Baggage.builder().put("country-code", "FO").build());
+
+		new BaggageTextMapPropagator(Arrays.asList("country-code", "user-id"), baggageManager).inject(context,
+				this.carrier, Map::put);
+
+		assertThat(this.carrier).containsOnly(entry("country-code", "FO"), entry("user-id", "from-baggage-manager"));
+	}
+
+}
@@ -16,17 +16,22 @@
 
 package org.springframework.cloud.sleuth.otel.propagation;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.TextMapGetter;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.sleuth.otel.propagation.CompositeTextMapPropagator.CarrierSnapshot;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -48,6 +53,53 @@ class CompositeTextMapPropagatorTest {
 		assertThat(Baggage.fromContext(result)).isEqualTo(Baggage.builder().put("key", "value").build());
 	}
 
+	@Test
+	void extract_singlePass() {
+		CompositeTextMapPropagator compositeTextMapPropagator = new CompositeTextMapPropagator(
+				new DefaultListableBeanFactory(), Arrays.asList(PropagationType.W3C, PropagationType.B3), true);
+
+		Map<String, String> carrier = new HashMap<>();
+		carrier.put("b3", "463ac35c9f6413ad48485a3953bb6124-a2fb4a1d1a96d312-1");
+		CountingGetter getter = new CountingGetter();
+		Context result = compositeTextMapPropagator.extract(Context.root(), carrier, getter);
+
+		SpanContext spanContext = Span.fromContext(result).getSpanContext();
+		assertThat(spanContext.getTraceId()).isEqualTo("463ac35c9f6413ad48485a3953bb6124");
+		assertThat(spanContext.getSpanId()).isEqualTo("a2fb4a1d1a96d312");
+		assertThat(getter.reads).containsKeys("traceparent", "b3")
+				.allSatisfy((key, reads) -> assertThat(reads).as("reads of " + key).isEqualTo(1));
+	}
+
+	@Test
+	void carrierSnapshot_readsDeclaredFieldsOnce() {
+		Map<String, String> carrier = new HashMap<>();
+		carrier.put("traceparent", "value");
+		carrier.put("other", "other-value");
+		CountingGetter getter = new CountingGetter();
+		CarrierSnapshot<Map<String, String>> snapshot = new CarrierSnapshot<>(carrier, getter,
+				Collections.singletonMap("traceparent", 0));
+
+		assertThat(snapshot.get("traceparent")).isEqualTo("value");
+		assertThat(snapshot.get("traceparent")).isEqualTo("value");
+		assertThat(snapshot.get("other")).isEqualTo("other-value");
+		assertThat(snapshot.get("other")).isEqualTo("other-value");
+		assertThat(snapshot.keys()).containsExactlyInAnyOrder("traceparent", "other");
+
+		assertThat(getter.reads).containsEntry("traceparent", 1).containsEntry("other", 2);
+	}
+
+	private static class CountingGetter extends MapGetter {
+
+		private final Map<String, Integer> reads = new HashMap<>();
+
+		@Override
+		public String get(Map<String, String> carrier, String key) {
+			this.reads.merge(key, 1, Integer::sum);
+			return super.get(carrier, key);
+		}
+
+	}
+
 	private static class MapGetter implements TextMapGetter<Map<String, String>> {
 
 		@Override